@@ -0,0 +1,231 @@
+package app.dependency.update.app;
+
+import app.dependency.update.app.model.LatestVersion;
+import app.dependency.update.app.model.LatestVersionGithubActions;
+import app.dependency.update.app.model.LatestVersionLanguages;
+import app.dependency.update.app.model.LatestVersionServers;
+import app.dependency.update.app.model.LatestVersionTools;
+import app.dependency.update.app.model.LatestVersionsModel;
+import app.dependency.update.app.model.entities.Dependencies;
+import app.dependency.update.app.model.entities.Packages;
+import app.dependency.update.app.model.entities.Plugins;
+import app.dependency.update.app.service.MongoRepoService;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/*
+ Generated inputs for the benchmarks, sized by the number of entries in each file
+ about half of the generated entries are behind the latest version, so that both the
+ updated and the not updated paths are measured
+*/
+public class BenchmarkData {
+
+  private BenchmarkData() {}
+
+  public static LatestVersionsModel latestVersionsModel() {
+    return LatestVersionsModel.builder()
+        .latestVersionServers(
+            LatestVersionServers.builder()
+                .nginx(latestVersion("1.27.4", "1", "nginx:1.27.4-alpine"))
+                .build())
+        .latestVersionTools(
+            LatestVersionTools.builder()
+                .gradle(latestVersion("8.13", "8", "gradle:8.13-jdk21-alpine"))
+                .flyway(latestVersion("11.4.0", "11", ""))
+                .build())
+        .latestVersionGithubActions(
+            LatestVersionGithubActions.builder()
+                .checkout(latestVersion("4.2.2", "4", ""))
+                .setupJava(latestVersion("4.7.0", "4", ""))
+                .setupGradle(latestVersion("4.3.1", "4", ""))
+                .setupNode(latestVersion("4.3.0", "4", ""))
+                .setupPython(latestVersion("5.5.0", "5", ""))
+                .codeql(latestVersion("3.28.13", "3", ""))
+                .build())
+        .latestVersionLanguages(
+            LatestVersionLanguages.builder()
+                .java(latestVersion("21.0.6", "21", "eclipse-temurin:21-jre-alpine"))
+                .node(latestVersion("22.14.0", "22", "node:22-alpine"))
+                .python(latestVersion("3.13.2", "3", "python:3.13-alpine"))
+                .build())
+        .build();
+  }
+
+  private static LatestVersion latestVersion(
+      final String versionFull, final String versionMajor, final String versionDocker) {
+    return LatestVersion.builder()
+        .versionActual(versionFull)
+        .versionFull(versionFull)
+        .versionMajor(versionMajor)
+        .versionDocker(versionDocker)
+        .build();
+  }
+
+  public static List<String> buildGradle(final int size) {
+    List<String> lines = new ArrayList<>();
+    lines.add("plugins {");
+    lines.add("    id 'java'");
+    for (int i = 0; i < Math.max(1, size / 10); i++) {
+      lines.add("    id 'com.example.plugin" + i + "' version '" + oldOrLatest(i) + "'");
+    }
+    lines.add("}");
+    lines.add("");
+    lines.add("java {");
+    lines.add("    sourceCompatibility = JavaVersion.VERSION_17");
+    lines.add("    targetCompatibility = JavaVersion.VERSION_17");
+    lines.add("}");
+    lines.add("");
+    lines.add("repositories {");
+    lines.add("    mavenCentral()");
+    lines.add("}");
+    lines.add("");
+    lines.add("dependencies {");
+    lines.add("    def exampleVersion = \"" + oldOrLatest(1) + "\"");
+    for (int i = 0; i < size; i++) {
+      switch (i % 3) {
+        case 0 ->
+            lines.add(
+                "    implementation 'com.example.group"
+                    + i
+                    + ":artifact"
+                    + i
+                    + ":"
+                    + oldOrLatest(i)
+                    + "'");
+        case 1 ->
+            lines.add(
+                "    testImplementation(\"com.example.group"
+                    + i
+                    + ":artifact"
+                    + i
+                    + ":"
+                    + oldOrLatest(i)
+                    + "\")");
+        default ->
+            lines.add(
+                "    implementation group: 'com.example.group"
+                    + i
+                    + "', name: 'artifact"
+                    + i
+                    + "', version: '"
+                    + oldOrLatest(i)
+                    + "'");
+      }
+    }
+    lines.add("}");
+    return lines;
+  }
+
+  public static List<String> requirementsTxt(final int size) {
+    List<String> lines = new ArrayList<>();
+    lines.add("# generated requirements");
+    for (int i = 0; i < size; i++) {
+      lines.add("package" + i + (i % 2 == 0 ? "==" : ">=") + oldOrLatest(i));
+    }
+    return lines;
+  }
+
+  public static List<String> githubWorkflow(final int size) {
+    List<String> lines = new ArrayList<>();
+    lines.add("name: CI");
+    lines.add("on: [push]");
+    lines.add("jobs:");
+    for (int i = 0; i < size; i++) {
+      lines.add("  build" + i + ":");
+      lines.add("    runs-on: ubuntu-latest");
+      lines.add("    strategy:");
+      lines.add("      matrix:");
+      lines.add("        java-version: [ 17, 21 ]");
+      lines.add("    steps:");
+      lines.add("      # checkout the code");
+      lines.add("      - uses: actions/checkout@v3");
+      lines.add("      - uses: actions/setup-java@v4");
+      lines.add("        with:");
+      lines.add("          java-version: 17");
+      lines.add("      - uses: actions/setup-node@v3");
+      lines.add("        with:");
+      lines.add("          node-version: 20");
+      lines.add("      - uses: gradle/actions/setup-gradle@v4");
+      lines.add("      - run: ./gradlew build");
+    }
+    return lines;
+  }
+
+  public static List<String> dockerfile(final int size) {
+    List<String> lines = new ArrayList<>();
+    for (int i = 0; i < size; i++) {
+      lines.add("FROM gradle:8.10-jdk21-alpine AS build" + i);
+      lines.add("WORKDIR /app");
+      lines.add("COPY . .");
+      lines.add("RUN gradle build");
+      lines.add("FROM eclipse-temurin:17-jre-alpine");
+      lines.add("COPY --from=build" + i + " /app/build/libs/app.jar app.jar");
+      lines.add("ENTRYPOINT [\"java\", \"-jar\", \"app.jar\"]");
+    }
+    return lines;
+  }
+
+  private static String oldOrLatest(final int i) {
+    return i % 2 == 0 ? "1." + (i % 20) + ".0" : "2.0." + (i % 100);
+  }
+
+  private static String latest(final int i) {
+    return "2.0." + (i % 100);
+  }
+
+  /*
+   * Mongo repo service with maps generated for the same coordinates as the files above
+   * and no mongo behind it
+   */
+  public static class BenchmarkMongoRepoService extends MongoRepoService {
+    private final Map<String, Plugins> pluginsMap = new HashMap<>();
+    private final Map<String, Dependencies> dependenciesMap = new HashMap<>();
+    private final Map<String, Packages> packagesMap = new HashMap<>();
+
+    public BenchmarkMongoRepoService(final int size) {
+      super(null, null, null, null, null, null, null, null, null, null, null);
+      for (int i = 0; i < size; i++) {
+        pluginsMap.put(
+            "com.example.plugin" + i,
+            Plugins.builder().group("com.example.plugin" + i).version(latest(i)).build());
+        String mavenId = "com.example.group" + i + ":artifact" + i;
+        dependenciesMap.put(
+            mavenId, Dependencies.builder().mavenId(mavenId).latestVersion(latest(i)).build());
+        packagesMap.put(
+            "package" + i, Packages.builder().name("package" + i).version(latest(i)).build());
+      }
+    }
+
+    @Override
+    public Map<String, Plugins> pluginsMap() {
+      return pluginsMap;
+    }
+
+    @Override
+    public Map<String, Dependencies> dependenciesMap() {
+      return dependenciesMap;
+    }
+
+    @Override
+    public Map<String, Packages> packagesMap() {
+      return packagesMap;
+    }
+
+    @Override
+    public void savePlugin(final String group, final String version) {
+      // nothing to save
+    }
+
+    @Override
+    public void saveDependency(final String mavenId, final String latestVersion) {
+      // nothing to save
+    }
+
+    @Override
+    public void savePackage(final String name, final String version) {
+      // nothing to save
+    }
+  }
+}
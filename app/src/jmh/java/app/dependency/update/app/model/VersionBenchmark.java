@@ -0,0 +1,73 @@
+package app.dependency.update.app.model;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/*
+ Compares checking if a dependency requires update using Version against the previous
+ zero-padded string comparison, run with: ./gradlew jmh
+*/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class VersionBenchmark {
+
+  private String[][] versionPairs;
+
+  @Setup
+  public void setup() {
+    versionPairs =
+        new String[][] {
+          {"3.4.4", "3.4.5"},
+          {"2.18.3", "2.18.3"},
+          {"1.5.18", "1.5.18"},
+          {"5.4.2", "5.5"},
+          {"33.0.0-jre", "33.4.0-jre"},
+          {"2.0.0.RELEASE", "2.0.1.RELEASE"},
+          {"8.13.1", "8.14"},
+          {"1.19.1", "1.19.1"},
+        };
+  }
+
+  @Benchmark
+  public void versionIsRequiresUpdate(final Blackhole blackhole) {
+    for (String[] versionPair : versionPairs) {
+      blackhole.consume(Version.isRequiresUpdate(versionPair[0], versionPair[1]));
+    }
+  }
+
+  @Benchmark
+  public void legacyIsRequiresUpdate(final Blackhole blackhole) {
+    for (String[] versionPair : versionPairs) {
+      blackhole.consume(
+          getVersionToCompare(versionPair[1]).compareTo(getVersionToCompare(versionPair[0])) > 0);
+    }
+  }
+
+  // previous implementation, kept here as the baseline
+  private static String getVersionToCompare(final String version) {
+    List<String> strList = Stream.of(version.split("\\.")).limit(3).toList();
+    StringBuilder sb = new StringBuilder();
+    for (String s : strList) {
+      try {
+        if (Integer.parseInt(s) < 10) {
+          sb.append("0").append(s);
+        } else {
+          sb.append(s);
+        }
+      } catch (NumberFormatException ignored) {
+        // ignore exception
+      }
+    }
+    return sb.toString();
+  }
+}
@@ -0,0 +1,44 @@
+package app.dependency.update.app.runnable;
+
+import static app.dependency.update.app.util.CommonUtils.*;
+
+import app.dependency.update.app.BenchmarkData;
+import app.dependency.update.app.model.Repository;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class GithubWorkflowsUpdateBenchmark {
+
+  @Param({"1", "10", "100"})
+  private int size;
+
+  private ExecuteGithubWorkflowsUpdate executeGithubWorkflowsUpdate;
+  private List<String> githubWorkflow;
+
+  @Setup
+  public void setup() {
+    this.executeGithubWorkflowsUpdate =
+        new ExecuteGithubWorkflowsUpdate(
+            new Repository(Path.of("benchmark-repo"), UpdateType.GRADLE_DEPENDENCIES),
+            BenchmarkData.latestVersionsModel(),
+            RepoFileWriter.FILE_SYSTEM);
+    this.githubWorkflow = BenchmarkData.githubWorkflow(this.size);
+  }
+
+  @Benchmark
+  public List<String> updateGithubWorkflowFile() {
+    return this.executeGithubWorkflowsUpdate.updateGithubWorkflowFile(this.githubWorkflow);
+  }
+}
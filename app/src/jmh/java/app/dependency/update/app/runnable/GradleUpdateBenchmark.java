@@ -0,0 +1,70 @@
+package app.dependency.update.app.runnable;
+
+import static app.dependency.update.app.util.CommonUtils.*;
+
+import app.dependency.update.app.BenchmarkData;
+import app.dependency.update.app.model.BuildGradleConfigs;
+import app.dependency.update.app.model.Repository;
+import app.dependency.update.app.model.ScriptFile;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class GradleUpdateBenchmark {
+
+  // scanner reads the file once and writes changes back by line, so time should grow linearly
+  @Param({"10", "100", "1000", "10000"})
+  private int size;
+
+  private ExecuteGradleUpdate executeGradleUpdate;
+  private Path buildGradlePath;
+  private List<String> buildGradle;
+  private BuildGradleConfigs buildGradleConfigs;
+
+  @Setup
+  public void setup() {
+    Path repoPath = Path.of("benchmark-repo");
+    this.executeGradleUpdate =
+        new ExecuteGradleUpdate(
+            BenchmarkData.latestVersionsModel(),
+            new Repository(repoPath, UpdateType.GRADLE_DEPENDENCIES, List.of("app"), "8.13"),
+            new ScriptFile("GRADLE_DEPENDENCIES.sh"),
+            Collections.emptyList(),
+            new BenchmarkData.BenchmarkMongoRepoService(this.size),
+            // files update is not benchmarked, so repositories are never skipped
+            null,
+            RepoFileWriter.FILE_SYSTEM);
+    this.buildGradlePath = repoPath.resolve("app").resolve("build.gradle");
+    this.buildGradle = BenchmarkData.buildGradle(this.size);
+    this.buildGradleConfigs =
+        this.executeGradleUpdate.parseBuildGradle(this.buildGradlePath, this.buildGradle);
+  }
+
+  @Benchmark
+  public BuildGradleConfigs parseBuildGradle() {
+    return this.executeGradleUpdate.parseBuildGradle(this.buildGradlePath, this.buildGradle);
+  }
+
+  @Benchmark
+  public List<String> modifyBuildGradle() {
+    return this.executeGradleUpdate.modifyBuildGradle(this.buildGradleConfigs);
+  }
+
+  @Benchmark
+  public List<String> scanAndModifyBuildGradle() {
+    return this.executeGradleUpdate.modifyBuildGradle(
+        new GradleBuildFileScanner(this.buildGradle).scan(this.buildGradlePath));
+  }
+}
@@ -0,0 +1,57 @@
+package app.dependency.update.app.runnable;
+
+import static app.dependency.update.app.util.CommonUtils.*;
+
+import app.dependency.update.app.BenchmarkData;
+import app.dependency.update.app.model.Repository;
+import app.dependency.update.app.model.ScriptFile;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PythonUpdateBenchmark {
+
+  @Param({"10", "100", "1000"})
+  private int size;
+
+  private ExecutePythonUpdate executePythonUpdate;
+  private List<String> requirementsTxt;
+
+  @Setup
+  public void setup() {
+    this.executePythonUpdate =
+        new ExecutePythonUpdate(
+            BenchmarkData.latestVersionsModel(),
+            new Repository(
+                Path.of("benchmark-repo"),
+                UpdateType.PYTHON_DEPENDENCIES,
+                List.of("requirements.txt")),
+            new ScriptFile("PYTHON_DEPENDENCIES.sh"),
+            Collections.emptyList(),
+            new BenchmarkData.BenchmarkMongoRepoService(this.size),
+            // files update is not benchmarked, so repositories are never skipped
+            null,
+            RepoFileWriter.FILE_SYSTEM);
+    this.requirementsTxt = BenchmarkData.requirementsTxt(this.size);
+  }
+
+  @Benchmark
+  public void updateRequirement(final Blackhole blackhole) {
+    for (String requirement : this.requirementsTxt) {
+      blackhole.consume(this.executePythonUpdate.updateRequirement(requirement));
+    }
+  }
+}
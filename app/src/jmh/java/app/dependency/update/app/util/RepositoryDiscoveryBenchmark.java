@@ -0,0 +1,88 @@
+package app.dependency.update.app.util;
+
+import static app.dependency.update.app.util.ConstantUtils.*;
+
+import app.dependency.update.app.model.Repository;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/*
+ Repository discovery over a generated repo_home with gradle, npm and python repositories
+ spread across a few owner folders, same layout as repo_home/owner/repository
+*/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class RepositoryDiscoveryBenchmark {
+
+  @Param({"10", "100", "500"})
+  private int size;
+
+  private Path repoHome;
+  private Map<String, String> argsMap;
+
+  @Setup
+  public void setup() throws IOException {
+    this.repoHome = Files.createTempDirectory("benchmark-repo-home");
+    for (int i = 0; i < this.size; i++) {
+      Path repoPath = this.repoHome.resolve("owner" + (i % 5)).resolve("repo" + i);
+      switch (i % 3) {
+        case 0 -> createGradleRepository(repoPath);
+        case 1 -> createNpmRepository(repoPath);
+        default -> createPythonRepository(repoPath);
+      }
+    }
+    this.argsMap = Map.of(ENV_REPO_NAME, this.repoHome.toString());
+  }
+
+  @TearDown
+  public void tearDown() throws IOException {
+    try (Stream<Path> pathStream = Files.walk(this.repoHome)) {
+      for (Path path : pathStream.sorted(Comparator.reverseOrder()).toList()) {
+        Files.delete(path);
+      }
+    }
+  }
+
+  @Benchmark
+  public List<Repository> getRepositoryLocations() {
+    return AppInitDataUtils.getRepositoryLocations(this.argsMap);
+  }
+
+  private void createGradleRepository(final Path repoPath) throws IOException {
+    Files.createDirectories(repoPath.resolve("app"));
+    Files.createDirectories(repoPath.resolve("gradle").resolve("wrapper"));
+    Files.writeString(repoPath.resolve("settings.gradle"), "include 'app'\n");
+    Files.writeString(repoPath.resolve("app").resolve(BUILD_GRADLE), "plugins {\n}\n");
+    Files.writeString(
+        Path.of(repoPath + GRADLE_WRAPPER_PROPERTIES),
+        "distributionUrl=https\\://services.gradle.org/distributions/gradle-8.10-bin.zip\n");
+  }
+
+  private void createNpmRepository(final Path repoPath) throws IOException {
+    Files.createDirectories(repoPath.resolve("src"));
+    Files.writeString(repoPath.resolve(PACKAGE_JSON), "{}\n");
+  }
+
+  private void createPythonRepository(final Path repoPath) throws IOException {
+    Files.createDirectories(repoPath);
+    Files.writeString(repoPath.resolve(PYPROJECT_TOML), "[project]\n");
+    Files.writeString(repoPath.resolve("requirements.txt"), "requests==2.32.0\n");
+    Files.writeString(repoPath.resolve("requirements-dev.txt"), "pytest==8.3.0\n");
+  }
+}
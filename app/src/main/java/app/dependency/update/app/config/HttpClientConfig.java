@@ -0,0 +1,23 @@
+package app.dependency.update.app.config;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class HttpClientConfig {
+
+  @Bean
+  public HttpClient httpClient() {
+    // http/2 where the upstream supports it, so requests to the same host share a connection
+    // responses are handled in virtual threads, the client itself uses only a selector thread
+    return HttpClient.newBuilder()
+        .version(HttpClient.Version.HTTP_2)
+        .followRedirects(HttpClient.Redirect.NORMAL)
+        .connectTimeout(Duration.ofSeconds(15))
+        .executor(Executors.newVirtualThreadPerTaskExecutor())
+        .build();
+  }
+}
@@ -0,0 +1,69 @@
+package app.dependency.update.app.config;
+
+import static app.dependency.update.app.util.ConstantUtils.*;
+
+import app.dependency.update.app.model.entities.Dependencies;
+import app.dependency.update.app.model.entities.NpmSkips;
+import app.dependency.update.app.model.entities.Packages;
+import app.dependency.update.app.model.entities.Plugins;
+import app.dependency.update.app.model.entities.ProcessSummaries;
+import java.time.Duration;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+
+/*
+ Creates the indexes the repositories query on when the app is ready, existing ones are left as is
+ old process summaries are removed by mongo using the ttl index on updateDateTime
+*/
+@Slf4j
+@Configuration
+public class MongoIndexConfig {
+
+  private final MongoTemplate mongoTemplate;
+
+  public MongoIndexConfig(final MongoTemplate mongoTemplate) {
+    this.mongoTemplate = mongoTemplate;
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void ensureIndexes() {
+    log.info("Ensure Mongo Indexes...");
+    // natural keys, used to build the maps and to upsert the buffered saves
+    ensureIndex(Plugins.class, new Index().on("group", Sort.Direction.ASC).unique());
+    ensureIndex(Dependencies.class, new Index().on("mavenId", Sort.Direction.ASC).unique());
+    ensureIndex(Packages.class, new Index().on("name", Sort.Direction.ASC).unique());
+    ensureIndex(NpmSkips.class, new Index().on("name", Sort.Direction.ASC).unique());
+    // findByUpdateType and findByUpdateTypeAndUpdateDate
+    ensureIndex(
+        ProcessSummaries.class,
+        new Index()
+            .on("updateType", Sort.Direction.ASC)
+            .on("updateDateTime", Sort.Direction.DESC));
+    // findByUpdateDate, also removes process summaries older than the ttl
+    ensureIndex(
+        ProcessSummaries.class,
+        new Index()
+            .on("updateDateTime", Sort.Direction.ASC)
+            .expire(Duration.ofDays(PROCESS_SUMMARIES_TTL_DAYS)));
+  }
+
+  private void ensureIndex(final Class<?> entityClass, final Index index) {
+    try {
+      String indexName = mongoTemplate.indexOps(entityClass).ensureIndex(index);
+      log.info("Ensure Mongo Index: [ {} ] [ {} ]", entityClass.getSimpleName(), indexName);
+    } catch (Exception ex) {
+      // eg: duplicate keys already in the collection, or same index with different options
+      // app still works without the index, so do not stop the startup
+      log.error(
+          "ERROR Ensure Mongo Index: [ {} ] [ {} ]",
+          entityClass.getSimpleName(),
+          index.getIndexKeys(),
+          ex);
+    }
+  }
+}
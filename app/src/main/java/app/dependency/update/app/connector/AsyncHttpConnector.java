@@ -0,0 +1,525 @@
+package app.dependency.update.app.connector;
+
+import static app.dependency.update.app.util.CommonUtils.*;
+import static app.dependency.update.app.util.ConstantUtils.*;
+
+import app.dependency.update.app.model.HttpCachedResponse;
+import app.dependency.update.app.util.CircuitBreaker;
+import app.dependency.update.app.util.HttpResponseCache;
+import app.dependency.update.app.util.TokenBucket;
+import app.dependency.update.app.util.UpstreamRefreshUtils;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/*
+ Shared non-blocking http client for all connectors, results are completed with null on error
+ requests to each host are limited in number at the same time, the ones over the limit wait in
+ a queue without holding a thread, so hundreds of lookups need only a handful of threads
+ responses are cached on disk, see HttpResponseCache
+ failed requests are retried with backoff, slow ones are hedged with a second request, and a host
+ that keeps failing is not called until its circuit breaker allows it again, see CircuitBreaker
+ retries to rate limited hosts wait for a token of the host, and those hosts are not hedged
+*/
+@Slf4j
+@Component
+public class AsyncHttpConnector {
+
+  private final Logger requestLogger =
+      LoggerFactory.getLogger("spring.web.client.MessageTracing.sent");
+  private final Logger responseLogger =
+      LoggerFactory.getLogger("spring.web.client.MessageTracing.received");
+
+  private final HttpClient httpClient;
+  private final ObjectMapper objectMapper;
+  private final HttpResponseCache httpResponseCache;
+  private final Map<String, Host> hosts = new ConcurrentHashMap<>();
+
+  public AsyncHttpConnector(final HttpClient httpClient, final ObjectMapper objectMapper) {
+    this.httpClient = httpClient;
+    this.objectMapper = objectMapper;
+    this.httpResponseCache = createHttpResponseCache(objectMapper);
+  }
+
+  private HttpResponseCache createHttpResponseCache(final ObjectMapper objectMapper) {
+    String repoHome = getSystemEnvProperty(ENV_REPO_NAME);
+    if (isEmpty(repoHome)) {
+      log.info("Http Response Cache Disabled, Repo Home Not Set...");
+      return null;
+    }
+    int freshnessMinutes =
+        parseIntSafe(
+            getSystemEnvProperty(
+                ENV_HTTP_CACHE_FRESHNESS_MINUTES,
+                String.valueOf(HTTP_CACHE_FRESHNESS_MINUTES_DEFAULT)));
+    return new HttpResponseCache(
+        Path.of(repoHome, APP_LOCAL_DIRECTORY, HTTP_CACHE_DIRECTORY),
+        Duration.ofMinutes(
+            freshnessMinutes > 0 ? freshnessMinutes : HTTP_CACHE_FRESHNESS_MINUTES_DEFAULT),
+        objectMapper);
+  }
+
+  public <T> CompletableFuture<T> getAsync(final String url, final Class<T> responseType) {
+    return getAsync(url, objectMapper.constructType(responseType));
+  }
+
+  /**
+   * Reads a json array one element at a time and stops at the first element matching, so that
+   * the rest of a large array is neither parsed nor kept, eg: node releases, github releases
+   *
+   * @param url request url
+   * @param arrayField field of the response the array is in, null if the response is the array
+   * @param elementType type of the array elements
+   * @param predicate element to find
+   * @return first element matching, null if none matches
+   */
+  public <T> CompletableFuture<T> getFirstAsync(
+      final String url,
+      final String arrayField,
+      final Class<T> elementType,
+      final Predicate<T> predicate) {
+    return sendAsync(url, "application/json")
+        .thenApply(
+            body ->
+                isEmpty(body) ? null : readFirst(url, body, arrayField, elementType, predicate));
+  }
+
+  public CompletableFuture<String> getXmlAsync(final String url) {
+    return sendAsync(url, "application/xml");
+  }
+
+  public CompletableFuture<Document> getHtmlAsync(final String url) {
+    return sendAsync(url, "text/html")
+        .thenApply(body -> body == null ? null : Jsoup.parse(body, url));
+  }
+
+  private <T> CompletableFuture<T> getAsync(final String url, final JavaType responseType) {
+    return sendAsync(url, "application/json")
+        .thenApply(
+            body -> {
+              if (isEmpty(body)) {
+                return null;
+              }
+              try {
+                return objectMapper.readValue(body, responseType);
+              } catch (Exception ex) {
+                log.error("ERROR in Read Response: [ {} ]", url, ex);
+                return null;
+              }
+            });
+  }
+
+  private <T> T readFirst(
+      final String url,
+      final String body,
+      final String arrayField,
+      final Class<T> elementType,
+      final Predicate<T> predicate) {
+    try (JsonParser jsonParser = objectMapper.createParser(body)) {
+      if (!moveToArray(jsonParser, arrayField)) {
+        log.error("ERROR in Read Response, Array Not Found: [ {} ] [ {} ]", url, arrayField);
+        return null;
+      }
+      while (jsonParser.nextToken() == JsonToken.START_OBJECT) {
+        T element = objectMapper.readValue(jsonParser, elementType);
+        if (predicate.test(element)) {
+          return element;
+        }
+      }
+    } catch (Exception ex) {
+      log.error("ERROR in Read Response: [ {} ]", url, ex);
+    }
+    return null;
+  }
+
+  private boolean moveToArray(final JsonParser jsonParser, final String arrayField)
+      throws IOException {
+    JsonToken jsonToken = jsonParser.nextToken();
+    if (arrayField == null) {
+      return jsonToken == JsonToken.START_ARRAY;
+    }
+    if (jsonToken != JsonToken.START_OBJECT) {
+      return false;
+    }
+    // skip over the other fields without reading them
+    while (jsonParser.nextToken() == JsonToken.FIELD_NAME) {
+      String fieldName = jsonParser.currentName();
+      jsonToken = jsonParser.nextToken();
+      if (arrayField.equals(fieldName)) {
+        return jsonToken == JsonToken.START_ARRAY;
+      }
+      jsonParser.skipChildren();
+    }
+    return false;
+  }
+
+  private CompletableFuture<String> sendAsync(final String url, final String accept) {
+    final HttpCachedResponse cachedResponse =
+        httpResponseCache == null ? null : httpResponseCache.get(url);
+    if (cachedResponse != null && httpResponseCache.isFresh(cachedResponse)) {
+      final String cachedBody = httpResponseCache.getBody(cachedResponse);
+      if (cachedBody != null) {
+        log.debug("Http Cached Response Fresh: [ {} ]", url);
+        return CompletableFuture.completedFuture(cachedBody);
+      }
+    }
+
+    final HttpRequest httpRequest;
+    try {
+      HttpRequest.Builder httpRequestBuilder =
+          HttpRequest.newBuilder(URI.create(url))
+              .timeout(Duration.ofSeconds(HTTP_REQUEST_TIMEOUT_SECONDS))
+              .header("Accept", accept)
+              .GET();
+      // upstream answers 304 without a body if the cached one is still current
+      if (cachedResponse != null && cachedResponse.getEtag() != null) {
+        httpRequestBuilder.header("If-None-Match", cachedResponse.getEtag());
+      }
+      if (cachedResponse != null && cachedResponse.getLastModified() != null) {
+        httpRequestBuilder.header("If-Modified-Since", cachedResponse.getLastModified());
+      }
+      httpRequest = httpRequestBuilder.build();
+    } catch (IllegalArgumentException ex) {
+      log.error("ERROR in Create Request: [ {} ]", url, ex);
+      return CompletableFuture.completedFuture(null);
+    }
+
+    final Host host = hosts.computeIfAbsent(httpRequest.uri().getHost(), this::createHost);
+    return sendWithRetry(url, httpRequest, host, 1)
+        .handle(
+            (httpResponse, ex) -> {
+              if (ex != null) {
+                log.error("ERROR in Send Request: [ {} ]", url, ex);
+                return getStaleBody(url, cachedResponse);
+              }
+              if (httpResponse == null) {
+                log.debug("Circuit Breaker Open, Request Not Sent: [ {} ]", url);
+                return getStaleBody(url, cachedResponse);
+              }
+              return getResponseBody(url, httpResponse, cachedResponse);
+            });
+  }
+
+  // completes with null if the circuit breaker of the host did not allow the request
+  private CompletableFuture<HttpResponse<String>> sendWithRetry(
+      final String url, final HttpRequest httpRequest, final Host host, final int attempt) {
+    if (!host.circuitBreaker.allowRequest()) {
+      return CompletableFuture.completedFuture(null);
+    }
+
+    return sendHedged(url, httpRequest, host)
+        .handle(
+            (httpResponse, ex) -> {
+              if (ex == null && httpResponse == null) {
+                return CompletableFuture.<HttpResponse<String>>completedFuture(null);
+              }
+              final boolean isFailed = ex != null || isRetryStatus(httpResponse.statusCode());
+              if (isFailed) {
+                host.circuitBreaker.onFailure();
+              } else {
+                host.circuitBreaker.onSuccess();
+              }
+
+              if (isFailed && attempt < HTTP_RETRY_MAX_ATTEMPTS) {
+                final long delayMillis = getRetryDelayMillis(attempt);
+                host.retries.increment();
+                log.debug("Retry Request: [ {} ] [ {} ] [ {} ms]", url, attempt, delayMillis);
+                // a retry is one more request to the upstream, so it waits for a token too
+                return CompletableFuture.runAsync(
+                        () -> {},
+                        CompletableFuture.delayedExecutor(delayMillis, TimeUnit.MILLISECONDS))
+                    .thenCompose(ignored -> acquireToken(host))
+                    .thenCompose(ignored -> sendWithRetry(url, httpRequest, host, attempt + 1));
+              }
+              return ex == null
+                  ? CompletableFuture.completedFuture(httpResponse)
+                  : CompletableFuture.<HttpResponse<String>>failedFuture(ex);
+            })
+        .thenCompose(Function.identity());
+  }
+
+  private CompletableFuture<Void> acquireToken(final Host host) {
+    return host.tokenBucket == null
+        ? CompletableFuture.completedFuture(null)
+        : host.tokenBucket.acquireAsync();
+  }
+
+  // a second request is sent if the first is slow to respond, whichever responds first is used
+  // not for rate limited hosts, eg: maven search, a second request would double what they get
+  private CompletableFuture<HttpResponse<String>> sendHedged(
+      final String url, final HttpRequest httpRequest, final Host host) {
+    if (host.tokenBucket != null) {
+      return send(url, httpRequest, host);
+    }
+
+    final CompletableFuture<HttpResponse<String>> result = new CompletableFuture<>();
+    final AtomicInteger pending = new AtomicInteger(1);
+    final BiConsumer<HttpResponse<String>, Throwable> onComplete =
+        (httpResponse, ex) -> {
+          if (ex == null) {
+            result.complete(httpResponse);
+          } else if (pending.decrementAndGet() == 0) {
+            result.completeExceptionally(ex);
+          }
+        };
+
+    send(url, httpRequest, host).whenComplete(onComplete);
+    CompletableFuture.delayedExecutor(HTTP_HEDGE_DELAY_MILLIS, TimeUnit.MILLISECONDS)
+        .execute(
+            () -> {
+              // not when the upstream is already failing, it would only add to its load
+              if (result.isDone() || !host.circuitBreaker.isClosed()) {
+                return;
+              }
+              pending.incrementAndGet();
+              host.hedges.increment();
+              log.debug("Hedge Request: [ {} ]", url);
+              send(url, httpRequest, host)
+                  .whenComplete(
+                      (httpResponse, ex) -> {
+                        if (ex == null && !result.isDone()) {
+                          host.hedgesWon.increment();
+                        }
+                        onComplete.accept(httpResponse, ex);
+                      });
+            });
+    return result;
+  }
+
+  private CompletableFuture<HttpResponse<String>> send(
+      final String url, final HttpRequest httpRequest, final Host host) {
+    return host.hostLimiter.submit(
+        () -> {
+          if (host.circuitBreaker.isOpen()) {
+            // opened while this request was waiting for its turn
+            return CompletableFuture.completedFuture(null);
+          }
+          requestLogger.debug("Sending [GET] Request [{}]", url);
+          final long startTime = System.currentTimeMillis();
+          return httpClient
+              .sendAsync(httpRequest, HttpResponse.BodyHandlers.ofString())
+              .whenComplete(
+                  (httpResponse, ex) -> {
+                    if (httpResponse != null) {
+                      responseLogger.debug(
+                          "Received [{}] Response [{}] [{}] [After] [ {} ms]",
+                          httpResponse.statusCode(),
+                          url,
+                          httpResponse.version(),
+                          System.currentTimeMillis() - startTime);
+                    }
+                  });
+        });
+  }
+
+  // too many requests and server errors are expected to go away, others are not
+  private boolean isRetryStatus(final int statusCode) {
+    return statusCode == 429 || statusCode >= 500;
+  }
+
+  // exponential backoff with jitter, so that retries of many lookups do not all arrive together
+  private long getRetryDelayMillis(final int attempt) {
+    final long backoffMillis =
+        Math.min(HTTP_RETRY_BACKOFF_MAX_MILLIS, HTTP_RETRY_BACKOFF_MILLIS << (attempt - 1));
+    return backoffMillis / 2 + ThreadLocalRandom.current().nextLong(backoffMillis / 2 + 1);
+  }
+
+  /**
+   * @return circuit breaker state, retries, hedges and requests in flight of each host
+   */
+  public Map<String, Map<String, Object>> upstreamStats() {
+    Map<String, Map<String, Object>> upstreamStats = new TreeMap<>();
+    hosts.forEach((hostName, host) -> upstreamStats.put(hostName, host.stats()));
+    return upstreamStats;
+  }
+
+  private String getResponseBody(
+      final String url,
+      final HttpResponse<String> httpResponse,
+      final HttpCachedResponse cachedResponse) {
+    final int statusCode = httpResponse.statusCode();
+    if (statusCode == 304 && cachedResponse != null) {
+      final String cachedBody = httpResponseCache.revalidated(cachedResponse);
+      if (cachedBody == null) {
+        // validators are dropped with the body, so next request fetches the body again
+        log.error("ERROR Http Cached Response Not Read After 304: [ {} ]", url);
+      }
+      return cachedBody;
+    }
+    if (statusCode / 100 != 2) {
+      log.error("ERROR in Response Status: [ {} ] [ {} ]", url, statusCode);
+      return statusCode >= 500 ? getStaleBody(url, cachedResponse) : null;
+    }
+
+    if (httpResponseCache != null) {
+      httpResponseCache.put(
+          url,
+          httpResponse.headers().firstValue("ETag").orElse(null),
+          httpResponse.headers().firstValue("Last-Modified").orElse(null),
+          httpResponse.body());
+    }
+    return httpResponse.body();
+  }
+
+  // upstream not available, what was fetched before is better than nothing
+  private String getStaleBody(final String url, final HttpCachedResponse cachedResponse) {
+    if (cachedResponse == null) {
+      return null;
+    }
+    log.info("Http Cached Response Stale Used: [ {} ]", url);
+    return httpResponseCache.getBody(cachedResponse);
+  }
+
+  private Host createHost(final String hostName) {
+    return new Host(
+        new HostLimiter(getConnectionsPerHost()),
+        new CircuitBreaker(
+            hostName,
+            CIRCUIT_BREAKER_FAILURE_THRESHOLD,
+            Duration.ofSeconds(CIRCUIT_BREAKER_OPEN_SECONDS)),
+        UpstreamRefreshUtils.findHostTokenBucket(hostName));
+  }
+
+  private int getConnectionsPerHost() {
+    int limit =
+        parseIntSafe(
+            getSystemEnvProperty(
+                ENV_REFRESH_CONCURRENCY, String.valueOf(REFRESH_CONCURRENCY_DEFAULT)));
+    return limit > 0 ? limit : REFRESH_CONCURRENCY_DEFAULT;
+  }
+
+  private static class Host {
+    private final HostLimiter hostLimiter;
+    private final CircuitBreaker circuitBreaker;
+    // null if the host is not rate limited
+    private final TokenBucket tokenBucket;
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder hedges = new LongAdder();
+    private final LongAdder hedgesWon = new LongAdder();
+
+    private Host(
+        final HostLimiter hostLimiter,
+        final CircuitBreaker circuitBreaker,
+        final TokenBucket tokenBucket) {
+      this.hostLimiter = hostLimiter;
+      this.circuitBreaker = circuitBreaker;
+      this.tokenBucket = tokenBucket;
+    }
+
+    private Map<String, Object> stats() {
+      Map<String, Object> stats = new LinkedHashMap<>(this.circuitBreaker.stats());
+      stats.put("retries", this.retries.sum());
+      stats.put("hedges", this.hedges.sum());
+      stats.put("hedgesWon", this.hedgesWon.sum());
+      stats.putAll(this.hostLimiter.stats());
+      return stats;
+    }
+  }
+
+  private static class HostLimiter {
+    private final int limit;
+    private final Queue<Runnable> waiting = new ArrayDeque<>();
+    private int active = 0;
+    private int pendingReleases = 0;
+    private boolean isReleasing = false;
+
+    private HostLimiter(final int limit) {
+      this.limit = limit;
+    }
+
+    private <T> CompletableFuture<T> submit(final Supplier<CompletableFuture<T>> request) {
+      final CompletableFuture<T> result = new CompletableFuture<>();
+      final Runnable start =
+          () -> {
+            CompletableFuture<T> response;
+            try {
+              response = request.get();
+            } catch (RuntimeException ex) {
+              response = CompletableFuture.failedFuture(ex);
+            }
+            response.whenComplete(
+                (value, ex) -> {
+                  release();
+                  if (ex == null) {
+                    result.complete(value);
+                  } else {
+                    result.completeExceptionally(ex);
+                  }
+                });
+          };
+
+      synchronized (this) {
+        if (this.active >= this.limit) {
+          this.waiting.add(start);
+          return result;
+        }
+        this.active++;
+      }
+      start.run();
+      return result;
+    }
+
+    private synchronized Map<String, Object> stats() {
+      return Map.of("active", this.active, "waiting", this.waiting.size());
+    }
+
+    // a request that completes right away, eg: circuit breaker open, releases again while it is
+    // started, so releases are counted and handled in a loop by one caller instead of recursing
+    private void release() {
+      synchronized (this) {
+        this.pendingReleases++;
+        if (this.isReleasing) {
+          return;
+        }
+        this.isReleasing = true;
+      }
+
+      while (true) {
+        final Runnable next;
+        synchronized (this) {
+          if (this.pendingReleases == 0) {
+            this.isReleasing = false;
+            return;
+          }
+          this.pendingReleases--;
+          next = this.waiting.poll();
+          if (next == null) {
+            this.active--;
+            continue;
+          }
+        }
+        // permit passed on to the next waiting request
+        next.run();
+      }
+    }
+  }
+}
@@ -3,38 +3,23 @@ package app.dependency.update.app.connector;
 import static app.dependency.update.app.util.ConstantUtils.*;
 
 import app.dependency.update.app.model.FlywayReleaseResponse;
-import java.util.Collections;
-import java.util.List;
-import lombok.extern.slf4j.Slf4j;
-import org.springframework.core.ParameterizedTypeReference;
-import org.springframework.http.HttpMethod;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Predicate;
 import org.springframework.stereotype.Component;
-import org.springframework.web.client.RestClientException;
-import org.springframework.web.client.RestTemplate;
 
-@Slf4j
 @Component
 public class FlywayConnector {
 
-  private final RestTemplate restTemplate;
+  private final AsyncHttpConnector asyncHttpConnector;
 
-  public FlywayConnector(final RestTemplate restTemplate) {
-    this.restTemplate = restTemplate;
+  public FlywayConnector(final AsyncHttpConnector asyncHttpConnector) {
+    this.asyncHttpConnector = asyncHttpConnector;
   }
 
-  public List<FlywayReleaseResponse> getFlywayReleases() {
-    try {
-      return restTemplate
-          .exchange(
-              FLYWAY_RELEASES_ENDPOINT,
-              HttpMethod.GET,
-              null,
-              new ParameterizedTypeReference<List<FlywayReleaseResponse>>() {})
-          .getBody();
-    } catch (RestClientException ex) {
-      log.error("ERROR Get Flyway Releases", ex);
-    }
-
-    return Collections.emptyList();
+  // releases are newest first, so only read up to the first one matching
+  public CompletableFuture<FlywayReleaseResponse> getFirstFlywayRelease(
+      final Predicate<FlywayReleaseResponse> predicate) {
+    return asyncHttpConnector.getFirstAsync(
+        FLYWAY_RELEASES_ENDPOINT, null, FlywayReleaseResponse.class, predicate);
   }
 }
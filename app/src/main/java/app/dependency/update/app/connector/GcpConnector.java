@@ -1,23 +1,21 @@
 package app.dependency.update.app.connector;
 
-import static app.dependency.update.app.util.ConstantUtils.GCP_RUNTIME_SUPPORT_ENDPOINT;
+import static app.dependency.update.app.util.ConstantUtils.*;
 
-import java.io.IOException;
-import lombok.extern.slf4j.Slf4j;
-import org.jsoup.Jsoup;
+import java.util.concurrent.CompletableFuture;
 import org.jsoup.nodes.Document;
 import org.springframework.stereotype.Component;
 
-@Slf4j
 @Component
 public class GcpConnector {
 
-  public Document getGcpRuntimeSupportSchedule() {
-    try {
-      return Jsoup.connect(GCP_RUNTIME_SUPPORT_ENDPOINT).get();
-    } catch (IOException ex) {
-      log.error("ERROR Get GCP Runtime Support Schedule...", ex);
-    }
-    return null;
+  private final AsyncHttpConnector asyncHttpConnector;
+
+  public GcpConnector(final AsyncHttpConnector asyncHttpConnector) {
+    this.asyncHttpConnector = asyncHttpConnector;
+  }
+
+  public CompletableFuture<Document> getGcpRuntimeSupportSchedule() {
+    return asyncHttpConnector.getHtmlAsync(GCP_RUNTIME_SUPPORT_ENDPOINT);
   }
 }
@@ -3,51 +3,28 @@ package app.dependency.update.app.connector;
 import static app.dependency.update.app.util.ConstantUtils.*;
 
 import app.dependency.update.app.model.GradleReleaseResponse;
-import java.io.IOException;
-import java.util.Collections;
-import java.util.List;
-import lombok.extern.slf4j.Slf4j;
-import org.jsoup.Jsoup;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Predicate;
 import org.jsoup.nodes.Document;
-import org.springframework.core.ParameterizedTypeReference;
-import org.springframework.http.HttpMethod;
 import org.springframework.stereotype.Component;
-import org.springframework.web.client.RestClientException;
-import org.springframework.web.client.RestTemplate;
 
-@Slf4j
 @Component
 public class GradleConnector {
 
-  private final RestTemplate restTemplate;
+  private final AsyncHttpConnector asyncHttpConnector;
 
-  public GradleConnector(final RestTemplate restTemplate) {
-    this.restTemplate = restTemplate;
+  public GradleConnector(final AsyncHttpConnector asyncHttpConnector) {
+    this.asyncHttpConnector = asyncHttpConnector;
   }
 
-  public List<GradleReleaseResponse> getGradleReleases() {
-    try {
-      return restTemplate
-          .exchange(
-              GRADLE_RELEASES_ENDPOINT,
-              HttpMethod.GET,
-              null,
-              new ParameterizedTypeReference<List<GradleReleaseResponse>>() {})
-          .getBody();
-    } catch (RestClientException ex) {
-      log.error("ERROR Get Gradle Releases", ex);
-    }
-
-    return Collections.emptyList();
+  // releases are newest first, so only read up to the first one matching
+  public CompletableFuture<GradleReleaseResponse> getFirstGradleRelease(
+      final Predicate<GradleReleaseResponse> predicate) {
+    return asyncHttpConnector.getFirstAsync(
+        GRADLE_RELEASES_ENDPOINT, null, GradleReleaseResponse.class, predicate);
   }
 
-  public Document getGradlePlugins(final String group) {
-    try {
-      String url = String.format(GRADLE_PLUGINS_ENDPOINT, group);
-      return Jsoup.connect(url).get();
-    } catch (IOException ex) {
-      log.error("ERROR Get Gradle Plugins: [ {} ]", group, ex);
-    }
-    return null;
+  public CompletableFuture<Document> getGradlePlugins(final String group) {
+    return asyncHttpConnector.getHtmlAsync(String.format(GRADLE_PLUGINS_ENDPOINT, group));
   }
 }
@@ -3,36 +3,23 @@ package app.dependency.update.app.connector;
 import static app.dependency.update.app.util.ConstantUtils.*;
 
 import app.dependency.update.app.model.JavaReleaseResponse;
-import java.util.Collections;
-import java.util.List;
-import java.util.Objects;
-import lombok.extern.slf4j.Slf4j;
-import org.springframework.http.HttpMethod;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Predicate;
 import org.springframework.stereotype.Component;
-import org.springframework.web.client.RestClientException;
-import org.springframework.web.client.RestTemplate;
 
-@Slf4j
 @Component
 public class JavaConnector {
 
-  private final RestTemplate restTemplate;
+  private final AsyncHttpConnector asyncHttpConnector;
 
-  public JavaConnector(final RestTemplate restTemplate) {
-    this.restTemplate = restTemplate;
+  public JavaConnector(final AsyncHttpConnector asyncHttpConnector) {
+    this.asyncHttpConnector = asyncHttpConnector;
   }
 
-  public List<JavaReleaseResponse.JavaVersion> getJavaReleases() {
-    try {
-      return Objects.requireNonNull(
-              restTemplate
-                  .exchange(JAVA_RELEASES_ENDPOINT, HttpMethod.GET, null, JavaReleaseResponse.class)
-                  .getBody())
-          .getVersions();
-    } catch (RestClientException ex) {
-      log.error("ERROR Get Java Releases", ex);
-    }
-
-    return Collections.emptyList();
+  // releases are newest first, so only read up to the first one matching
+  public CompletableFuture<JavaReleaseResponse.JavaVersion> getFirstJavaRelease(
+      final Predicate<JavaReleaseResponse.JavaVersion> predicate) {
+    return asyncHttpConnector.getFirstAsync(
+        JAVA_RELEASES_ENDPOINT, "versions", JavaReleaseResponse.JavaVersion.class, predicate);
   }
 }
@@ -1,31 +1,86 @@
 package app.dependency.update.app.connector;
 
+import static app.dependency.update.app.util.CommonUtils.*;
 import static app.dependency.update.app.util.ConstantUtils.*;
 
 import app.dependency.update.app.model.MavenSearchResponse;
+import app.dependency.update.app.util.MavenMetadataUtils;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
-import org.springframework.web.client.RestClientException;
-import org.springframework.web.client.RestTemplate;
 
 @Slf4j
 @Component
 public class MavenConnector {
 
-  private final RestTemplate restTemplate;
+  private final AsyncHttpConnector asyncHttpConnector;
+  private final List<String> mavenRepositories;
 
-  public MavenConnector(final RestTemplate restTemplate) {
-    this.restTemplate = restTemplate;
+  public MavenConnector(final AsyncHttpConnector asyncHttpConnector) {
+    this.asyncHttpConnector = asyncHttpConnector;
+    this.mavenRepositories = getMavenRepositories();
   }
 
-  public MavenSearchResponse getMavenSearchResponse(final String group, final String artifact) {
-    try {
-      return restTemplate.getForObject(
-          String.format(MAVEN_SEARCH_ENDPOINT, group, artifact), MavenSearchResponse.class);
-    } catch (RestClientException ex) {
-      log.error("ERROR in Get Maven Search Response: [ {} ] [ {} ]", group, artifact, ex);
+  // eg: https://repo1.maven.org/maven2,https://nexus.example.com/repository/maven-public
+  private List<String> getMavenRepositories() {
+    List<String> repositories =
+        Arrays.stream(
+                getSystemEnvProperty(ENV_MAVEN_REPOSITORIES, MAVEN_CENTRAL_REPOSITORY).split(","))
+            .map(String::trim)
+            .filter(repository -> !isEmpty(repository))
+            .map(repository -> repository.replaceAll("/+$", ""))
+            .toList();
+    if (repositories.isEmpty()) {
+      repositories = List.of(MAVEN_CENTRAL_REPOSITORY);
     }
+    log.info("Maven Repositories: [ {} ]", repositories);
+    return repositories;
+  }
+
+  /**
+   * @return host of the first maven repository, lookups are rate limited by it
+   */
+  public String getMavenRepositoryHost() {
+    return URI.create(mavenRepositories.getFirst()).getHost();
+  }
+
+  public CompletableFuture<MavenSearchResponse> getMavenSearchResponse(
+      final String group, final String artifact) {
+    return asyncHttpConnector.getAsync(
+        String.format(MAVEN_SEARCH_ENDPOINT, group, artifact), MavenSearchResponse.class);
+  }
+
+  /**
+   * @param group eg: org.springframework.boot
+   * @param artifact eg: spring-boot-starter-web
+   * @return versions found in maven-metadata.xml of all maven repositories, empty if none found
+   */
+  public CompletableFuture<List<String>> getMavenMetadataVersions(
+      final String group, final String artifact) {
+    final String groupPath = group.replace('.', '/');
+    List<CompletableFuture<List<String>>> futures =
+        mavenRepositories.stream()
+            .map(
+                repository ->
+                    asyncHttpConnector
+                        .getXmlAsync(
+                            String.format(MAVEN_METADATA_ENDPOINT, repository, groupPath, artifact))
+                        .thenApply(MavenMetadataUtils::getVersions))
+            .toList();
 
-    return null;
+    // a version can be in more than one repository, eg: central and its mirror
+    return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]))
+        .thenApply(
+            ignored -> {
+              Set<String> versions = new LinkedHashSet<>();
+              futures.forEach(future -> versions.addAll(future.join()));
+              return new ArrayList<>(versions);
+            });
   }
 }
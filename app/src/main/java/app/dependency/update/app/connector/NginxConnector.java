@@ -3,38 +3,23 @@ package app.dependency.update.app.connector;
 import static app.dependency.update.app.util.ConstantUtils.*;
 
 import app.dependency.update.app.model.NginxReleaseResponse;
-import java.util.Collections;
-import java.util.List;
-import lombok.extern.slf4j.Slf4j;
-import org.springframework.core.ParameterizedTypeReference;
-import org.springframework.http.HttpMethod;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Predicate;
 import org.springframework.stereotype.Component;
-import org.springframework.web.client.RestClientException;
-import org.springframework.web.client.RestTemplate;
 
-@Slf4j
 @Component
 public class NginxConnector {
 
-  private final RestTemplate restTemplate;
+  private final AsyncHttpConnector asyncHttpConnector;
 
-  public NginxConnector(final RestTemplate restTemplate) {
-    this.restTemplate = restTemplate;
+  public NginxConnector(final AsyncHttpConnector asyncHttpConnector) {
+    this.asyncHttpConnector = asyncHttpConnector;
   }
 
-  public List<NginxReleaseResponse> getNginxReleases() {
-    try {
-      return restTemplate
-          .exchange(
-              NGINX_TAGS_ENDPOINT,
-              HttpMethod.GET,
-              null,
-              new ParameterizedTypeReference<List<NginxReleaseResponse>>() {})
-          .getBody();
-    } catch (RestClientException ex) {
-      log.error("ERROR Get Nginx Releases", ex);
-    }
-
-    return Collections.emptyList();
+  // releases are newest first, so only read up to the first one matching
+  public CompletableFuture<NginxReleaseResponse> getFirstNginxRelease(
+      final Predicate<NginxReleaseResponse> predicate) {
+    return asyncHttpConnector.getFirstAsync(
+        NGINX_TAGS_ENDPOINT, null, NginxReleaseResponse.class, predicate);
   }
 }
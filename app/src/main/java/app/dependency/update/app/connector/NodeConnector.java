@@ -3,38 +3,23 @@ package app.dependency.update.app.connector;
 import static app.dependency.update.app.util.ConstantUtils.*;
 
 import app.dependency.update.app.model.NodeReleaseResponse;
-import java.util.Collections;
-import java.util.List;
-import lombok.extern.slf4j.Slf4j;
-import org.springframework.core.ParameterizedTypeReference;
-import org.springframework.http.HttpMethod;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Predicate;
 import org.springframework.stereotype.Component;
-import org.springframework.web.client.RestClientException;
-import org.springframework.web.client.RestTemplate;
 
-@Slf4j
 @Component
 public class NodeConnector {
 
-  private final RestTemplate restTemplate;
+  private final AsyncHttpConnector asyncHttpConnector;
 
-  public NodeConnector(final RestTemplate restTemplate) {
-    this.restTemplate = restTemplate;
+  public NodeConnector(final AsyncHttpConnector asyncHttpConnector) {
+    this.asyncHttpConnector = asyncHttpConnector;
   }
 
-  public List<NodeReleaseResponse> getNodeReleases() {
-    try {
-      return restTemplate
-          .exchange(
-              NODE_RELEASES_ENDPOINT,
-              HttpMethod.GET,
-              null,
-              new ParameterizedTypeReference<List<NodeReleaseResponse>>() {})
-          .getBody();
-    } catch (RestClientException ex) {
-      log.error("ERROR Get Node Releases", ex);
-    }
-
-    return Collections.emptyList();
+  // releases are newest first, so only read up to the first one matching
+  public CompletableFuture<NodeReleaseResponse> getFirstNodeRelease(
+      final Predicate<NodeReleaseResponse> predicate) {
+    return asyncHttpConnector.getFirstAsync(
+        NODE_RELEASES_ENDPOINT, null, NodeReleaseResponse.class, predicate);
   }
 }
@@ -0,0 +1,22 @@
+package app.dependency.update.app.connector;
+
+import static app.dependency.update.app.util.ConstantUtils.*;
+
+import app.dependency.update.app.model.NpmRegistryResponse;
+import java.util.concurrent.CompletableFuture;
+import org.springframework.stereotype.Component;
+
+@Component
+public class NpmConnector {
+
+  private final AsyncHttpConnector asyncHttpConnector;
+
+  public NpmConnector(final AsyncHttpConnector asyncHttpConnector) {
+    this.asyncHttpConnector = asyncHttpConnector;
+  }
+
+  public CompletableFuture<NpmRegistryResponse> getNpmRegistryResponse(final String name) {
+    return asyncHttpConnector.getAsync(
+        String.format(NPM_REGISTRY_ENDPOINT, name), NpmRegistryResponse.class);
+  }
+}
@@ -6,12 +6,15 @@ import static app.dependency.update.app.util.ProcessUtils.*;
 import app.dependency.update.app.service.MongoRepoService;
 import app.dependency.update.app.service.UpdateRepoService;
 import app.dependency.update.app.util.AppInitDataUtils;
+import app.dependency.update.app.util.RunJournalUtils;
 import ch.qos.logback.classic.Level;
 import ch.qos.logback.classic.Logger;
 import ch.qos.logback.classic.LoggerContext;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
+import java.util.Set;
+import java.util.TreeSet;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.MediaType;
@@ -45,8 +48,13 @@ public class AppTestController {
       description = "Returns list of repositories with errors when creating PR")
   @GetMapping(value = "/tests/pr-create-errors", produces = MediaType.APPLICATION_JSON_VALUE)
   public ResponseEntity<String> errors() throws JsonProcessingException {
+    // of all runs not yet completed
+    Set<String> repositoriesWithPrError = new TreeSet<>();
+    getRunContexts()
+        .forEach(
+            runContext -> repositoriesWithPrError.addAll(runContext.getRepositoriesWithPrError()));
     return ResponseEntity.ok(
-        "{\"repos\": " + new ObjectMapper().writeValueAsString(getRepositoriesWithPrError()) + "}");
+        "{\"repos\": " + new ObjectMapper().writeValueAsString(repositoriesWithPrError) + "}");
   }
 
   @Operation(summary = "Reset Caches", description = "Clears and sets caches")
@@ -108,14 +116,23 @@ public class AppTestController {
             "{\"logLevelBefore\":\"%s\",\"logLevelAfter\":\"%s\"}", levelBefore, levelAfter));
   }
 
-  @Operation(summary = "Restart Scheduler", description = "Shuts down and starts Task Scheduler")
+  @Operation(
+      summary = "Restart Scheduler",
+      description = "Shuts down and starts Task Scheduler, then resumes the run it stopped")
   @GetMapping(value = "/tests/restart/{are_you_sure}", produces = MediaType.APPLICATION_JSON_VALUE)
   public ResponseEntity<String> restart(
-      @PathVariable(name = "are_you_sure") final boolean areYouSure) throws InterruptedException {
+      @PathVariable(name = "are_you_sure") final boolean areYouSure,
+      @RequestParam(required = false, defaultValue = "true") final boolean isResumeRun)
+      throws InterruptedException {
     if (areYouSure) {
       updateRepoService.restartScheduler();
       resetProcessedRepositoriesAndSummary();
-      return ResponseEntity.ok("{\"shutdown\": \"submitted\"}");
+      if (!isResumeRun) {
+        RunJournalUtils.discardRun();
+      }
+      boolean isRunResumed = isResumeRun && updateRepoService.resumeRun();
+      return ResponseEntity.ok(
+          "{\"shutdown\": \"submitted\", \"resumed\": " + isRunResumed + "}");
     } else {
       return ResponseEntity.badRequest().body("{\"shutdown\": \"not submitted\"}");
     }
@@ -0,0 +1,25 @@
+package app.dependency.update.app.controller;
+
+import app.dependency.update.app.service.MongoRepoService;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/*
+ Plugins, dependencies and packages catalog statistics at /actuator/catalog
+ eg: size, hits, misses, loads and load times
+*/
+@Component
+@Endpoint(id = "catalog")
+@RequiredArgsConstructor
+public class CatalogEndpoint {
+
+  private final MongoRepoService mongoRepoService;
+
+  @ReadOperation
+  public Map<String, Map<String, Object>> catalog() {
+    return mongoRepoService.catalogStats();
+  }
+}
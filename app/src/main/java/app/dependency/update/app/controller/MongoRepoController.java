@@ -211,9 +211,14 @@ public class MongoRepoController {
 
   @Operation(summary = "On-demand Update Dependencies and Plugins Repo in Mongo")
   @PostMapping(value = "/update", produces = MediaType.APPLICATION_JSON_VALUE)
-  public ResponseEntity<String> updateMavenRepoInMongo() {
+  public ResponseEntity<String> updateMavenRepoInMongo(
+      @Parameter(in = ParameterIn.QUERY, description = "Maven Resolver, SEARCH or METADATA")
+          @RequestParam(required = false)
+          final MavenResolver mavenResolver) {
     CompletableFuture.runAsync(
-        () -> mongoRepoService.updateDependenciesInMongo(mongoRepoService.dependenciesMap()));
+        () ->
+            mongoRepoService.updateDependenciesInMongo(
+                mongoRepoService.dependenciesMap(), mavenResolver));
     CompletableFuture.runAsync(
         () -> mongoRepoService.updatePluginsInMongo(mongoRepoService.pluginsMap()));
     CompletableFuture.runAsync(
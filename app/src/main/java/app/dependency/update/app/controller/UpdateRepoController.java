@@ -3,13 +3,19 @@ package app.dependency.update.app.controller;
 import static app.dependency.update.app.util.CommonUtils.*;
 import static app.dependency.update.app.util.ConstantUtils.*;
 
+import app.dependency.update.app.exception.AppDependencyUpdateRuntimeException;
+import app.dependency.update.app.model.UpdatePlanEntry;
 import app.dependency.update.app.service.UpdateRepoService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.enums.ParameterIn;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
+import java.util.List;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -17,15 +23,19 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/update-repo")
 public class UpdateRepoController {
 
   private final UpdateRepoService updateRepoService;
+  private final ObjectMapper objectMapper;
 
-  public UpdateRepoController(final UpdateRepoService updateRepoService) {
+  public UpdateRepoController(
+      final UpdateRepoService updateRepoService, final ObjectMapper objectMapper) {
     this.updateRepoService = updateRepoService;
+    this.objectMapper = objectMapper;
   }
 
   @Operation(summary = "On-demand Update Repos")
@@ -54,29 +64,88 @@ public class UpdateRepoController {
           final String branchDate,
       @Parameter(in = ParameterIn.QUERY, description = "For Gradle Spotless Apply")
           @RequestParam(required = false)
-          final String repoName) {
-    if (updateRepoService.isTaskRunning()) {
-      return ResponseEntity.unprocessableEntity().body("{\"process\": \"already running\"}");
-    } else {
-      if (checkInvalidBranchDate(branchDate, updateType)) {
-        return ResponseEntity.badRequest().body("{\"branchDate\": \"empty or invalid format\"}");
-      }
+          final String repoName,
+      @Parameter(in = ParameterIn.QUERY, description = "Update Each Repository in a Pipeline")
+          @RequestParam(required = false, defaultValue = "false")
+          final boolean isPipeline,
+      @Parameter(
+              in = ParameterIn.QUERY,
+              description = "Maven Resolver when Recreating Caches, SEARCH or METADATA")
+          @RequestParam(required = false)
+          final MavenResolver mavenResolver) {
+    if (checkInvalidBranchDate(branchDate, updateType)) {
+      return ResponseEntity.badRequest().body("{\"branchDate\": \"empty or invalid format\"}");
+    }
 
-      String branchName = String.format(BRANCH_UPDATE_DEPENDENCIES, branchDate);
-      updateRepoService.updateRepos(
-          isRecreateCaches,
-          isRecreateScriptFiles,
-          branchName,
-          repoName,
-          updateType,
-          isForceCreatePr,
-          isDeleteUpdateDependenciesOnly,
-          checkDependenciesUpdate(updateType),
-          isGithubResetPullRequired);
+    String branchName = String.format(BRANCH_UPDATE_DEPENDENCIES, branchDate);
+    // runs on different repositories can run at the same time
+    boolean isSubmitted =
+        updateRepoService.updateRepos(
+            isRecreateCaches,
+            isRecreateScriptFiles,
+            branchName,
+            repoName,
+            updateType,
+            isForceCreatePr,
+            isDeleteUpdateDependenciesOnly,
+            checkDependenciesUpdate(updateType),
+            isGithubResetPullRequired,
+            isPipeline,
+            mavenResolver);
+    if (!isSubmitted) {
+      return ResponseEntity.unprocessableEntity().body("{\"process\": \"already running\"}");
     }
     return ResponseEntity.accepted().body("{\"request\": \"submitted\"}");
   }
 
+  @Operation(
+      summary = "Plan Update Repos",
+      description =
+          "Return changes the update would make, one line of json per changed line, "
+              + "without writing files or running scripts")
+  @PostMapping(value = "/plan", produces = MediaType.APPLICATION_NDJSON_VALUE)
+  public ResponseEntity<StreamingResponseBody> planRepos(
+      @Parameter(
+              in = ParameterIn.QUERY,
+              description = "ALL, GRADLE_DEPENDENCIES, NPM_DEPENDENCIES or PYTHON_DEPENDENCIES")
+          @RequestParam(required = false, defaultValue = "ALL")
+          final UpdateType updateType,
+      @Parameter(in = ParameterIn.QUERY, description = "Plan only this Repository")
+          @RequestParam(required = false)
+          final String repoName) {
+    if (!checkDependenciesUpdate(updateType)) {
+      return ResponseEntity.badRequest().build();
+    }
+    // files could be changing while an update is running on the repositories
+    if (updateRepoService.isTaskRunning(updateType, repoName)) {
+      return ResponseEntity.unprocessableEntity().build();
+    }
+
+    StreamingResponseBody streamingResponseBody =
+        outputStream ->
+            updateRepoService.planRepos(
+                updateType,
+                repoName,
+                updatePlanEntries -> writeUpdatePlanEntries(outputStream, updatePlanEntries));
+    return ResponseEntity.ok(streamingResponseBody);
+  }
+
+  private void writeUpdatePlanEntries(
+      final OutputStream outputStream, final List<UpdatePlanEntry> updatePlanEntries) {
+    // repositories are planned at the same time, keep lines of one repository together
+    synchronized (outputStream) {
+      try {
+        for (UpdatePlanEntry updatePlanEntry : updatePlanEntries) {
+          outputStream.write(objectMapper.writeValueAsBytes(updatePlanEntry));
+          outputStream.write('\n');
+        }
+        outputStream.flush();
+      } catch (IOException ex) {
+        throw new AppDependencyUpdateRuntimeException("Write Update Plan Error", ex);
+      }
+    }
+  }
+
   @SuppressWarnings("ResultOfMethodCallIgnored")
   private boolean checkInvalidBranchDate(final String branchDate, final UpdateType updateType) {
     if (updateType.equals(UpdateType.NPM_SNAPSHOT)
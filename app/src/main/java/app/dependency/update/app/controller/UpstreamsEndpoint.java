@@ -0,0 +1,25 @@
+package app.dependency.update.app.controller;
+
+import app.dependency.update.app.connector.AsyncHttpConnector;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/*
+ Upstream hosts statistics at /actuator/upstreams
+ eg: circuit breaker state, retries, hedges and requests in flight
+*/
+@Component
+@Endpoint(id = "upstreams")
+@RequiredArgsConstructor
+public class UpstreamsEndpoint {
+
+  private final AsyncHttpConnector asyncHttpConnector;
+
+  @ReadOperation
+  public Map<String, Map<String, Object>> upstreams() {
+    return asyncHttpConnector.upstreamStats();
+  }
+}
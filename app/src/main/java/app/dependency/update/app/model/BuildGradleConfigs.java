@@ -17,4 +17,6 @@ public class BuildGradleConfigs {
   private final List<String> originals;
   private final GradleConfigBlock plugins;
   private final List<GradleConfigBlock> dependencies;
+  private final String javaVersion;
+  private final List<Integer> javaVersionLines;
 }
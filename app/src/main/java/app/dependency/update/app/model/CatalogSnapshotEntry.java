@@ -0,0 +1,21 @@
+package app.dependency.update.app.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+import org.bson.types.ObjectId;
+
+@SuppressWarnings("ClassCanBeRecord")
+@Getter
+@Builder
+@ToString
+@AllArgsConstructor
+public class CatalogSnapshotEntry {
+  private final ObjectId id;
+  // group, mavenId or name
+  private final String key;
+  private final String version;
+  // skipVersion, or isActive for npm skips
+  private final boolean flag;
+}
@@ -0,0 +1,22 @@
+package app.dependency.update.app.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+@SuppressWarnings("ClassCanBeRecord")
+@Getter
+@Builder
+@ToString
+@AllArgsConstructor
+public class CommandResult {
+  private final int exitCode;
+  private final String output;
+  // only the last lines of the output are kept, see ProcessOutputBuffer
+  private final boolean isOutputTruncated;
+
+  public boolean isSuccess() {
+    return this.exitCode == 0;
+  }
+}
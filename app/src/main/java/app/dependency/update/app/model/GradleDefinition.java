@@ -14,4 +14,5 @@ public class GradleDefinition {
   private final String original;
   private final String name;
   private final String value;
+  private final int lineIndex;
 }
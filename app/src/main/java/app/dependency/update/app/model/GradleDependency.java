@@ -16,4 +16,5 @@ public class GradleDependency {
   private final String artifact;
   private final String version;
   private final boolean skipVersion;
+  private final int lineIndex;
 }
@@ -15,4 +15,5 @@ public class GradlePlugin {
   private final String group;
   private final String version;
   private final boolean skipVersion;
+  private final int lineIndex;
 }
@@ -20,6 +20,7 @@ public class ProcessSummary {
   private int mongoDependenciesToUpdate;
   private int mongoPackagesToUpdate;
   private int mongoNpmSkipsActive;
+  private int mongoCoordinatesDiscovered;
   private int totalPrCreatedCount;
   private int totalPrCreateErrorsCount;
   private int totalPrMergedCount;
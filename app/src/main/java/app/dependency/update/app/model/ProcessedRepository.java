@@ -2,6 +2,7 @@ package app.dependency.update.app.model;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonInclude;
+import java.util.Map;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -19,4 +20,6 @@ public class ProcessedRepository {
   private boolean isPrCreated;
   private boolean isPrCreateError;
   private boolean isPrMerged;
+  // by RepoPhase name, read back to order repositories in next runs
+  private Map<String, Long> phaseDurationsMillis;
 }
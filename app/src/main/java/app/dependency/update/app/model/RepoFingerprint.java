@@ -0,0 +1,36 @@
+package app.dependency.update.app.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.util.Map;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class RepoFingerprint {
+  // by path relative to the repository
+  private Map<String, FileFingerprint> files;
+  private String latestVersionsHash;
+  // catalog versions the repository was checked against, eg: mavenId -> latest version
+  private Map<String, String> relevantVersions;
+  private long savedAtMillis;
+
+  @Data
+  @Builder
+  @NoArgsConstructor
+  @AllArgsConstructor
+  @JsonInclude(JsonInclude.Include.NON_NULL)
+  @JsonIgnoreProperties(ignoreUnknown = true)
+  public static class FileFingerprint {
+    private long size;
+    private long modifiedMillis;
+    private String hash;
+  }
+}
@@ -0,0 +1,57 @@
+package app.dependency.update.app.model;
+
+import static app.dependency.update.app.util.CommonUtils.*;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.util.Map;
+import java.util.Set;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class RunJournal {
+  private String runId;
+  private String branchName;
+  private UpdateType updateType;
+  private boolean isPipeline;
+  private boolean isProcessSummaryRequired;
+  private RunStage runStage;
+  private Long prCreateRetryAtMillis;
+  // by repository name
+  private Map<String, RepoCheckpoint> repositories;
+
+  // ProcessUtils as of the last checkpoint
+  private Map<String, ProcessedRepository> processedRepositories;
+  private Set<String> repositoriesWithPrError;
+  private int mongoPluginsToUpdate;
+  private int mongoDependenciesToUpdate;
+  private int mongoPackagesToUpdate;
+  private int mongoNpmSkipsActive;
+  private int mongoCoordinatesDiscovered;
+  private boolean isErrorsOrExceptions;
+  private Map<String, Map<String, Long>> repoPhaseDurations;
+
+  private long startedAtMillis;
+  private long updatedAtMillis;
+
+  @Data
+  @Builder
+  @NoArgsConstructor
+  @AllArgsConstructor
+  @JsonInclude(JsonInclude.Include.NON_NULL)
+  @JsonIgnoreProperties(ignoreUnknown = true)
+  public static class RepoCheckpoint {
+    private RepoStage repoStage;
+    // same repository could be listed for more than one type
+    private Set<UpdateType> updatedTypes;
+    private long updatedAtMillis;
+  }
+}
@@ -0,0 +1,25 @@
+package app.dependency.update.app.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class UpdatePlanEntry {
+  private String repoName;
+  // path relative to the repository, eg: app/build.gradle
+  private String file;
+  private int lineNumber;
+  private String oldVersion;
+  private String newVersion;
+  // updated line, or removed line if nothing replaced it
+  private String line;
+}
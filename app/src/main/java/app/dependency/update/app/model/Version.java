@@ -0,0 +1,204 @@
+package app.dependency.update.app.model;
+
+import static app.dependency.update.app.util.CommonUtils.*;
+import static app.dependency.update.app.util.ConstantUtils.*;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+ Version parsed once into its numeric parts and qualifier, so that comparing does not allocate
+ eg: 1.2.3, v1.2.3, 2.0.0.RELEASE, 1.2.3-rc1, 33.0.0-jre, 8.10-SNAPSHOT
+ versions of up to 4 parts, each less than 65536, are also packed into a single long
+ immutable, so the same instance is shared from the cache
+*/
+public final class Version implements Comparable<Version> {
+  private static final Map<String, Version> versionCache = new ConcurrentHashMap<>();
+
+  // qualifier ranks, anything not known is considered a release, eg: jre, android, final
+  private static final int RANK_SNAPSHOT = 0;
+  private static final int RANK_ALPHA = 1;
+  private static final int RANK_BETA = 2;
+  private static final int RANK_MILESTONE = 3;
+  private static final int RANK_RC = 4;
+  private static final int RANK_RELEASE = 5;
+
+  private static final int PACKED_MAX_PARTS = 4;
+  private static final int PACKED_MAX_PART = 0xFFFF;
+
+  private final String raw;
+  private final int[] parts;
+  private final boolean isPacked;
+  private final long packed;
+  private final int qualifierRank;
+  private final int qualifierNumber;
+
+  private Version(final String raw) {
+    this.raw = raw;
+
+    int[] numbers = new int[8];
+    int count = 0;
+    int index = 0;
+    int length = raw.length();
+
+    // skip prefix, eg: v1.2.3
+    while (index < length && !Character.isDigit(raw.charAt(index))) {
+      index++;
+    }
+
+    while (index < length && Character.isDigit(raw.charAt(index))) {
+      long number = 0;
+      while (index < length && Character.isDigit(raw.charAt(index))) {
+        number = Math.min(number * 10 + (raw.charAt(index) - '0'), Integer.MAX_VALUE);
+        index++;
+      }
+      if (count == numbers.length) {
+        numbers = Arrays.copyOf(numbers, count * 2);
+      }
+      numbers[count++] = (int) number;
+
+      // continue only if the separator is followed by another number
+      if (index + 1 < length
+          && raw.charAt(index) == '.'
+          && Character.isDigit(raw.charAt(index + 1))) {
+        index++;
+      } else {
+        break;
+      }
+    }
+
+    // trailing zeros do not change the version, eg: 1.2 and 1.2.0 are the same
+    while (count > 0 && numbers[count - 1] == 0) {
+      count--;
+    }
+    this.parts = Arrays.copyOf(numbers, count);
+
+    boolean canPack = count <= PACKED_MAX_PARTS;
+    long packedParts = 0;
+    for (int i = 0; i < PACKED_MAX_PARTS && canPack; i++) {
+      int part = i < count ? this.parts[i] : 0;
+      if (part > PACKED_MAX_PART) {
+        canPack = false;
+      }
+      packedParts = (packedParts << 16) | part;
+    }
+    this.isPacked = canPack;
+    this.packed = canPack ? packedParts : 0;
+
+    String qualifier = raw.substring(index).toLowerCase(Locale.ROOT);
+    this.qualifierRank = getQualifierRank(qualifier);
+    this.qualifierNumber = this.qualifierRank == RANK_RELEASE ? 0 : getQualifierNumber(qualifier);
+  }
+
+  /**
+   * @param raw version text, eg: 1.2.3
+   * @return parsed version, same instance for the same text while it is in the cache
+   */
+  public static Version of(final String raw) {
+    Version version = versionCache.get(raw);
+    if (version == null) {
+      version = new Version(raw);
+      // keep the cache bounded, versions are cheap to parse again
+      if (versionCache.size() >= VERSION_CACHE_MAX_SIZE) {
+        evictVersionCache();
+      }
+      versionCache.put(raw, version);
+    }
+    return version;
+  }
+
+  // removes a quarter of the cache, the rest stays cached instead of parsing everything again
+  private static synchronized void evictVersionCache() {
+    int evictCount = versionCache.size() - VERSION_CACHE_MAX_SIZE * 3 / 4;
+    Iterator<String> iterator = versionCache.keySet().iterator();
+    while (evictCount-- > 0 && iterator.hasNext()) {
+      iterator.next();
+      iterator.remove();
+    }
+  }
+
+  public static boolean isRequiresUpdate(final String currentVersion, final String latestVersion) {
+    if (isEmpty(currentVersion) || isEmpty(latestVersion)) {
+      return false;
+    }
+    return of(latestVersion).compareTo(of(currentVersion)) > 0;
+  }
+
+  public static int compare(final String version1, final String version2) {
+    return of(version1).compareTo(of(version2));
+  }
+
+  @Override
+  public int compareTo(final Version other) {
+    int result =
+        this.isPacked && other.isPacked
+            ? Long.compareUnsigned(this.packed, other.packed)
+            : compareParts(this.parts, other.parts);
+    if (result != 0) {
+      return result;
+    }
+    result = Integer.compare(this.qualifierRank, other.qualifierRank);
+    if (result != 0) {
+      return result;
+    }
+    return Integer.compare(this.qualifierNumber, other.qualifierNumber);
+  }
+
+  @Override
+  public boolean equals(final Object other) {
+    return this == other || (other instanceof Version version && compareTo(version) == 0);
+  }
+
+  @Override
+  public int hashCode() {
+    return 31 * (31 * Arrays.hashCode(this.parts) + this.qualifierRank) + this.qualifierNumber;
+  }
+
+  @Override
+  public String toString() {
+    return this.raw;
+  }
+
+  private static int compareParts(final int[] parts1, final int[] parts2) {
+    int length = Math.max(parts1.length, parts2.length);
+    for (int i = 0; i < length; i++) {
+      int part1 = i < parts1.length ? parts1[i] : 0;
+      int part2 = i < parts2.length ? parts2[i] : 0;
+      if (part1 != part2) {
+        return Integer.compare(part1, part2);
+      }
+    }
+    return 0;
+  }
+
+  private static int getQualifierRank(final String qualifier) {
+    // qualifier starts after the separator, eg: -rc1, .RELEASE, beta2
+    String name = qualifier.replaceFirst("^[.\\-_+]", "").replaceFirst("[.\\-_]?\\d+.*$", "");
+    return switch (name) {
+      case "snapshot" -> RANK_SNAPSHOT;
+      case "alpha", "a", "dev" -> RANK_ALPHA;
+      case "beta", "b", "preview", "pre" -> RANK_BETA;
+      case "milestone", "m" -> RANK_MILESTONE;
+      case "rc", "cr" -> RANK_RC;
+      default -> name.endsWith("-snapshot") ? RANK_SNAPSHOT : RANK_RELEASE;
+    };
+  }
+
+  private static int getQualifierNumber(final String qualifier) {
+    int number = 0;
+    boolean isFound = false;
+    for (int i = 0; i < qualifier.length(); i++) {
+      char c = qualifier.charAt(i);
+      if (Character.isDigit(c)) {
+        number = Math.min(number * 10 + (c - '0'), Integer.MAX_VALUE / 10);
+        isFound = true;
+      } else if (isFound) {
+        break;
+      }
+    }
+    return number;
+  }
+}
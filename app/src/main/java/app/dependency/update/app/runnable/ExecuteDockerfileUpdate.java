@@ -5,7 +5,6 @@ import static app.dependency.update.app.util.ConstantUtils.DOCKER_JRE;
 import app.dependency.update.app.model.LatestVersionsModel;
 import app.dependency.update.app.model.Repository;
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
@@ -19,11 +18,15 @@ public class ExecuteDockerfileUpdate {
   private final Repository repository;
   private final LatestVersionsModel latestVersionsModel;
   private final Path dockerfilePath;
+  private final RepoFileWriter repoFileWriter;
 
   public ExecuteDockerfileUpdate(
-      final Repository repository, final LatestVersionsModel latestVersionsModel) {
+      final Repository repository,
+      final LatestVersionsModel latestVersionsModel,
+      final RepoFileWriter repoFileWriter) {
     this.repository = repository;
     this.latestVersionsModel = latestVersionsModel;
+    this.repoFileWriter = repoFileWriter;
     dockerfilePath = this.repository.getRepoPath().resolve("Dockerfile");
   }
 
@@ -45,7 +48,7 @@ public class ExecuteDockerfileUpdate {
     }
   }
 
-  private List<String> updateDockerfile(final List<String> dockerfileData) {
+  List<String> updateDockerfile(final List<String> dockerfileData) {
     if (CollectionUtils.isEmpty(dockerfileData)) {
       return dockerfileData;
     }
@@ -116,7 +119,7 @@ public class ExecuteDockerfileUpdate {
     }
 
     try {
-      Files.write(this.dockerfilePath, dockerfileData, StandardCharsets.UTF_8);
+      this.repoFileWriter.write(this.dockerfilePath, dockerfileData);
       return true;
     } catch (IOException ex) {
       log.error(
@@ -4,7 +4,6 @@ import app.dependency.update.app.model.LatestVersion;
 import app.dependency.update.app.model.Repository;
 import app.dependency.update.app.util.CommonUtils;
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Collections;
@@ -17,10 +16,15 @@ public class ExecuteGcpConfigsUpdate {
   private final Repository repository;
   private final LatestVersion latestVersion;
   private final Path yamlFilePath;
+  private final RepoFileWriter repoFileWriter;
 
-  public ExecuteGcpConfigsUpdate(final Repository repository, final LatestVersion latestVersion) {
+  public ExecuteGcpConfigsUpdate(
+      final Repository repository,
+      final LatestVersion latestVersion,
+      final RepoFileWriter repoFileWriter) {
     this.repository = repository;
     this.latestVersion = latestVersion;
+    this.repoFileWriter = repoFileWriter;
     yamlFilePath =
         repository.getType().equals(CommonUtils.UpdateType.PYTHON_DEPENDENCIES)
             ? this.repository.getRepoPath().resolve("app.yaml")
@@ -91,7 +95,7 @@ public class ExecuteGcpConfigsUpdate {
     }
 
     try {
-      Files.write(this.yamlFilePath, yamlData, StandardCharsets.UTF_8);
+      this.repoFileWriter.write(this.yamlFilePath, yamlData);
       return true;
     } catch (IOException ex) {
       log.error(
@@ -4,9 +4,8 @@ import static app.dependency.update.app.util.CommonUtils.getVersionMajorMinor;
 
 import app.dependency.update.app.model.LatestVersionsModel;
 import app.dependency.update.app.model.Repository;
-import app.dependency.update.app.util.CommonUtils;
+import app.dependency.update.app.model.Version;
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
@@ -26,11 +25,15 @@ public class ExecuteGithubWorkflowsUpdate {
   private final Repository repository;
   private final LatestVersionsModel latestVersionsModel;
   private final Path githubWorkflowsFolderPath;
+  private final RepoFileWriter repoFileWriter;
 
   public ExecuteGithubWorkflowsUpdate(
-      final Repository repository, final LatestVersionsModel latestVersionsModel) {
+      final Repository repository,
+      final LatestVersionsModel latestVersionsModel,
+      final RepoFileWriter repoFileWriter) {
     this.repository = repository;
     this.latestVersionsModel = latestVersionsModel;
+    this.repoFileWriter = repoFileWriter;
     githubWorkflowsFolderPath = this.repository.getRepoPath().resolve(".github");
   }
 
@@ -76,7 +79,7 @@ public class ExecuteGithubWorkflowsUpdate {
     }
   }
 
-  private List<String> updateGithubWorkflowFile(final List<String> githubWorkflowContent) {
+  List<String> updateGithubWorkflowFile(final List<String> githubWorkflowContent) {
     if (CollectionUtils.isEmpty(githubWorkflowContent)) {
       return githubWorkflowContent;
     }
@@ -267,7 +270,7 @@ public class ExecuteGithubWorkflowsUpdate {
         String lowestVersion =
             Arrays.stream(versions.split(","))
                 .map(String::trim)
-                .min(CommonUtils::compareVersions)
+                .min(Version::compare)
                 .orElse(null);
         if (StringUtils.hasText(lowestVersion)) {
           return lowestVersion;
@@ -285,7 +288,7 @@ public class ExecuteGithubWorkflowsUpdate {
     }
 
     try {
-      Files.write(githubWorkflowPath, githubWorkflowContent, StandardCharsets.UTF_8);
+      this.repoFileWriter.write(githubWorkflowPath, githubWorkflowContent);
       return true;
     } catch (IOException ex) {
       log.error(
@@ -11,28 +11,32 @@ import app.dependency.update.app.model.GradlePlugin;
 import app.dependency.update.app.model.LatestVersionsModel;
 import app.dependency.update.app.model.Repository;
 import app.dependency.update.app.model.ScriptFile;
+import app.dependency.update.app.model.Version;
 import app.dependency.update.app.model.entities.Dependencies;
 import app.dependency.update.app.model.entities.Plugins;
 import app.dependency.update.app.service.MongoRepoService;
+import app.dependency.update.app.service.RepoFingerprintService;
+import app.dependency.update.app.util.ExecutorUtils;
+import app.dependency.update.app.util.ProcessUtils;
+import app.dependency.update.app.util.RunJournalUtils;
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 import java.util.Optional;
-import java.util.regex.MatchResult;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-import java.util.stream.Stream;
+import java.util.Set;
+import java.util.concurrent.Future;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
-public class ExecuteGradleUpdate implements Runnable {
+public class ExecuteGradleUpdate implements Runnable, ExecuteRepositoryUpdate {
+  private static final String PLUGIN_KEY_PREFIX = "plugin:";
+  private static final String DEPENDENCY_KEY_PREFIX = "dependency:";
+
   private final String threadName;
   private final LatestVersionsModel latestVersionsModel;
   private final Repository repository;
@@ -41,7 +45,10 @@ public class ExecuteGradleUpdate implements Runnable {
   private final Map<String, Plugins> pluginsMap;
   private final Map<String, Dependencies> dependenciesMap;
   private final MongoRepoService mongoRepoService;
-  private Thread thread;
+  private final RepoFingerprintService repoFingerprintService;
+  private final RepoFileWriter repoFileWriter;
+  private final Map<String, String> relevantVersions = new HashMap<>();
+  private Future<?> future;
   private boolean isExecuteScriptRequired = false;
 
   public ExecuteGradleUpdate(
@@ -49,7 +56,9 @@ public class ExecuteGradleUpdate implements Runnable {
       final Repository repository,
       final ScriptFile scriptFile,
       final List<String> arguments,
-      final MongoRepoService mongoRepoService) {
+      final MongoRepoService mongoRepoService,
+      final RepoFingerprintService repoFingerprintService,
+      final RepoFileWriter repoFileWriter) {
     this.threadName = threadName(repository, this.getClass().getSimpleName());
     this.latestVersionsModel = latestVersionsModel;
     this.repository = repository;
@@ -58,54 +67,90 @@ public class ExecuteGradleUpdate implements Runnable {
     this.pluginsMap = mongoRepoService.pluginsMap();
     this.dependenciesMap = mongoRepoService.dependenciesMap();
     this.mongoRepoService = mongoRepoService;
+    this.repoFingerprintService = repoFingerprintService;
+    this.repoFileWriter = repoFileWriter;
   }
 
   @Override
   public void run() {
     executeGradleUpdate();
+    RunJournalUtils.updateRepoStage(
+        this.repository.getRepoName(), this.repository.getType(), RepoStage.UPDATED);
   }
 
-  public Thread start() {
-    if (this.thread == null) {
-      this.thread = new Thread(this, this.threadName);
-      this.thread.start();
+  public Future<?> start() {
+    if (this.future == null) {
+      this.future = ExecutorUtils.submit(this.threadName, this);
     }
-    return this.thread;
+    return this.future;
   }
 
   private void executeGradleUpdate() {
+    // file rewrites and script execution are limited separately
+    final boolean isExecuteScriptRequired =
+        ExecutorUtils.executeRewrite(
+            () ->
+                ProcessUtils.executeRepoPhase(
+                    this.repository.getRepoName(), RepoPhase.REWRITE, this::executeFilesUpdate));
+
+    if (isExecuteScriptRequired) {
+      executeScriptFile();
+    }
+  }
+
+  @Override
+  public void executeScriptFile() {
+    Future<?> executeFuture =
+        new ExecuteScriptFile(
+                threadName(repository, "-" + this.getClass().getSimpleName()),
+                // simple name used in thread name for current class already, so use "-"
+                this.scriptFile,
+                this.arguments)
+            .start();
+    ExecutorUtils.join(executeFuture);
+  }
+
+  @Override
+  public boolean executeFilesUpdate() {
+    if (this.repoFileWriter.isDryRun()) {
+      // a plan runs every rewriter, repositories are not skipped or remembered
+      return executeAllFilesUpdate();
+    }
+    return this.repoFingerprintService.executeFilesUpdateIfChanged(
+        this.repository,
+        this.latestVersionsModel,
+        this.relevantVersions,
+        this::getCurrentVersions,
+        this::executeAllFilesUpdate);
+  }
+
+  private boolean executeAllFilesUpdate() {
     executeBuildGradleUpdate();
     executeGradleWrapperUpdate();
 
     final boolean isGcpConfigUpdated =
         new ExecuteGcpConfigsUpdate(
-                this.repository, this.latestVersionsModel.getLatestVersionLanguages().getJava())
+                this.repository,
+                this.latestVersionsModel.getLatestVersionLanguages().getJava(),
+                this.repoFileWriter)
             .executeGcpConfigsUpdate();
     final boolean isDockerfileUpdated =
-        new ExecuteDockerfileUpdate(this.repository, this.latestVersionsModel)
+        new ExecuteDockerfileUpdate(this.repository, this.latestVersionsModel, this.repoFileWriter)
             .executeDockerfileUpdate();
     final boolean isGithubWorkflowsUpdated =
-        new ExecuteGithubWorkflowsUpdate(this.repository, this.latestVersionsModel)
+        new ExecuteGithubWorkflowsUpdate(
+                this.repository, this.latestVersionsModel, this.repoFileWriter)
             .executeGithubWorkflowsUpdate();
 
-    if (this.isExecuteScriptRequired
+    return this.isExecuteScriptRequired
         || isGcpConfigUpdated
         || isDockerfileUpdated
-        || isGithubWorkflowsUpdated) {
-      Thread executeThread =
-          new ExecuteScriptFile(
-                  threadName(repository, "-" + this.getClass().getSimpleName()),
-                  // simple name used in thread name for current class already, so use "-"
-                  this.scriptFile,
-                  this.arguments)
-              .start();
-      join(executeThread);
-    }
+        || isGithubWorkflowsUpdated;
   }
 
   private boolean writeToFile(final Path path, final List<String> content) {
     try {
-      Files.write(path, content, StandardCharsets.UTF_8);
+      this.repoFileWriter.write(path, content);
       return true;
     } catch (IOException ex) {
       log.error("Error Saving Updated File: [ {} ]", path, ex);
@@ -173,28 +218,7 @@ public class ExecuteGradleUpdate implements Runnable {
 
     try {
       List<String> allLines = Files.readAllLines(buildGradlePath);
-      GradleConfigBlock plugins = getPluginsBlock(allLines);
-      GradleConfigBlock dependencies = getDependenciesBlock(allLines, -1);
-
-      // there might be dependencies block inside buildscript block
-      GradleConfigBlock dependenciesBuildScript;
-      int dependenciesInBuildscriptBlock = getDependenciesBlockBuildscriptBeginPosition(allLines);
-      if (dependenciesInBuildscriptBlock > 0) {
-        dependenciesBuildScript = getDependenciesBlock(allLines, dependenciesInBuildscriptBlock);
-      } else {
-        dependenciesBuildScript =
-            GradleConfigBlock.builder()
-                .dependencies(new ArrayList<>())
-                .dependencies(new ArrayList<>())
-                .build();
-      }
-
-      return BuildGradleConfigs.builder()
-          .buildGradlePath(buildGradlePath)
-          .originals(allLines)
-          .plugins(plugins)
-          .dependencies(List.of(dependencies, dependenciesBuildScript))
-          .build();
+      return parseBuildGradle(buildGradlePath, allLines);
     } catch (IOException e) {
       log.error(
           "Error reading build.gradle: [ {} ] [ {} ]", this.repository.getRepoName(), gradleModule);
@@ -202,310 +226,35 @@ public class ExecuteGradleUpdate implements Runnable {
     return null;
   }
 
-  // suppressing sonarlint rule to not use more than break or continue statement
-  // suppressing sonarlint rule for cognitive complexity of method too high
-  @SuppressWarnings({"java:S135", "java:S3776"})
-  private GradleConfigBlock getPluginsBlock(final List<String> allLines) {
-    List<GradlePlugin> plugins = new ArrayList<>();
-    int pluginsBeginPosition = allLines.indexOf("plugins {");
-
-    if (pluginsBeginPosition >= 0) {
-      for (int i = pluginsBeginPosition + 1; i < allLines.size(); i++) {
-        final String plugin = allLines.get(i);
-        // check if this is the end of the block
-        if (plugin.equals("}") && isEndOfABlock(allLines, i + 1)) {
-          break;
-        }
-        // ignore comments, new lines and plugins that don't have version
-        if (leftTrim(plugin).startsWith("//") || !plugin.contains("version")) {
-          continue;
-        }
-        // Example:    id 'io.freefair.lombok' version '6.6.3'
-        String[] pluginArray = plugin.trim().split(" ");
-        if (pluginArray.length != 4) {
-          continue;
-        }
-        String group = "";
-        String version = "";
-
-        if (pluginArray[1].contains("'")) {
-          group = pluginArray[1].replace("'", "");
-        } else {
-          group = pluginArray[1].replace("\"", "");
-        }
-        if (pluginArray[3].contains("'")) {
-          version = pluginArray[3].replace("'", "");
-        } else {
-          version = pluginArray[3].replace("\"", "");
-        }
-        plugins.add(GradlePlugin.builder().original(plugin).group(group).version(version).build());
-      }
-    } else {
-      log.debug("No plugins in the project...");
-    }
-
-    return GradleConfigBlock.builder().plugins(plugins).build();
-  }
-
-  private int getDependenciesBlockBuildscriptBeginPosition(final List<String> allLines) {
-    int buildscriptBeginPosition = allLines.indexOf("buildscript {");
-    int dependenciesBeginPosition = -1;
-
-    if (buildscriptBeginPosition >= 0) {
-      for (int i = buildscriptBeginPosition + 1; i < allLines.size(); i++) {
-        String buildscript = allLines.get(i);
-        // check if this is the end of the block
-        if (buildscript.equals("}") && isEndOfABlock(allLines, i + 1)) {
-          break;
-        }
-        if (buildscript.contains("dependencies {")) {
-          dependenciesBeginPosition = i;
-          break;
-        }
-      }
-    }
-    return dependenciesBeginPosition;
+  BuildGradleConfigs parseBuildGradle(final Path buildGradlePath, final List<String> allLines) {
+    return new GradleBuildFileScanner(allLines).scan(buildGradlePath);
   }
 
-  // suppressing sonarlint rule for cognitive complexity of method too high
-  @SuppressWarnings("java:S3776")
-  private GradleConfigBlock getDependenciesBlock(
-      final List<String> allLines, final int buildscriptDependenciesBeginPosition) {
-    List<GradleDefinition> gradleDefinitions = new ArrayList<>();
-    List<GradleDependency> gradleDependencies = new ArrayList<>();
-
-    int dependenciesBeginPosition;
-    if (buildscriptDependenciesBeginPosition > 0) {
-      dependenciesBeginPosition = buildscriptDependenciesBeginPosition;
-    } else {
-      dependenciesBeginPosition = allLines.indexOf("dependencies {");
-    }
-
-    if (dependenciesBeginPosition >= 0) {
-      for (int i = dependenciesBeginPosition + 1; i < allLines.size(); i++) {
-        final String original = allLines.get(i);
-        // There is a chance `dependency` could be modified, so keep `original` untouched
-        String dependency = allLines.get(i);
-        // check if this is the end of the block
-        if (dependency.equals("}") && isEndOfABlock(allLines, i + 1)) {
-          break;
-        }
-        // Examples from mvnrepository - Gradle: #1, Gradle (Short): #2, Gradle (Kotlin): #3
-        // 1: implementation group: 'ch.qos.logback', name: 'logback-classic', version: '1.4.5'
-        // 2: implementation 'com.google.code.gson:gson:2.10.1'
-        // 3: implementation ('com.google.code.gson:gson:2.10.1')
-        // 4: testImplementation('org.springframework.boot:spring-boot-starter-test:2.3.0.RELEASE')
-        // 5: implementation('org.slf4j:slf4j-api') version set as strict or require or other
-        // 6: classpath 'org.postgresql:postgresql:42.1.3' (this is in buildscript block)
-        if (isDependencyDeclaration(leftTrim(dependency))) {
-          if (dependency.contains("(") && dependency.contains(")")) {
-            dependency = dependency.replace("(", " ").replace(")", " ");
-          }
-
-          GradleDependency gradleDependency = getGradleDependency(dependency, original);
-          if (gradleDependency != null) {
-            gradleDependencies.add(gradleDependency);
-          }
-        } else if (isDefinitionDeclaration(leftTrim(dependency))) {
-          GradleDefinition gradleDefinition = getGradleDefinition(dependency);
-          if (gradleDefinition != null) {
-            gradleDefinitions.add(gradleDefinition);
-          }
-        }
-      }
-    } else {
-      log.debug(
-          "No [buildscriptDependenciesBeginPosition={}] dependencies in the project...",
-          buildscriptDependenciesBeginPosition);
-    }
-
-    return GradleConfigBlock.builder()
-        .definitions(gradleDefinitions)
-        .dependencies(gradleDependencies)
-        .build();
-  }
-
-  private boolean isDependencyDeclaration(final String dependency) {
-    List<String> dependencyConfigurations =
-        Arrays.asList(
-            "api",
-            "compileOnlyApi",
-            "implementation",
-            "testImplementation",
-            "compileOnly",
-            "testCompileOnly",
-            "runtimeOnly",
-            "testRuntimeOnly",
-            "classpath");
-    return dependencyConfigurations.stream().anyMatch(dependency::startsWith);
-  }
-
-  private boolean isDefinitionDeclaration(final String dependency) {
-    return dependency.startsWith("def");
-  }
-
-  private GradleDependency getGradleDependency(final String dependency, final String original) {
-    // Get between `'` or `"`
-    Pattern pattern;
-    if (dependency.contains("'") && !dependency.contains("\"")) {
-      pattern = Pattern.compile(String.format(GRADLE_BUILD_DEPENDENCIES_REGEX, "'", "'"));
-    } else if (!dependency.contains("'") && dependency.contains("\"")) {
-      pattern = Pattern.compile(String.format(GRADLE_BUILD_DEPENDENCIES_REGEX, "\"", "\""));
-    } else {
-      return null;
-    }
-
-    Matcher matcher = pattern.matcher(dependency);
-    if (matcher.find()) {
-      String group = matcher.group();
-      if (group.contains(":")) {
-        // From above examples this matches - #2, #3 and #4
-        return getGradleDependency(group, null, original);
-      } else {
-        // From examples this matches - #1
-        Stream<MatchResult> matcherResultStream = matcher.results();
-        List<String> artifactVersion =
-            matcherResultStream
-                .map(
-                    matchResult -> {
-                      if (!matchResult.group().contains(",")) {
-                        return matchResult.group().trim();
-                      }
-                      return null;
-                    })
-                .filter(Objects::nonNull)
-                .toList();
-        return getGradleDependency(group, artifactVersion, original);
-      }
-    }
-
-    return null;
-  }
-
-  private GradleDependency getGradleDependency(
-      final String group, final List<String> artifactVersion, final String original) {
-    String[] dependencyArray;
-    if (artifactVersion == null) {
-      dependencyArray = group.split(":");
-    } else {
-      dependencyArray = (group + ":" + String.join(":", artifactVersion)).split(":");
-    }
-
-    if (dependencyArray.length == 3) {
-      return GradleDependency.builder()
-          .original(original)
-          .group(dependencyArray[0])
-          .artifact(dependencyArray[1])
-          .version(dependencyArray[2])
-          .build();
-    }
-
-    return null;
-  }
-
-  private GradleDefinition getGradleDefinition(final String dependency) {
-    Pattern pattern = Pattern.compile(String.format(GRADLE_BUILD_DEPENDENCIES_REGEX, "\"", "\""));
-    Matcher matcher = pattern.matcher(dependency);
-
-    if (matcher.find()) {
-      String value = matcher.group();
-      pattern = Pattern.compile(GRADLE_BUILD_DEFINITION_REGEX);
-      matcher = pattern.matcher(dependency);
-
-      if (matcher.find()) {
-        String defName = matcher.group();
-        String[] defNameArray = defName.split(" ");
-        if (defNameArray.length == 2) {
-          return GradleDefinition.builder()
-              .original(dependency)
-              .name(defNameArray[1])
-              .value(value)
-              .build();
-        }
-      }
-    }
-    return null;
-  }
-
-  private List<String> getJavaBlock(final List<String> allLines) {
-    List<String> javaLines = new ArrayList<>();
-    int javaBeginPosition = allLines.indexOf("java {");
-
-    if (javaBeginPosition >= 0) {
-      for (int i = javaBeginPosition + 1; i < allLines.size(); i++) {
-        String javaLine = allLines.get(i);
-        // check if this is the end of the block
-        if (javaLine.equals("}") && isEndOfABlock(allLines, i + 1)) {
-          break;
-        }
-        javaLines.add(javaLine);
-      }
-    }
-    return javaLines;
-  }
-
-  private boolean isEndOfABlock(final List<String> allLines, final int positionPlusOne) {
-    // assumption: only one empty line between blocks and at the end of file
-
-    // check 1: if this is the end of file and nothing exists after
-    if (isDoesNotExist(allLines, positionPlusOne)) {
-      return true;
-    }
-    // check 2: if this is the end of file and only next line is empty line
-    if (allLines.get(positionPlusOne).trim().isEmpty()
-        && isDoesNotExist(allLines, positionPlusOne + 1)) {
-      return true;
-    }
-    // check 3: check against end of super block (Eg: buildscript { dependencies {} })
-    if (allLines.get(positionPlusOne).trim().equals("}")) {
-      return true;
-    }
-    // check 4: check against beginning of another block (Eg: repositories {)
-    Pattern pattern = Pattern.compile(GRADLE_BUILD_BLOCK_END_REGEX);
-    Matcher matcher;
-    if (allLines.get(positionPlusOne).trim().isEmpty()) {
-      matcher = pattern.matcher(allLines.get(positionPlusOne + 1));
-    } else {
-      // though assumed, still check if there is no empty lines between blocks
-      matcher = pattern.matcher(allLines.get(positionPlusOne));
-    }
-    return matcher.find();
-  }
-
-  @SuppressWarnings("ResultOfMethodCallIgnored")
-  private boolean isDoesNotExist(final List<String> allLines, final int positionPlusOne) {
-    try {
-      allLines.get(positionPlusOne);
-      return false;
-    } catch (IndexOutOfBoundsException ignored) {
-      return true;
-    }
-  }
-
-  private List<String> modifyBuildGradle(final BuildGradleConfigs buildGradleConfigs) {
+  List<String> modifyBuildGradle(final BuildGradleConfigs buildGradleConfigs) {
     final List<String> originals = new ArrayList<>(buildGradleConfigs.getOriginals());
 
     final GradleConfigBlock pluginsBlock = buildGradleConfigs.getPlugins();
-    modifyPluginsBlock(pluginsBlock, originals);
+    boolean isModified = modifyPluginsBlock(pluginsBlock, originals);
 
     final List<GradleConfigBlock> dependenciesBlock = buildGradleConfigs.getDependencies();
     for (GradleConfigBlock dependencyBlock : dependenciesBlock) {
-      modifyDependenciesBlock(dependencyBlock, originals);
+      isModified = modifyDependenciesBlock(dependencyBlock, originals) || isModified;
     }
 
-    modifyJavaBlock(originals);
+    isModified = modifyJavaBlock(buildGradleConfigs, originals) || isModified;
 
-    if (originals.equals(buildGradleConfigs.getOriginals())) {
-      return Collections.emptyList();
-    } else {
+    if (isModified) {
       return originals;
+    } else {
+      return Collections.emptyList();
     }
   }
 
   // suppressing sonarlint rule for cognitive complexity of method too high
   @SuppressWarnings("java:S3776")
-  private void modifyPluginsBlock(
+  private boolean modifyPluginsBlock(
       final GradleConfigBlock pluginsBlock, final List<String> originals) {
+    boolean isModified = false;
     List<String> updatedPlugins = new ArrayList<>();
     if (pluginsBlock != null && !pluginsBlock.getPlugins().isEmpty()) {
       for (final GradlePlugin gradlePlugin : pluginsBlock.getPlugins()) {
@@ -530,30 +279,28 @@ public class ExecuteGradleUpdate implements Runnable {
             String updatedOriginal = modifyPlugin(modifiedGradlePlugin, gradleDefinition);
 
             if (updatedOriginal != null) {
-              int index = originals.indexOf(gradleDefinition.getOriginal());
-              if (index >= 0) {
-                originals.set(index, updatedOriginal);
-                updatedPlugins.add(definitionName);
-              }
+              originals.set(gradleDefinition.getLineIndex(), updatedOriginal);
+              updatedPlugins.add(definitionName);
+              isModified = true;
             }
           }
         } else {
           String updatedOriginal = modifyPlugin(gradlePlugin, null);
           if (updatedOriginal != null) {
-            int index = originals.indexOf(gradlePlugin.getOriginal());
-            if (index >= 0) {
-              originals.set(index, updatedOriginal);
-            }
+            originals.set(gradlePlugin.getLineIndex(), updatedOriginal);
+            isModified = true;
           }
         }
       }
     }
+    return isModified;
   }
 
   // suppressing sonarlint rule for cognitive complexity of method too high
   @SuppressWarnings("java:S3776")
-  private void modifyDependenciesBlock(
+  private boolean modifyDependenciesBlock(
       final GradleConfigBlock dependenciesBlock, final List<String> originals) {
+    boolean isModified = false;
     List<String> updatedDefinitions = new ArrayList<>();
     if (dependenciesBlock != null && !dependenciesBlock.getDependencies().isEmpty()) {
       for (final GradleDependency gradleDependency : dependenciesBlock.getDependencies()) {
@@ -582,24 +329,21 @@ public class ExecuteGradleUpdate implements Runnable {
             String updatedOriginal = modifyDependency(modifiedGradleDependency, gradleDefinition);
 
             if (updatedOriginal != null) {
-              int index = originals.indexOf(gradleDefinition.getOriginal());
-              if (index >= 0) {
-                originals.set(index, updatedOriginal);
-                updatedDefinitions.add(definitionName);
-              }
+              originals.set(gradleDefinition.getLineIndex(), updatedOriginal);
+              updatedDefinitions.add(definitionName);
+              isModified = true;
             }
           }
         } else {
           String updatedOriginal = modifyDependency(gradleDependency, null);
           if (updatedOriginal != null) {
-            int index = originals.indexOf(gradleDependency.getOriginal());
-            if (index >= 0) {
-              originals.set(index, updatedOriginal);
-            }
+            originals.set(gradleDependency.getLineIndex(), updatedOriginal);
+            isModified = true;
           }
         }
       }
     }
+    return isModified;
   }
 
   private String modifyPlugin(
@@ -614,11 +358,9 @@ public class ExecuteGradleUpdate implements Runnable {
       mongoRepoService.savePlugin(group, gradlePlugin.getVersion());
     }
 
-    String latestVersion = "";
-    if (plugin != null && !plugin.isSkipVersion()) {
-      latestVersion = plugin.getVersion();
-    }
-    if (isRequiresUpdate(gradlePlugin.getVersion(), latestVersion)) {
+    String latestVersion = getLatestPluginVersion(group);
+    this.relevantVersions.put(PLUGIN_KEY_PREFIX + group, latestVersion);
+    if (Version.isRequiresUpdate(gradlePlugin.getVersion(), latestVersion)) {
       return gradleDefinition == null
           ? gradlePlugin.getOriginal().replace(gradlePlugin.getVersion(), latestVersion)
           : gradleDefinition.getOriginal().replace(gradleDefinition.getValue(), latestVersion);
@@ -639,11 +381,9 @@ public class ExecuteGradleUpdate implements Runnable {
       mongoRepoService.saveDependency(mavenId, gradleDependency.getVersion());
     }
 
-    String latestVersion = "";
-    if (dependency != null && !dependency.isSkipVersion()) {
-      latestVersion = dependency.getLatestVersion();
-    }
-    if (isRequiresUpdate(gradleDependency.getVersion(), latestVersion)) {
+    String latestVersion = getLatestDependencyVersion(mavenId);
+    this.relevantVersions.put(DEPENDENCY_KEY_PREFIX + mavenId, latestVersion);
+    if (Version.isRequiresUpdate(gradleDependency.getVersion(), latestVersion)) {
       return gradleDefinition == null
           ? gradleDependency.getOriginal().replace(gradleDependency.getVersion(), latestVersion)
           : gradleDefinition.getOriginal().replace(gradleDefinition.getValue(), latestVersion);
@@ -652,15 +392,46 @@ public class ExecuteGradleUpdate implements Runnable {
     return null;
   }
 
-  private void modifyJavaBlock(final List<String> originals) {
+  private String getLatestPluginVersion(final String group) {
+    Plugins plugin = this.pluginsMap.get(group);
+    if (plugin != null && !plugin.isSkipVersion()) {
+      return plugin.getVersion();
+    }
+    return "";
+  }
+
+  private String getLatestDependencyVersion(final String mavenId) {
+    Dependencies dependency = this.dependenciesMap.get(mavenId);
+    if (dependency != null && !dependency.isSkipVersion()) {
+      return dependency.getLatestVersion();
+    }
+    return "";
+  }
+
+  private Map<String, String> getCurrentVersions(final Set<String> keys) {
+    Map<String, String> currentVersions = new HashMap<>();
+    for (String key : keys) {
+      if (key.startsWith(PLUGIN_KEY_PREFIX)) {
+        currentVersions.put(
+            key, getLatestPluginVersion(key.substring(PLUGIN_KEY_PREFIX.length())));
+      } else if (key.startsWith(DEPENDENCY_KEY_PREFIX)) {
+        currentVersions.put(
+            key, getLatestDependencyVersion(key.substring(DEPENDENCY_KEY_PREFIX.length())));
+      }
+    }
+    return currentVersions;
+  }
+
+  private boolean modifyJavaBlock(
+      final BuildGradleConfigs buildGradleConfigs, final List<String> originals) {
     final String latestJavaVersionMajor =
         this.latestVersionsModel.getLatestVersionLanguages().getJava().getVersionMajor();
-    final String currentJavaVersionMajor = extractOldVersion(originals, latestJavaVersionMajor);
+    final String currentJavaVersionMajor = buildGradleConfigs.getJavaVersion();
 
-    if (currentJavaVersionMajor.equals(latestJavaVersionMajor)) {
-      return;
+    if (currentJavaVersionMajor == null || currentJavaVersionMajor.equals(latestJavaVersionMajor)) {
+      return false;
     } else if (parseIntSafe(currentJavaVersionMajor) >= parseIntSafe(latestJavaVersionMajor)) {
-      return;
+      return false;
     }
 
     String oldVersionString = "JavaVersion.VERSION_" + currentJavaVersionMajor;
@@ -668,35 +439,19 @@ public class ExecuteGradleUpdate implements Runnable {
     String oldOfString = "JavaLanguageVersion.of(" + currentJavaVersionMajor + ")";
     String newOfString = "JavaLanguageVersion.of(" + latestJavaVersionMajor + ")";
 
-    for (int i = 0; i < originals.size(); i++) {
+    boolean isModified = false;
+    // only the lines where java version was found when reading the file
+    for (int i : buildGradleConfigs.getJavaVersionLines()) {
       String line = originals.get(i);
       if (line.contains(oldVersionString)) {
-        line = line.replace(oldVersionString, newVersionString);
-        originals.set(i, line);
+        originals.set(i, line.replace(oldVersionString, newVersionString));
+        isModified = true;
       } else if (line.contains(oldOfString)) {
-        line = line.replace(oldOfString, newOfString);
-        originals.set(i, line);
+        originals.set(i, line.replace(oldOfString, newOfString));
+        isModified = true;
       }
     }
-  }
-
-  private String extractOldVersion(
-      final List<String> javaLines, final String latestJavaVersionMajor) {
-    for (String line : javaLines) {
-      // Match "VERSION_X"
-      Matcher versionMatcher = Pattern.compile(GRADLE_JAVA_VERSION_REGEX_1).matcher(line);
-      if (versionMatcher.find()) {
-        return versionMatcher.group(1);
-      }
-
-      // Match "of(X)"
-      Matcher ofMatcher = Pattern.compile(GRADLE_JAVA_VERSION_REGEX_2).matcher(line);
-      if (ofMatcher.find()) {
-        return ofMatcher.group(1);
-      }
-    }
-
-    return latestJavaVersionMajor;
+    return isModified;
   }
 
   /*
@@ -706,7 +461,7 @@ public class ExecuteGradleUpdate implements Runnable {
   private void executeGradleWrapperUpdate() {
     // this check is done when repository object is created
     // adding here as backup
-    if (!isRequiresUpdate(
+    if (!Version.isRequiresUpdate(
         this.repository.getCurrentGradleVersion(),
         this.latestVersionsModel.getLatestVersionTools().getGradle().getVersionFull())) {
       return;
@@ -763,14 +518,4 @@ public class ExecuteGradleUpdate implements Runnable {
     log.debug("Writing to gradle-wrapper.properties file: [ {} ]", gradleWrapperPropertiesPath);
     return writeToFile(gradleWrapperPropertiesPath, gradleWrapperPropertiesContent);
   }
-
-  // suppressing sonarlint rule for interrupting thread
-  @SuppressWarnings("java:S2142")
-  private void join(final Thread thread) {
-    try {
-      thread.join();
-    } catch (InterruptedException ex) {
-      log.error("Exception Join Thread", ex);
-    }
-  }
 }
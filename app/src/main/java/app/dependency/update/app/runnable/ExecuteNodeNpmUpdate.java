@@ -6,68 +6,154 @@ import static app.dependency.update.app.util.ConstantUtils.*;
 import app.dependency.update.app.model.LatestVersionsModel;
 import app.dependency.update.app.model.Repository;
 import app.dependency.update.app.model.ScriptFile;
+import app.dependency.update.app.model.Version;
+import app.dependency.update.app.service.NpmRepoService;
+import app.dependency.update.app.service.RepoFingerprintService;
+import app.dependency.update.app.util.ExecutorUtils;
+import app.dependency.update.app.util.ProcessUtils;
+import app.dependency.update.app.util.RunJournalUtils;
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Future;
+import java.util.function.ObjIntConsumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
-public class ExecuteNodeNpmUpdate implements Runnable {
+public class ExecuteNodeNpmUpdate implements Runnable, ExecuteRepositoryUpdate {
+  private static final Pattern DEPENDENCIES_BLOCK_PATTERN =
+      Pattern.compile(PACKAGE_JSON_DEPENDENCIES_BLOCK_REGEX);
+  private static final Pattern DEPENDENCY_PATTERN = Pattern.compile(PACKAGE_JSON_DEPENDENCY_REGEX);
+  private static final String NPM_SKIP_VERSION = "skip";
+
   private final String threadName;
   private final LatestVersionsModel latestVersionsModel;
   private final Repository repository;
   private final ScriptFile scriptFile;
   private final List<String> arguments;
-  private Thread thread;
+  private final NpmRepoService npmRepoService;
+  private final Set<String> npmSkips;
+  private final RepoFingerprintService repoFingerprintService;
+  private final RepoFileWriter repoFileWriter;
+  private final Map<String, String> relevantVersions = new HashMap<>();
+  private Future<?> future;
+  private boolean isExecuteScriptRequired = false;
 
   public ExecuteNodeNpmUpdate(
       final LatestVersionsModel latestVersionsModel,
       final Repository repository,
       final ScriptFile scriptFile,
-      final List<String> arguments) {
+      final List<String> arguments,
+      final NpmRepoService npmRepoService,
+      final Set<String> npmSkips,
+      final RepoFingerprintService repoFingerprintService,
+      final RepoFileWriter repoFileWriter) {
     this.threadName = threadName(repository, this.getClass().getSimpleName());
     this.latestVersionsModel = latestVersionsModel;
     this.repository = repository;
     this.scriptFile = scriptFile;
     this.arguments = arguments;
+    this.npmRepoService = npmRepoService;
+    this.npmSkips = npmSkips;
+    this.repoFingerprintService = repoFingerprintService;
+    this.repoFileWriter = repoFileWriter;
   }
 
   @Override
   public void run() {
     executeNodeUpdate();
+    RunJournalUtils.updateRepoStage(
+        this.repository.getRepoName(), this.repository.getType(), RepoStage.UPDATED);
   }
 
-  public Thread start() {
-    if (this.thread == null) {
-      this.thread = new Thread(this, this.threadName);
-      this.thread.start();
+  public Future<?> start() {
+    if (this.future == null) {
+      this.future = ExecutorUtils.submit(this.threadName, this);
     }
-    return this.thread;
+    return this.future;
   }
 
   private void executeNodeUpdate() {
-    executePackageJsonUpdate();
+    resolveVersions();
+    // file rewrites and script execution are limited separately
+    final boolean isExecuteScriptRequired =
+        ExecutorUtils.executeRewrite(
+            () ->
+                ProcessUtils.executeRepoPhase(
+                    this.repository.getRepoName(), RepoPhase.REWRITE, this::executeFilesUpdate));
+
+    if (isExecuteScriptRequired) {
+      executeScriptFile();
+    }
+  }
 
-    new ExecuteGcpConfigsUpdate(
-            this.repository, this.latestVersionsModel.getLatestVersionLanguages().getNode())
-        .executeGcpConfigsUpdate();
-    new ExecuteDockerfileUpdate(this.repository, this.latestVersionsModel)
-        .executeDockerfileUpdate();
-    new ExecuteGithubWorkflowsUpdate(this.repository, this.latestVersionsModel)
-        .executeGithubWorkflowsUpdate();
+  @Override
+  public void resolveVersions() {
+    // looked up versions are kept by npm repo service, so the files update only reads them
+    final List<String> packageJsonContent = readFromFile(getPackageJsonPath());
+    final Set<String> names = new HashSet<>();
+    forEachDependency(packageJsonContent, (name, lineIndex) -> names.add(name));
+    if (!names.isEmpty()) {
+      this.npmRepoService.getLatestPackageVersions(names);
+    }
+  }
 
-    Thread executeThread =
+  @Override
+  public void executeScriptFile() {
+    Future<?> executeFuture =
         new ExecuteScriptFile(
                 threadName(repository, "-" + this.getClass().getSimpleName()),
                 // simple name used in thread name for current class already, so use "-"
                 this.scriptFile,
                 this.arguments)
             .start();
-    join(executeThread);
+    ExecutorUtils.join(executeFuture);
+  }
+
+  @Override
+  public boolean executeFilesUpdate() {
+    if (this.repoFileWriter.isDryRun()) {
+      // a plan runs every rewriter, repositories are not skipped or remembered
+      return executeAllFilesUpdate();
+    }
+    return this.repoFingerprintService.executeFilesUpdateIfChanged(
+        this.repository,
+        this.latestVersionsModel,
+        this.relevantVersions,
+        this::getCurrentVersions,
+        this::executeAllFilesUpdate);
+  }
+
+  private boolean executeAllFilesUpdate() {
+    executePackageJsonUpdate();
+
+    final boolean isGcpConfigUpdated =
+        new ExecuteGcpConfigsUpdate(
+                this.repository,
+                this.latestVersionsModel.getLatestVersionLanguages().getNode(),
+                this.repoFileWriter)
+            .executeGcpConfigsUpdate();
+    final boolean isDockerfileUpdated =
+        new ExecuteDockerfileUpdate(this.repository, this.latestVersionsModel, this.repoFileWriter)
+            .executeDockerfileUpdate();
+    final boolean isGithubWorkflowsUpdated =
+        new ExecuteGithubWorkflowsUpdate(
+                this.repository, this.latestVersionsModel, this.repoFileWriter)
+            .executeGithubWorkflowsUpdate();
+
+    return this.isExecuteScriptRequired
+        || isGcpConfigUpdated
+        || isDockerfileUpdated
+        || isGithubWorkflowsUpdated;
   }
 
   private List<String> readFromFile(final Path path) {
@@ -81,56 +167,143 @@ public class ExecuteNodeNpmUpdate implements Runnable {
 
   private void writeToFile(final Path path, final List<String> content) {
     try {
-      Files.write(path, content, StandardCharsets.UTF_8);
+      this.repoFileWriter.write(path, content);
+      this.isExecuteScriptRequired = true;
     } catch (IOException ex) {
       log.error("Error Saving Updated File: [ {} ]", path, ex);
     }
   }
 
+  private Path getPackageJsonPath() {
+    return Path.of(
+        this.repository.getRepoPath().toString().concat(PATH_DELIMITER).concat(PACKAGE_JSON));
+  }
+
   private void executePackageJsonUpdate() {
-    final Path packageJsonPath =
-        Path.of(
-            this.repository.getRepoPath().toString().concat(PATH_DELIMITER).concat(PACKAGE_JSON));
+    final Path packageJsonPath = getPackageJsonPath();
     List<String> packageJsonContent = readFromFile(packageJsonPath);
 
     if (packageJsonContent.isEmpty()) {
       log.error("Package Json Content is empty: [ {} ]", this.repository.getRepoName());
     } else {
-      modifyPyProjectToml(packageJsonPath, packageJsonContent);
+      modifyPackageJson(packageJsonPath, packageJsonContent);
     }
   }
 
-  private void modifyPyProjectToml(
+  private void modifyPackageJson(
       final Path packageJsonPath, final List<String> packageJsonContent) {
+    List<String> updatedPackageJsonContent = new ArrayList<>(packageJsonContent);
+    boolean isUpdated = modifyNodeInEngineBlock(updatedPackageJsonContent);
+    isUpdated = modifyDependencies(updatedPackageJsonContent) || isUpdated;
+
+    if (isUpdated) { // NOSONAR
+      writeToFile(packageJsonPath, updatedPackageJsonContent);
+    }
+  }
+
+  private boolean modifyNodeInEngineBlock(final List<String> packageJsonContent) {
     boolean isUpdated = false;
-    List<String> updatedPackageJsonContent = new ArrayList<>();
 
-    for (int i = 0; i < packageJsonContent.size(); i++) {
+    for (int i = 1; i < packageJsonContent.size(); i++) {
       String currentLine = packageJsonContent.get(i);
-      String previousLine = "";
-      if (i - 1 >= 0) {
-        previousLine = packageJsonContent.get(i - 1);
+      String previousLine = packageJsonContent.get(i - 1);
+
+      if (!previousLine.isEmpty()
+          && currentLine.contains("node")
+          && previousLine.contains("engines")) {
+        String updatedCurrentLine = updateNodeInEngineBlock(currentLine);
+        if (!updatedCurrentLine.equals(currentLine)) {
+          packageJsonContent.set(i, updatedCurrentLine);
+          isUpdated = true;
+        }
       }
+    }
+
+    return isUpdated;
+  }
+
+  // calls the consumer with line index and name of each dependency that is not skipped
+  private void forEachDependency(
+      final List<String> packageJsonContent, final ObjIntConsumer<String> dependencyConsumer) {
+    // Example: "react": "^18.2.0"
+    final Matcher dependenciesBlockMatcher = DEPENDENCIES_BLOCK_PATTERN.matcher("");
+    final Matcher dependencyMatcher = DEPENDENCY_PATTERN.matcher("");
+    boolean isDependenciesBlock = false;
 
-      if (previousLine.isEmpty()) {
-        updatedPackageJsonContent.add(currentLine);
-        continue;
+    for (int i = 0; i < packageJsonContent.size(); i++) {
+      String line = packageJsonContent.get(i);
+      if (!isDependenciesBlock) {
+        isDependenciesBlock = dependenciesBlockMatcher.reset(line).matches();
+      } else if (line.trim().startsWith("}")) {
+        isDependenciesBlock = false;
+      } else if (dependencyMatcher.reset(line).matches()) {
+        String name = dependencyMatcher.group(1);
+        if (this.npmSkips.contains(name)) {
+          log.debug("Npm Skip: [ {} ] in [ {} ]", name, this.repository.getRepoName());
+          this.relevantVersions.put(name, NPM_SKIP_VERSION);
+        } else {
+          dependencyConsumer.accept(name, i);
+        }
       }
+    }
+  }
 
-      if (currentLine.contains("node") && previousLine.contains("engines")) {
-        String updatedCurrentLine = updateNodeInEngineBlock(currentLine);
-        if (!updatedCurrentLine.equals(currentLine)) {
+  private boolean modifyDependencies(final List<String> packageJsonContent) {
+    // only exact, ^ and ~ versions are updated
+    final Matcher dependencyMatcher = DEPENDENCY_PATTERN.matcher("");
+    final List<Integer> dependencyLines = new ArrayList<>();
+    final Set<String> names = new HashSet<>();
+    forEachDependency(
+        packageJsonContent,
+        (name, lineIndex) -> {
+          dependencyLines.add(lineIndex);
+          names.add(name);
+        });
+
+    if (names.isEmpty()) {
+      return false;
+    }
+
+    boolean isUpdated = false;
+    final Map<String, String> latestVersions = this.npmRepoService.getLatestPackageVersions(names);
+    names.forEach(name -> this.relevantVersions.put(name, latestVersions.getOrDefault(name, "")));
+    for (int i : dependencyLines) {
+      String line = packageJsonContent.get(i);
+      if (dependencyMatcher.reset(line).matches()) {
+        String currentVersion = dependencyMatcher.group(2);
+        String latestVersion = latestVersions.get(dependencyMatcher.group(1));
+
+        if (Version.isRequiresUpdate(currentVersion, latestVersion)) {
+          // keep the ^ or ~ prefix and everything else in the line as is
+          packageJsonContent.set(
+              i,
+              line.substring(0, dependencyMatcher.start(2))
+                  + latestVersion
+                  + line.substring(dependencyMatcher.end(2)));
           isUpdated = true;
         }
-        updatedPackageJsonContent.add(updatedCurrentLine);
-      } else {
-        updatedPackageJsonContent.add(currentLine);
       }
     }
 
-    if (isUpdated) { // NOSONAR
-      writeToFile(packageJsonPath, updatedPackageJsonContent);
+    return isUpdated;
+  }
+
+  private Map<String, String> getCurrentVersions(final Set<String> names) {
+    Map<String, String> currentVersions = new HashMap<>();
+    Set<String> lookupNames = new HashSet<>();
+    for (String name : names) {
+      if (this.npmSkips.contains(name)) {
+        currentVersions.put(name, NPM_SKIP_VERSION);
+      } else {
+        lookupNames.add(name);
+      }
     }
+    if (!lookupNames.isEmpty()) {
+      final Map<String, String> latestVersions =
+          this.npmRepoService.getLatestPackageVersions(lookupNames);
+      lookupNames.forEach(name -> currentVersions.put(name, latestVersions.getOrDefault(name, "")));
+    }
+    return currentVersions;
   }
 
   private String updateNodeInEngineBlock(final String currentLine) {
@@ -150,14 +323,4 @@ public class ExecuteNodeNpmUpdate implements Runnable {
 
     return currentLine;
   }
-
-  // suppressing sonarlint rule for interrupting thread
-  @SuppressWarnings("java:S2142")
-  private void join(final Thread thread) {
-    try {
-      thread.join();
-    } catch (InterruptedException ex) {
-      log.error("Exception Join Thread", ex);
-    }
-  }
 }
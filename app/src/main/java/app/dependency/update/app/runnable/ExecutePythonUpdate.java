@@ -6,22 +6,29 @@ import static app.dependency.update.app.util.ConstantUtils.*;
 import app.dependency.update.app.model.LatestVersionsModel;
 import app.dependency.update.app.model.Repository;
 import app.dependency.update.app.model.ScriptFile;
+import app.dependency.update.app.model.Version;
 import app.dependency.update.app.model.entities.Packages;
 import app.dependency.update.app.service.MongoRepoService;
+import app.dependency.update.app.service.RepoFingerprintService;
+import app.dependency.update.app.util.ExecutorUtils;
+import app.dependency.update.app.util.ProcessUtils;
+import app.dependency.update.app.util.RunJournalUtils;
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Future;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
-public class ExecutePythonUpdate implements Runnable {
+public class ExecutePythonUpdate implements Runnable, ExecuteRepositoryUpdate {
   private final String threadName;
   private final LatestVersionsModel latestVersionsModel;
   private final Repository repository;
@@ -29,7 +36,10 @@ public class ExecutePythonUpdate implements Runnable {
   private final List<String> arguments;
   private final Map<String, Packages> packagesMap;
   private final MongoRepoService mongoRepoService;
-  private Thread thread;
+  private final RepoFingerprintService repoFingerprintService;
+  private final RepoFileWriter repoFileWriter;
+  private final Map<String, String> relevantVersions = new HashMap<>();
+  private Future<?> future;
   private boolean isExecuteScriptRequired = false;
 
   public ExecutePythonUpdate(
@@ -37,7 +47,9 @@ public class ExecutePythonUpdate implements Runnable {
       final Repository repository,
       final ScriptFile scriptFile,
       final List<String> arguments,
-      final MongoRepoService mongoRepoService) {
+      final MongoRepoService mongoRepoService,
+      final RepoFingerprintService repoFingerprintService,
+      final RepoFileWriter repoFileWriter) {
     this.threadName = threadName(repository, this.getClass().getSimpleName());
     this.latestVersionsModel = latestVersionsModel;
     this.repository = repository;
@@ -45,49 +57,85 @@ public class ExecutePythonUpdate implements Runnable {
     this.arguments = arguments;
     this.packagesMap = mongoRepoService.packagesMap();
     this.mongoRepoService = mongoRepoService;
+    this.repoFingerprintService = repoFingerprintService;
+    this.repoFileWriter = repoFileWriter;
   }
 
   @Override
   public void run() {
     executePythonUpdate();
+    RunJournalUtils.updateRepoStage(
+        this.repository.getRepoName(), this.repository.getType(), RepoStage.UPDATED);
   }
 
-  public Thread start() {
-    if (this.thread == null) {
-      this.thread = new Thread(this, this.threadName);
-      this.thread.start();
+  public Future<?> start() {
+    if (this.future == null) {
+      this.future = ExecutorUtils.submit(this.threadName, this);
     }
-    return this.thread;
+    return this.future;
   }
 
   private void executePythonUpdate() {
+    // file rewrites and script execution are limited separately
+    final boolean isExecuteScriptRequired =
+        ExecutorUtils.executeRewrite(
+            () ->
+                ProcessUtils.executeRepoPhase(
+                    this.repository.getRepoName(), RepoPhase.REWRITE, this::executeFilesUpdate));
+
+    if (isExecuteScriptRequired) {
+      executeScriptFile();
+    }
+  }
+
+  @Override
+  public void executeScriptFile() {
+    Future<?> executeFuture =
+        new ExecuteScriptFile(
+                threadName(repository, "-" + this.getClass().getSimpleName()),
+                // simple name used in thread name for current class already, so use "-"
+                this.scriptFile,
+                this.arguments)
+            .start();
+    ExecutorUtils.join(executeFuture);
+  }
+
+  @Override
+  public boolean executeFilesUpdate() {
+    if (this.repoFileWriter.isDryRun()) {
+      // a plan runs every rewriter, repositories are not skipped or remembered
+      return executeAllFilesUpdate();
+    }
+    return this.repoFingerprintService.executeFilesUpdateIfChanged(
+        this.repository,
+        this.latestVersionsModel,
+        this.relevantVersions,
+        this::getCurrentVersions,
+        this::executeAllFilesUpdate);
+  }
+
+  private boolean executeAllFilesUpdate() {
     executePyProjectTomlUpdate();
     executeRequirementsTxtUpdate();
 
     final boolean isGcpConfigUpdated =
         new ExecuteGcpConfigsUpdate(
-                this.repository, this.latestVersionsModel.getLatestVersionLanguages().getPython())
+                this.repository,
+                this.latestVersionsModel.getLatestVersionLanguages().getPython(),
+                this.repoFileWriter)
             .executeGcpConfigsUpdate();
     final boolean isDockerfileUpdated =
-        new ExecuteDockerfileUpdate(this.repository, this.latestVersionsModel)
+        new ExecuteDockerfileUpdate(this.repository, this.latestVersionsModel, this.repoFileWriter)
             .executeDockerfileUpdate();
     final boolean isGithubWorkflowsUpdated =
-        new ExecuteGithubWorkflowsUpdate(this.repository, this.latestVersionsModel)
+        new ExecuteGithubWorkflowsUpdate(
+                this.repository, this.latestVersionsModel, this.repoFileWriter)
             .executeGithubWorkflowsUpdate();
 
-    if (this.isExecuteScriptRequired
+    return this.isExecuteScriptRequired
         || isGcpConfigUpdated
         || isDockerfileUpdated
-        || isGithubWorkflowsUpdated) {
-      Thread executeThread =
-          new ExecuteScriptFile(
-                  threadName(repository, "-" + this.getClass().getSimpleName()),
-                  // simple name used in thread name for current class already, so use "-"
-                  this.scriptFile,
-                  this.arguments)
-              .start();
-      join(executeThread);
-    }
+        || isGithubWorkflowsUpdated;
   }
 
   private List<String> readFromFile(final Path path) {
@@ -101,7 +149,7 @@ public class ExecutePythonUpdate implements Runnable {
 
   private void writeToFile(final Path path, final List<String> content) {
     try {
-      Files.write(path, content, StandardCharsets.UTF_8);
+      this.repoFileWriter.write(path, content);
       this.isExecuteScriptRequired = true;
     } catch (IOException ex) {
       log.error("Error Saving Updated File: [ {} ]", path, ex);
@@ -150,7 +198,7 @@ public class ExecutePythonUpdate implements Runnable {
     }
   }
 
-  private String updateRequirement(final String requirement) {
+  String updateRequirement(final String requirement) {
     // ignore commented out lines
     if (requirement.startsWith("#")) {
       return requirement;
@@ -175,12 +223,10 @@ public class ExecutePythonUpdate implements Runnable {
         mongoRepoService.savePackage(name, version);
       }
 
-      String latestVersion = "";
-      if (onePackage != null && !onePackage.isSkipVersion()) {
-        latestVersion = onePackage.getVersion();
-      }
+      String latestVersion = getLatestPackageVersion(name);
+      this.relevantVersions.put(name, latestVersion);
 
-      if (isRequiresUpdate(version, latestVersion)) {
+      if (Version.isRequiresUpdate(version, latestVersion)) {
         updatedLine = updatedLine.replace(version, latestVersion);
       }
     } else {
@@ -323,12 +369,10 @@ public class ExecutePythonUpdate implements Runnable {
           mongoRepoService.savePackage(name, version);
         }
 
-        String latestVersion = "";
-        if (onePackage != null && !onePackage.isSkipVersion()) {
-          latestVersion = onePackage.getVersion();
-        }
+        String latestVersion = getLatestPackageVersion(name);
+        this.relevantVersions.put(name, latestVersion);
 
-        if (isRequiresUpdate(version, latestVersion)) {
+        if (Version.isRequiresUpdate(version, latestVersion)) {
           updatedLine = updatedLine.replace(version, latestVersion);
         }
       } else {
@@ -338,13 +382,17 @@ public class ExecutePythonUpdate implements Runnable {
     return updatedLine;
   }
 
-  // suppressing sonarlint rule for interrupting thread
-  @SuppressWarnings("java:S2142")
-  private void join(final Thread thread) {
-    try {
-      thread.join();
-    } catch (InterruptedException ex) {
-      log.error("Exception Join Thread", ex);
+  private String getLatestPackageVersion(final String name) {
+    Packages onePackage = this.packagesMap.get(name);
+    if (onePackage != null && !onePackage.isSkipVersion()) {
+      return onePackage.getVersion();
     }
+    return "";
+  }
+
+  private Map<String, String> getCurrentVersions(final Set<String> names) {
+    Map<String, String> currentVersions = new HashMap<>();
+    names.forEach(name -> currentVersions.put(name, getLatestPackageVersion(name)));
+    return currentVersions;
   }
 }
@@ -0,0 +1,73 @@
+package app.dependency.update.app.runnable;
+
+import static app.dependency.update.app.util.ConstantUtils.*;
+
+import app.dependency.update.app.model.CommandResult;
+import app.dependency.update.app.model.Repository;
+import app.dependency.update.app.util.ExecutorUtils;
+import app.dependency.update.app.util.ProcessOutputBuffer;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+
+/*
+ Executes a single git/gh command inside a repository, the output is returned to the caller
+ so that the result is attributed to the repository directly
+ only the last lines of the output are kept, same as scripts
+*/
+@Slf4j
+public class ExecuteRepoCommand {
+  private final Repository repository;
+  private final List<String> command;
+
+  public ExecuteRepoCommand(final Repository repository, final String... command) {
+    this.repository = repository;
+    this.command = List.of(command);
+  }
+
+  public CommandResult executeCommand() {
+    // number of commands running at the same time is limited, same as scripts
+    return ExecutorUtils.executeProcess(this::startProcess);
+  }
+
+  private CommandResult startProcess() {
+    try {
+      Process process =
+          new ProcessBuilder(this.command)
+              .directory(this.repository.getRepoPath().toFile())
+              .redirectErrorStream(true)
+              .start();
+
+      ProcessOutputBuffer outputBuffer = new ProcessOutputBuffer(PROCESS_OUTPUT_BUFFER_LINES);
+      try (InputStream inputStream = process.getInputStream()) {
+        ProcessOutputBuffer.readLines(inputStream, outputBuffer::add);
+      }
+      int exitCode = process.waitFor();
+      String output = outputBuffer.toString();
+
+      log.debug(
+          "Command output: [ {} ] [ {} ] [ {} ]\n{}",
+          this.repository.getRepoName(),
+          this.command,
+          exitCode,
+          output);
+      return CommandResult.builder()
+          .exitCode(exitCode)
+          .output(output)
+          .isOutputTruncated(outputBuffer.isTruncated())
+          .build();
+    } catch (IOException ex) {
+      log.error(
+          "Error in Execute Command: [ {} ] [ {} ]", this.repository.getRepoName(), this.command, ex);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      log.error(
+          "Interrupted Execute Command: [ {} ] [ {} ]",
+          this.repository.getRepoName(),
+          this.command,
+          ex);
+    }
+    return CommandResult.builder().exitCode(-1).output("").build();
+  }
+}
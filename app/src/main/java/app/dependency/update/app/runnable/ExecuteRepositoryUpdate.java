@@ -0,0 +1,18 @@
+package app.dependency.update.app.runnable;
+
+/*
+ Repository update done in two steps, files are updated first and then the script commits the
+ changes and creates the pull request, so that the steps can be scheduled separately
+*/
+public interface ExecuteRepositoryUpdate {
+
+  // network lookups the files update needs, done before a rewrite permit is taken
+  default void resolveVersions() {}
+
+  /**
+   * @return true if script needs to be executed after updating files
+   */
+  boolean executeFilesUpdate();
+
+  void executeScriptFile();
+}
@@ -7,14 +7,14 @@ import static app.dependency.update.app.util.ProcessUtils.*;
 import app.dependency.update.app.exception.AppDependencyUpdateIOException;
 import app.dependency.update.app.exception.AppDependencyUpdateRuntimeException;
 import app.dependency.update.app.model.ScriptFile;
-import java.io.BufferedReader;
+import app.dependency.update.app.util.ExecutorUtils;
+import app.dependency.update.app.util.ProcessOutputBuffer;
+import app.dependency.update.app.util.RunJournalUtils;
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.util.ArrayList;
+import java.io.InputStream;
 import java.util.LinkedList;
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.concurrent.Future;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
@@ -22,7 +22,11 @@ public class ExecuteScriptFile implements Runnable {
   private final String threadName;
   private final String scriptPath;
   private final List<String> arguments;
-  private Thread thread;
+  private final ProcessOutputBuffer outputBuffer;
+  private volatile boolean isErrorOutput = false;
+  private volatile boolean isPrCreateAttempted = false;
+  private volatile boolean isPrCreateError = false;
+  private Future<?> future;
 
   public ExecuteScriptFile(
       final String threadName, final ScriptFile scriptFile, final List<String> arguments) {
@@ -34,6 +38,7 @@ public class ExecuteScriptFile implements Runnable {
             + SCRIPTS_DIRECTORY
             + PATH_DELIMITER
             + scriptFile.getScriptFileName();
+    this.outputBuffer = new ProcessOutputBuffer(PROCESS_OUTPUT_BUFFER_LINES);
   }
 
   @Override
@@ -41,96 +46,105 @@ public class ExecuteScriptFile implements Runnable {
     executeScript();
   }
 
-  public Thread start() {
-    if (this.thread == null) {
-      this.thread = new Thread(this, this.threadName);
-      this.thread.start();
+  public Future<?> start() {
+    if (this.future == null) {
+      this.future = ExecutorUtils.submit(this.threadName, this);
     }
-    return this.thread;
+    return this.future;
   }
 
   private void executeScript() {
+    // number of scripts running at the same time is limited
+    ExecutorUtils.executeProcess(
+        () ->
+            checkPrCreateRequired()
+                ? executeRepoPhase(getRepoName(), RepoPhase.SCRIPT, this::executeProcess)
+                : executeProcess());
+  }
+
+  private String getRepoName() {
+    return this.threadName.split("--")[0];
+  }
+
+  private boolean executeProcess() {
     try {
       Process process = startProcess();
       processOutput(process);
+      return true;
     } catch (Exception ex) {
       log.error("Error in Execute Script: ", ex);
+      return false;
     }
   }
 
-  private Process startProcess()
-      throws AppDependencyUpdateIOException, AppDependencyUpdateRuntimeException {
+  private Process startProcess() throws AppDependencyUpdateIOException {
     try {
       List<String> command = new LinkedList<>();
       command.add(COMMAND_PATH);
       command.add(this.scriptPath);
       command.addAll(this.arguments);
-      Process process = new ProcessBuilder(command).start();
-      process.waitFor();
-      return process;
+      return new ProcessBuilder(command).start();
     } catch (IOException ex) {
       throw new AppDependencyUpdateIOException("Error in Start Process", ex.getCause());
+    }
+  }
+
+  private void processOutput(final Process process) throws AppDependencyUpdateRuntimeException {
+    // both streams are read while the script is running, so that it never blocks on a full pipe
+    Future<?> errorStreamFuture =
+        ExecutorUtils.submit(
+            this.threadName + "-stderr", () -> readStream(process.getErrorStream(), true));
+    readStream(process.getInputStream(), false);
+    ExecutorUtils.join(errorStreamFuture);
+
+    try {
+      process.waitFor();
     } catch (InterruptedException ex) {
       Thread.currentThread().interrupt();
-      throw new AppDependencyUpdateRuntimeException("Error in Start Process", ex.getCause());
+      throw new AppDependencyUpdateRuntimeException("Error in Wait For Process", ex.getCause());
     }
-  }
 
-  private void processOutput(final Process process) throws AppDependencyUpdateIOException {
-    StringBuilder stringBuilder = new StringBuilder();
-    String line;
-
-    try (BufferedReader readerError =
-        new BufferedReader(new InputStreamReader(process.getErrorStream()))) {
-      while ((line = readerError.readLine()) != null) {
-        stringBuilder.append("ERROR-- ").append(line).append("\n");
-      }
-
-      try (BufferedReader readerInput =
-          new BufferedReader(new InputStreamReader(process.getInputStream()))) {
-        while ((line = readerInput.readLine()) != null) {
-          stringBuilder.append(line).append("\n");
-        }
-      }
-
-      String output = stringBuilder.toString();
-      if (output.contains("ERROR--")) {
-        log.info("Process output ERROR--: [ {} ]\n{}", this.scriptPath, output);
-      } else {
-        log.debug("Process output: [ {} ]\n{}", this.scriptPath, output);
-      }
-    } catch (IOException ex) {
-      throw new AppDependencyUpdateIOException(
-          "Error in Process Stream Output: " + ", " + this.scriptPath, ex.getCause());
+    if (this.isErrorOutput) {
+      log.info("Process output ERROR--: [ {} ]\n{}", this.scriptPath, this.outputBuffer);
     }
 
-    boolean isPrCreateCheckRequired = checkPrCreateRequired();
-    boolean isPrMergeCheckRequired = checkPrMergeRequired();
+    if (checkPrCreateRequired()) {
+      checkRepositoryPrCreateRelated();
+    }
+  }
 
-    if (isPrCreateCheckRequired) {
-      checkRepositoryPrCreateRelated(stringBuilder.toString());
-    } else if (isPrMergeCheckRequired) {
-      checkRepositoryPrMergeRelated(stringBuilder.toString());
+  private void readStream(final InputStream inputStream, final boolean isErrorStream) {
+    try {
+      ProcessOutputBuffer.readLines(inputStream, line -> processLine(line, isErrorStream));
+    } catch (IOException ex) {
+      log.error(
+          "Error in Process Stream Output: [ {} ] [ {} ]", this.scriptPath, isErrorStream, ex);
     }
   }
 
-  private void checkRepositoryPrCreateRelated(final String output) {
-    String repoName = this.threadName.split("--")[0];
-    boolean isPrCreateAttempted = checkPrCreateAttempted(output);
-    boolean isPrCreateError = checkPrCreationError(output, repoName);
-    addProcessedRepositories(repoName, isPrCreateAttempted, isPrCreateError);
+  private void processLine(final String line, final boolean isErrorStream) {
+    String outputLine = isErrorStream ? "ERROR-- " + line : line;
+    this.outputBuffer.add(outputLine);
+    log.debug("Process output: [ {} ] {}", this.threadName, outputLine);
+
+    if (isErrorStream) {
+      this.isErrorOutput = true;
+    }
+    if (line.contains("Creating PR")) {
+      this.isPrCreateAttempted = true;
+    }
+    if (line.contains("pull request create failed")) {
+      this.isPrCreateError = true;
+    }
   }
 
-  private void checkRepositoryPrMergeRelated(final String output) {
-    boolean isPrMerged = checkPrMerged(output);
-    if (isPrMerged) {
-      // GITHUB_MERGE does not include repository name in threadName
-      List<String> repoNames = findRepoNamesForPrMerge(output);
-      if (!isEmpty(repoNames)) {
-        for (String repoName : repoNames) {
-          updateProcessedRepositoriesToPrMerged(repoName);
-        }
-      }
+  private void checkRepositoryPrCreateRelated() {
+    String repoName = getRepoName();
+    boolean isPrCreateError = checkPrCreationError(repoName);
+    addProcessedRepositories(repoName, this.isPrCreateAttempted, isPrCreateError);
+    if (this.isPrCreateAttempted) {
+      RunJournalUtils.updateRepoStage(
+          repoName, null, isPrCreateError ? RepoStage.PR_CREATE_ERROR : RepoStage.PR_CREATED);
     }
   }
 
@@ -141,17 +155,9 @@ public class ExecuteScriptFile implements Runnable {
         || this.scriptPath.contains(UpdateType.GITHUB_PR_CREATE.toString());
   }
 
-  private boolean checkPrMergeRequired() {
-    return this.scriptPath.contains(UpdateType.GITHUB_MERGE.toString());
-  }
-
-  private boolean checkPrCreateAttempted(final String output) {
-    return output.contains("Creating PR");
-  }
-
-  private boolean checkPrCreationError(final String output, final String repoName) {
-    if (output.contains("pull request create failed")) {
-      log.info("Pull Request Create Failed: [ {} ] \n {}", this.threadName, output);
+  private boolean checkPrCreationError(final String repoName) {
+    if (this.isPrCreateError) {
+      log.info("Pull Request Create Failed: [ {} ] \n {}", this.threadName, this.outputBuffer);
       addRepositoriesWithPrError(repoName);
       return true;
     } else {
@@ -159,20 +165,4 @@ public class ExecuteScriptFile implements Runnable {
     }
     return false;
   }
-
-  private boolean checkPrMerged(final String output) {
-    return output.contains("Merged PR");
-  }
-
-  private List<String> findRepoNamesForPrMerge(final String output) {
-    List<String> repoNames = new ArrayList<>();
-    String regex = "^Merged PR: (?!.*already merged).*/([^/\\s]+)";
-    Pattern pattern = Pattern.compile(regex, Pattern.MULTILINE);
-    Matcher matcher = pattern.matcher(output);
-    while (matcher.find()) {
-      String matcherGroup = matcher.group(1);
-      repoNames.add(matcherGroup);
-    }
-    return repoNames;
-  }
 }
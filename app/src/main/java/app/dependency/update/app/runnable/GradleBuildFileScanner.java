@@ -0,0 +1,345 @@
+package app.dependency.update.app.runnable;
+
+import static app.dependency.update.app.util.CommonUtils.*;
+import static app.dependency.update.app.util.ConstantUtils.*;
+
+import app.dependency.update.app.model.BuildGradleConfigs;
+import app.dependency.update.app.model.GradleConfigBlock;
+import app.dependency.update.app.model.GradleDefinition;
+import app.dependency.update.app.model.GradleDependency;
+import app.dependency.update.app.model.GradlePlugin;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import lombok.extern.slf4j.Slf4j;
+
+/*
+ Reads build.gradle once from top to bottom, keeping track of the block each line belongs to
+ plugins, dependencies and definitions are collected with their line index, so that updates
+ can be written back to the same line without searching for it again
+ blocks end when their braces are balanced, so a block not ended as expected does not hide the
+ blocks after it
+ eg: plugins {, dependencies {, buildscript { dependencies {
+*/
+@Slf4j
+class GradleBuildFileScanner {
+  private static final Pattern SINGLE_QUOTES_PATTERN =
+      Pattern.compile(String.format(GRADLE_BUILD_DEPENDENCIES_REGEX, "'", "'"));
+  private static final Pattern DOUBLE_QUOTES_PATTERN =
+      Pattern.compile(String.format(GRADLE_BUILD_DEPENDENCIES_REGEX, "\"", "\""));
+  private static final Pattern DEFINITION_PATTERN = Pattern.compile(GRADLE_BUILD_DEFINITION_REGEX);
+  private static final Pattern JAVA_VERSION_PATTERN = Pattern.compile(GRADLE_JAVA_VERSION_REGEX_1);
+  private static final Pattern JAVA_LANGUAGE_VERSION_PATTERN =
+      Pattern.compile(GRADLE_JAVA_VERSION_REGEX_2);
+  private static final List<String> DEPENDENCY_CONFIGURATIONS =
+      List.of(
+          "api",
+          "compileOnlyApi",
+          "implementation",
+          "testImplementation",
+          "compileOnly",
+          "testCompileOnly",
+          "runtimeOnly",
+          "testRuntimeOnly",
+          "classpath");
+
+  private enum Block {
+    NONE,
+    PLUGINS,
+    DEPENDENCIES,
+    BUILDSCRIPT,
+    BUILDSCRIPT_DEPENDENCIES
+  }
+
+  private final List<String> allLines;
+  // matchers are reset for each line instead of creating new ones
+  private final Matcher singleQuotesMatcher = SINGLE_QUOTES_PATTERN.matcher("");
+  private final Matcher doubleQuotesMatcher = DOUBLE_QUOTES_PATTERN.matcher("");
+  private final Matcher definitionMatcher = DEFINITION_PATTERN.matcher("");
+  private final Matcher javaVersionMatcher = JAVA_VERSION_PATTERN.matcher("");
+  private final Matcher javaLanguageVersionMatcher = JAVA_LANGUAGE_VERSION_PATTERN.matcher("");
+
+  private final List<GradlePlugin> plugins = new ArrayList<>();
+  private final List<GradleDefinition> definitions = new ArrayList<>();
+  private final List<GradleDependency> dependencies = new ArrayList<>();
+  private final List<GradleDefinition> buildscriptDefinitions = new ArrayList<>();
+  private final List<GradleDependency> buildscriptDependencies = new ArrayList<>();
+  private final List<Integer> javaVersionLines = new ArrayList<>();
+  private String javaVersion = null;
+
+  GradleBuildFileScanner(final List<String> allLines) {
+    this.allLines = allLines;
+  }
+
+  // suppressing sonarlint rule for cognitive complexity of method too high
+  @SuppressWarnings("java:S3776")
+  BuildGradleConfigs scan(final Path buildGradlePath) {
+    boolean isPluginsFound = false;
+    boolean isDependenciesFound = false;
+    boolean isBuildscriptFound = false;
+    Block block = Block.NONE;
+    // braces opened and not yet closed before the current line
+    int depth = 0;
+
+    for (int i = 0; i < this.allLines.size(); i++) {
+      final String line = this.allLines.get(i);
+      scanJavaVersion(line, i);
+      final int lineDepth = depth;
+      depth = Math.max(0, depth + getBraceCount(line));
+
+      if (block == Block.NONE) {
+        // only the first top level block of each kind is considered
+        if (lineDepth != 0) {
+          continue;
+        }
+        if (!isPluginsFound && line.equals("plugins {")) {
+          isPluginsFound = true;
+          block = Block.PLUGINS;
+        } else if (!isDependenciesFound && line.equals("dependencies {")) {
+          isDependenciesFound = true;
+          block = Block.DEPENDENCIES;
+        } else if (!isBuildscriptFound && line.equals("buildscript {")) {
+          isBuildscriptFound = true;
+          block = Block.BUILDSCRIPT;
+        }
+        continue;
+      }
+
+      // check if this is the end of the block
+      if (depth == 0) {
+        block = Block.NONE;
+        continue;
+      }
+
+      switch (block) {
+        case PLUGINS -> scanPlugin(line, i);
+        case DEPENDENCIES -> scanDependency(line, i, this.dependencies, this.definitions);
+        case BUILDSCRIPT -> {
+          // there might be dependencies block inside buildscript block
+          if (lineDepth == 1 && line.contains("dependencies {")) {
+            block = Block.BUILDSCRIPT_DEPENDENCIES;
+          }
+        }
+        case BUILDSCRIPT_DEPENDENCIES -> {
+          if (depth == 1) {
+            // end of dependencies block inside buildscript block
+            block = Block.BUILDSCRIPT;
+          } else {
+            scanDependency(line, i, this.buildscriptDependencies, this.buildscriptDefinitions);
+          }
+        }
+        default -> {
+          // nothing to do outside the blocks
+        }
+      }
+    }
+
+    if (!isPluginsFound) {
+      log.debug("No plugins in the project...");
+    }
+    if (!isDependenciesFound) {
+      log.debug("No dependencies in the project...");
+    }
+
+    return BuildGradleConfigs.builder()
+        .buildGradlePath(buildGradlePath)
+        .originals(this.allLines)
+        .plugins(
+            GradleConfigBlock.builder()
+                .definitions(new ArrayList<>())
+                .plugins(this.plugins)
+                .build())
+        .dependencies(
+            List.of(
+                GradleConfigBlock.builder()
+                    .definitions(this.definitions)
+                    .dependencies(this.dependencies)
+                    .build(),
+                GradleConfigBlock.builder()
+                    .definitions(this.buildscriptDefinitions)
+                    .dependencies(this.buildscriptDependencies)
+                    .build()))
+        .javaVersion(this.javaVersion)
+        .javaVersionLines(this.javaVersionLines)
+        .build();
+  }
+
+  private void scanPlugin(final String plugin, final int lineIndex) {
+    // ignore comments, new lines and plugins that don't have version
+    if (leftTrim(plugin).startsWith("//") || !plugin.contains("version")) {
+      return;
+    }
+    // Example:    id 'io.freefair.lombok' version '6.6.3'
+    String[] pluginArray = plugin.trim().split(" ");
+    if (pluginArray.length != 4) {
+      return;
+    }
+    String group = pluginArray[1].replace("'", "").replace("\"", "");
+    String version = pluginArray[3].replace("'", "").replace("\"", "");
+    this.plugins.add(
+        GradlePlugin.builder()
+            .original(plugin)
+            .group(group)
+            .version(version)
+            .lineIndex(lineIndex)
+            .build());
+  }
+
+  private void scanDependency(
+      final String original,
+      final int lineIndex,
+      final List<GradleDependency> gradleDependencies,
+      final List<GradleDefinition> gradleDefinitions) {
+    // Examples from mvnrepository - Gradle: #1, Gradle (Short): #2, Gradle (Kotlin): #3
+    // 1: implementation group: 'ch.qos.logback', name: 'logback-classic', version: '1.4.5'
+    // 2: implementation 'com.google.code.gson:gson:2.10.1'
+    // 3: implementation ('com.google.code.gson:gson:2.10.1')
+    // 4: testImplementation('org.springframework.boot:spring-boot-starter-test:2.3.0.RELEASE')
+    // 5: implementation('org.slf4j:slf4j-api') version set as strict or require or other
+    // 6: classpath 'org.postgresql:postgresql:42.1.3' (this is in buildscript block)
+    String trimmed = leftTrim(original);
+    if (isDependencyDeclaration(trimmed)) {
+      // There is a chance `dependency` could be modified, so keep `original` untouched
+      String dependency = original;
+      if (dependency.contains("(") && dependency.contains(")")) {
+        dependency = dependency.replace("(", " ").replace(")", " ");
+      }
+
+      GradleDependency gradleDependency = getGradleDependency(dependency, original, lineIndex);
+      if (gradleDependency != null) {
+        gradleDependencies.add(gradleDependency);
+      }
+    } else if (trimmed.startsWith("def")) {
+      GradleDefinition gradleDefinition = getGradleDefinition(original, lineIndex);
+      if (gradleDefinition != null) {
+        gradleDefinitions.add(gradleDefinition);
+      }
+    }
+  }
+
+  private boolean isDependencyDeclaration(final String dependency) {
+    for (String dependencyConfiguration : DEPENDENCY_CONFIGURATIONS) {
+      if (dependency.startsWith(dependencyConfiguration)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private GradleDependency getGradleDependency(
+      final String dependency, final String original, final int lineIndex) {
+    // Get between `'` or `"`
+    Matcher matcher;
+    if (dependency.contains("'") && !dependency.contains("\"")) {
+      matcher = this.singleQuotesMatcher.reset(dependency);
+    } else if (!dependency.contains("'") && dependency.contains("\"")) {
+      matcher = this.doubleQuotesMatcher.reset(dependency);
+    } else {
+      return null;
+    }
+
+    if (!matcher.find()) {
+      return null;
+    }
+
+    String group = matcher.group();
+    String[] dependencyArray;
+    if (group.contains(":")) {
+      // From above examples this matches - #2, #3 and #4
+      dependencyArray = group.split(":");
+    } else {
+      // From examples this matches - #1
+      List<String> groupArtifactVersion = new ArrayList<>();
+      groupArtifactVersion.add(group);
+      while (matcher.find()) {
+        String artifactOrVersion = matcher.group();
+        if (!artifactOrVersion.contains(",")) {
+          groupArtifactVersion.add(artifactOrVersion.trim());
+        }
+      }
+      dependencyArray = String.join(":", groupArtifactVersion).split(":");
+    }
+
+    if (dependencyArray.length == 3) {
+      return GradleDependency.builder()
+          .original(original)
+          .group(dependencyArray[0])
+          .artifact(dependencyArray[1])
+          .version(dependencyArray[2])
+          .lineIndex(lineIndex)
+          .build();
+    }
+
+    return null;
+  }
+
+  private GradleDefinition getGradleDefinition(final String dependency, final int lineIndex) {
+    Matcher matcher = this.doubleQuotesMatcher.reset(dependency);
+    if (!matcher.find()) {
+      return null;
+    }
+
+    String value = matcher.group();
+    matcher = this.definitionMatcher.reset(dependency);
+    if (matcher.find()) {
+      String[] defNameArray = matcher.group().split(" ");
+      if (defNameArray.length == 2) {
+        return GradleDefinition.builder()
+            .original(dependency)
+            .name(defNameArray[1])
+            .value(value)
+            .lineIndex(lineIndex)
+            .build();
+      }
+    }
+    return null;
+  }
+
+  private void scanJavaVersion(final String line, final int lineIndex) {
+    // both JavaVersion.VERSION_X and JavaLanguageVersion.of(X) contain this
+    if (!line.contains("Version")) {
+      return;
+    }
+
+    String version = null;
+    if (this.javaVersionMatcher.reset(line).find()) {
+      version = this.javaVersionMatcher.group(1);
+    } else if (this.javaLanguageVersionMatcher.reset(line).find()) {
+      version = this.javaLanguageVersionMatcher.group(1);
+    }
+
+    if (version != null) {
+      this.javaVersionLines.add(lineIndex);
+      if (this.javaVersion == null) {
+        this.javaVersion = version;
+      }
+    }
+  }
+
+  // opened minus closed braces, those in quotes and after comments are not counted
+  private int getBraceCount(final String line) {
+    int braceCount = 0;
+    char quote = 0;
+    for (int i = 0; i < line.length(); i++) {
+      char c = line.charAt(i);
+      if (quote != 0) {
+        if (c == '\\') {
+          i++;
+        } else if (c == quote) {
+          quote = 0;
+        }
+      } else if (c == '\'' || c == '"') {
+        quote = c;
+      } else if (c == '/' && i + 1 < line.length() && line.charAt(i + 1) == '/') {
+        break;
+      } else if (c == '{') {
+        braceCount++;
+      } else if (c == '}') {
+        braceCount--;
+      }
+    }
+    return braceCount;
+  }
+}
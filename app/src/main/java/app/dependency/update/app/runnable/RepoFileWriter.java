@@ -0,0 +1,26 @@
+package app.dependency.update.app.runnable;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/*
+ Where the files update writes updated file content, the repository itself or an update plan
+*/
+@FunctionalInterface
+public interface RepoFileWriter {
+
+  RepoFileWriter FILE_SYSTEM =
+      (path, content) -> Files.write(path, content, StandardCharsets.UTF_8);
+
+  void write(Path path, List<String> content) throws IOException;
+
+  /**
+   * @return true if nothing is written to the repository
+   */
+  default boolean isDryRun() {
+    return false;
+  }
+}
@@ -3,52 +3,111 @@ package app.dependency.update.app.runnable;
 import static app.dependency.update.app.util.CommonUtils.*;
 import static app.dependency.update.app.util.ConstantUtils.*;
 
-import app.dependency.update.app.exception.AppDependencyUpdateRuntimeException;
 import app.dependency.update.app.model.AppInitData;
-import app.dependency.update.app.model.ScriptFile;
-import java.util.LinkedList;
+import app.dependency.update.app.model.CommandResult;
+import app.dependency.update.app.model.Repository;
+import app.dependency.update.app.util.AppInitDataUtils;
+import app.dependency.update.app.util.ExecutorUtils;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Future;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
 public class UpdateGithubBranchDelete {
-  private final String repoHome;
-  private final ScriptFile scriptFile;
+  private final List<Repository> repositories;
   private final boolean isDeleteUpdateDependenciesOnly;
 
   public UpdateGithubBranchDelete(
       final AppInitData appInitData, final boolean isDeleteUpdateDependenciesOnly) {
-    this.repoHome = appInitData.getArgsMap().get(ENV_REPO_NAME);
-    this.scriptFile =
-        appInitData.getScriptFiles().stream()
-            .filter(sf -> sf.getType().equals(UpdateType.GITHUB_BRANCH_DELETE))
-            .findFirst()
-            .orElseThrow(
-                () ->
-                    new AppDependencyUpdateRuntimeException(
-                        "Github Branch Delete Script Not Found..."));
+    this.repositories = AppInitDataUtils.getRepositoriesDistinctByPath(appInitData);
     this.isDeleteUpdateDependenciesOnly = isDeleteUpdateDependenciesOnly;
   }
 
   public void updateGithubBranchDelete() {
-    log.debug("Execute Github Branch Delete on: [ {} ]", this.repoHome);
-    List<String> arguments = new LinkedList<>();
-    arguments.add(this.repoHome);
-    arguments.add(String.valueOf(this.isDeleteUpdateDependenciesOnly));
-    Thread executeThread =
-        new ExecuteScriptFile(
-                threadName(this.getClass().getSimpleName()), this.scriptFile, arguments)
-            .start();
-    join(executeThread);
+    log.debug(
+        "Execute Github Branch Delete on: [ {} ] repositories [ {} ]",
+        this.repositories.size(),
+        this.isDeleteUpdateDependenciesOnly);
+    List<Future<?>> futures = new ArrayList<>();
+    for (Repository repository : this.repositories) {
+      futures.add(
+          ExecutorUtils.submit(
+              threadName(repository, this.getClass().getSimpleName()),
+              () -> deleteBranches(repository)));
+    }
+    ExecutorUtils.joinAll(futures);
+  }
+
+  private void deleteBranches(final Repository repository) {
+    // git checkout main and pull
+    new ExecuteRepoCommand(repository, "git", "checkout", BRANCH_MAIN).executeCommand();
+    new ExecuteRepoCommand(repository, "git", "pull").executeCommand();
+
+    List<String> remoteBranches =
+        getBranchesToDelete(repository, "%(refname:lstrip=3)", "refs/remotes/origin");
+    if (!remoteBranches.isEmpty()) {
+      List<String> command = new ArrayList<>(List.of("git", "push", "origin", "-d"));
+      command.addAll(remoteBranches);
+      logIfFailed(
+          repository,
+          new ExecuteRepoCommand(repository, command.toArray(String[]::new)).executeCommand());
+    }
+
+    List<String> localBranches =
+        getBranchesToDelete(repository, "%(refname:short)", "refs/heads");
+    if (!localBranches.isEmpty()) {
+      List<String> command = new ArrayList<>(List.of("git", "branch", "-D"));
+      command.addAll(localBranches);
+      logIfFailed(
+          repository,
+          new ExecuteRepoCommand(repository, command.toArray(String[]::new)).executeCommand());
+    }
+
+    // prune old branches and pull again
+    new ExecuteRepoCommand(repository, "git", "fetch", "--prune").executeCommand();
+    new ExecuteRepoCommand(repository, "git", "pull").executeCommand();
+    log.debug(
+        "Github Branch Delete: [ {} ] [ {} ] [ {} ]",
+        repository.getRepoName(),
+        remoteBranches,
+        localBranches);
+  }
+
+  private List<String> getBranchesToDelete(
+      final Repository repository, final String format, final String refs) {
+    CommandResult commandResult =
+        new ExecuteRepoCommand(repository, "git", "for-each-ref", "--format=" + format, refs)
+            .executeCommand();
+    if (!commandResult.isSuccess()) {
+      logIfFailed(repository, commandResult);
+      return List.of();
+    }
+
+    if (commandResult.isOutputTruncated()) {
+      // the rest are deleted in the next run
+      log.info("Github Branch Delete, Not All Branches Listed: [ {} ]", repository.getRepoName());
+    }
+    return commandResult
+        .getOutput()
+        .lines()
+        .skip(commandResult.isOutputTruncated() ? 1 : 0)
+        .map(String::trim)
+        .filter(branch -> !branch.isEmpty())
+        .filter(branch -> !BRANCH_MAIN.equals(branch) && !"HEAD".equals(branch))
+        .filter(
+            branch ->
+                !this.isDeleteUpdateDependenciesOnly
+                    || branch.contains(BRANCH_UPDATE_DEPENDENCIES_PREFIX))
+        .toList();
   }
 
-  // suppressing sonarlint rule for interrupting thread
-  @SuppressWarnings("java:S2142")
-  private void join(final Thread thread) {
-    try {
-      thread.join();
-    } catch (InterruptedException ex) {
-      log.error("Exception Join Thread", ex);
+  private void logIfFailed(final Repository repository, final CommandResult commandResult) {
+    if (!commandResult.isSuccess()) {
+      log.info(
+          "Github Branch Delete Failed: [ {} ]\n{}",
+          repository.getRepoName(),
+          commandResult.getOutput());
     }
   }
 }
@@ -3,48 +3,52 @@ package app.dependency.update.app.runnable;
 import static app.dependency.update.app.util.CommonUtils.*;
 import static app.dependency.update.app.util.ConstantUtils.*;
 
-import app.dependency.update.app.exception.AppDependencyUpdateRuntimeException;
 import app.dependency.update.app.model.AppInitData;
-import app.dependency.update.app.model.ScriptFile;
+import app.dependency.update.app.model.Repository;
+import app.dependency.update.app.util.AppInitDataUtils;
+import app.dependency.update.app.util.ExecutorUtils;
 import java.time.LocalDate;
-import java.util.LinkedList;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Future;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
 public class UpdateGithubMerge {
-  private final String repoHome;
-  private final ScriptFile scriptFile;
+  private final List<Repository> repositories;
+  private final String branchName;
 
   public UpdateGithubMerge(final AppInitData appInitData) {
-    this.repoHome = appInitData.getArgsMap().get(ENV_REPO_NAME);
-    this.scriptFile =
-        appInitData.getScriptFiles().stream()
-            .filter(sf -> sf.getType().equals(UpdateType.GITHUB_MERGE))
-            .findFirst()
-            .orElseThrow(
-                () -> new AppDependencyUpdateRuntimeException("Github Merge Script Not Found..."));
+    this.repositories = AppInitDataUtils.getRepositoriesDistinctByPath(appInitData);
+    this.branchName = String.format(BRANCH_UPDATE_DEPENDENCIES, LocalDate.now());
   }
 
   public void updateGithubMerge() {
-    log.debug("Execute Github Merge on: [ {} ]", this.repoHome);
-    List<String> arguments = new LinkedList<>();
-    arguments.add(this.repoHome);
-    arguments.add(String.format(BRANCH_UPDATE_DEPENDENCIES, LocalDate.now()));
-    Thread executeThread =
-        new ExecuteScriptFile(
-                threadName(this.getClass().getSimpleName()), this.scriptFile, arguments)
-            .start();
-    join(executeThread);
+    log.debug(
+        "Execute Github Merge on: [ {} ] repositories [ {} ]",
+        this.repositories.size(),
+        this.branchName);
+    List<Future<?>> futures = new ArrayList<>();
+    for (Repository repository : this.repositories) {
+      futures.add(
+          ExecutorUtils.submit(
+              threadName(repository, this.getClass().getSimpleName()),
+              () -> mergeRepository(repository)));
+    }
+    ExecutorUtils.joinAll(futures);
   }
 
-  // suppressing sonarlint rule for interrupting thread
-  @SuppressWarnings("java:S2142")
-  private void join(final Thread thread) {
-    try {
-      thread.join();
-    } catch (InterruptedException ex) {
-      log.error("Exception Join Thread", ex);
+  private void mergeRepository(final Repository repository) {
+    // checks are not waited on here, PR is merged unless its checks failed or could not be read
+    PrCheckStatus prCheckStatus =
+        UpdateGithubMergeWatcher.checkPrStatus(repository, this.branchName);
+    if (prCheckStatus == PrCheckStatus.FAILED
+        || prCheckStatus == PrCheckStatus.NO_PR
+        || prCheckStatus == PrCheckStatus.UNKNOWN) {
+      log.debug(
+          "Github Merge, PR Not Merged: [ {} ] [ {} ]", repository.getRepoName(), prCheckStatus);
+      return;
     }
+    UpdateGithubMergeWatcher.mergePr(repository, this.branchName);
   }
 }
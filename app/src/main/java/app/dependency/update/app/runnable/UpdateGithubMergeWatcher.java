@@ -0,0 +1,214 @@
+package app.dependency.update.app.runnable;
+
+import static app.dependency.update.app.util.CommonUtils.*;
+import static app.dependency.update.app.util.ConstantUtils.*;
+import static app.dependency.update.app.util.ProcessUtils.*;
+
+import app.dependency.update.app.model.CommandResult;
+import app.dependency.update.app.model.Repository;
+import app.dependency.update.app.util.ExecutorUtils;
+import app.dependency.update.app.util.RunJournalUtils;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+
+/*
+ Watches the checks of the pull requests created in the current run and merges each of them as
+ soon as its checks are complete, instead of waiting a fixed time and merging all at once
+*/
+@Slf4j
+public class UpdateGithubMergeWatcher {
+  // bucket of each check, one per line: pass, fail, pending, skipping, cancel
+  private static final String PR_CHECK_BUCKETS_JQ = ".[].bucket";
+  private static final Set<String> PR_CHECK_BUCKETS_READY = Set.of("pass", "skipping");
+
+  private final List<Repository> repositories;
+  private final String branchName;
+
+  public UpdateGithubMergeWatcher(final List<Repository> repositories, final String branchName) {
+    this.repositories = repositories;
+    this.branchName = branchName;
+  }
+
+  public void updateGithubMergeWatcher() {
+    final Instant deadline = Instant.now().plus(getMergeWatchDuration());
+    log.info(
+        "Execute Github Merge Watcher on: [ {} ] repositories until [ {} ]",
+        this.repositories.size(),
+        deadline);
+
+    List<Future<?>> futures = new ArrayList<>();
+    for (Repository repository : this.repositories) {
+      futures.add(
+          ExecutorUtils.submit(
+              threadName(repository, this.getClass().getSimpleName()),
+              () -> watchAndMerge(repository, deadline)));
+    }
+    ExecutorUtils.joinAll(futures);
+  }
+
+  private void watchAndMerge(final Repository repository, final Instant deadline) {
+    PrCheckStatus prCheckStatus = awaitPrChecks(repository, this.branchName, deadline);
+    if (prCheckStatus == PrCheckStatus.READY) {
+      mergePr(repository, this.branchName);
+    } else {
+      log.info(
+          "Github Merge Watcher, PR Not Merged: [ {} ] [ {} ]",
+          repository.getRepoName(),
+          prCheckStatus);
+    }
+  }
+
+  public static Duration getMergeWatchDuration() {
+    int minutes =
+        parseIntSafe(
+            getSystemEnvProperty(
+                ENV_MERGE_WATCH_MINUTES, String.valueOf(MERGE_WATCH_MINUTES_DEFAULT)));
+    return Duration.ofMinutes(minutes > 0 ? minutes : MERGE_WATCH_MINUTES_DEFAULT);
+  }
+
+  /**
+   * @param repository repository with the pull request
+   * @param branchName head branch of the pull request
+   * @param deadline time after which the checks are not polled anymore
+   * @return final status of checks, PENDING if checks did not complete before deadline
+   */
+  public static PrCheckStatus awaitPrChecks(
+      final Repository repository, final String branchName, final Instant deadline) {
+    return executeRepoPhase(
+        repository.getRepoName(),
+        RepoPhase.PR_CHECKS,
+        () -> pollPrChecks(repository, branchName, deadline));
+  }
+
+  private static PrCheckStatus pollPrChecks(
+      final Repository repository, final String branchName, final Instant deadline) {
+    final Instant watchStart = Instant.now();
+    long delaySeconds = MERGE_WATCH_POLL_INITIAL_SECONDS;
+
+    while (true) {
+      PrCheckStatus prCheckStatus = checkPrStatus(repository, branchName, watchStart);
+      if (prCheckStatus != PrCheckStatus.PENDING) {
+        return prCheckStatus;
+      }
+
+      // poll less often the longer the checks take, jitter so that repos do not poll together
+      long delayMillis =
+          delaySeconds * 1000L + ThreadLocalRandom.current().nextLong(delaySeconds * 200L + 1);
+      if (Instant.now().plusMillis(delayMillis).isAfter(deadline)) {
+        return PrCheckStatus.PENDING;
+      }
+
+      try {
+        Thread.sleep(delayMillis);
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+        log.error("Interrupted Await PR Checks: [ {} ]", repository.getRepoName(), ex);
+        return PrCheckStatus.PENDING;
+      }
+      delaySeconds = Math.min(delaySeconds * 3 / 2, MERGE_WATCH_POLL_MAX_SECONDS);
+    }
+  }
+
+  /**
+   * Checks status without waiting for checks to be registered, eg: merge long after PR create
+   *
+   * @return status of checks, READY if the PR has no checks
+   */
+  public static PrCheckStatus checkPrStatus(final Repository repository, final String branchName) {
+    return checkPrStatus(repository, branchName, Instant.EPOCH);
+  }
+
+  /**
+   * @param watchStart checks not reported until grace seconds after this means there are none
+   * @return status of checks, READY if the PR has no checks, eg: repository without CI
+   */
+  public static PrCheckStatus checkPrStatus(
+      final Repository repository, final String branchName, final Instant watchStart) {
+    CommandResult commandResult =
+        new ExecuteRepoCommand(
+                repository,
+                "gh",
+                "pr",
+                "checks",
+                branchName,
+                "--json",
+                "bucket",
+                "--jq",
+                PR_CHECK_BUCKETS_JQ)
+            .executeCommand();
+    String output = commandResult.getOutput();
+
+    if (output.contains("no pull requests found")) {
+      return PrCheckStatus.NO_PR;
+    }
+    // checks may not be registered right after the PR is created, none after that means no CI
+    if (output.contains("no checks reported")) {
+      return Instant.now().isBefore(watchStart.plusSeconds(MERGE_WATCH_NO_CHECKS_GRACE_SECONDS))
+          ? PrCheckStatus.PENDING
+          : PrCheckStatus.READY;
+    }
+    // gh exits with 8 when checks are pending, anything else but 0 is an error, eg: auth, network
+    if (commandResult.getExitCode() != 0 && commandResult.getExitCode() != 8) {
+      log.info(
+          "Check PR Status Failed: [ {} ] [ {} ]\n{}",
+          repository.getRepoName(),
+          commandResult.getExitCode(),
+          output);
+      return PrCheckStatus.UNKNOWN;
+    }
+
+    // a truncated output does not have every check, so it is never ready
+    if (commandResult.isOutputTruncated()) {
+      log.info("Check PR Status Output Truncated: [ {} ]", repository.getRepoName());
+      return PrCheckStatus.UNKNOWN;
+    }
+    Set<String> buckets =
+        output
+            .lines()
+            .map(String::trim)
+            .filter(bucket -> !bucket.isEmpty())
+            .collect(Collectors.toSet());
+    if (buckets.contains("fail") || buckets.contains("cancel")) {
+      return PrCheckStatus.FAILED;
+    }
+    if (buckets.contains("pending") || commandResult.getExitCode() == 8) {
+      return PrCheckStatus.PENDING;
+    }
+    if (!buckets.isEmpty() && PR_CHECK_BUCKETS_READY.containsAll(buckets)) {
+      return PrCheckStatus.READY;
+    }
+    log.info("Check PR Status Unknown: [ {} ]\n{}", repository.getRepoName(), output);
+    return PrCheckStatus.UNKNOWN;
+  }
+
+  public static boolean mergePr(final Repository repository, final String branchName) {
+    CommandResult commandResult =
+        executeRepoPhase(
+            repository.getRepoName(),
+            RepoPhase.PR_MERGE,
+            () ->
+                new ExecuteRepoCommand(repository, "gh", "pr", "merge", branchName, "-s", "-d")
+                    .executeCommand());
+
+    if (commandResult.isSuccess()) {
+      log.info("Merged PR: [ {} ] [ {} ]", repository.getRepoName(), branchName);
+      updateProcessedRepositoriesToPrMerged(repository.getRepoName());
+      RunJournalUtils.updateRepoStage(repository.getRepoName(), null, RepoStage.PR_MERGED);
+      return true;
+    }
+
+    log.info(
+        "Merge PR Failed: [ {} ] [ {} ]\n{}",
+        repository.getRepoName(),
+        branchName,
+        commandResult.getOutput());
+    return false;
+  }
+}
@@ -6,9 +6,11 @@ import app.dependency.update.app.exception.AppDependencyUpdateRuntimeException;
 import app.dependency.update.app.model.AppInitData;
 import app.dependency.update.app.model.Repository;
 import app.dependency.update.app.model.ScriptFile;
+import app.dependency.update.app.util.ExecutorUtils;
 import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.Future;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
@@ -32,14 +34,14 @@ public class UpdateGithubPrCreate {
   }
 
   public void updateGithubPrCreate() {
-    List<Thread> threads = new ArrayList<>();
+    List<Future<?>> futures = new ArrayList<>();
     for (Repository repository : this.repositories) {
-      threads.add(executeUpdate(repository));
+      futures.add(executeUpdate(repository));
     }
-    threads.forEach(this::join);
+    ExecutorUtils.joinAll(futures);
   }
 
-  private Thread executeUpdate(final Repository repository) {
+  private Future<?> executeUpdate(final Repository repository) {
     log.debug("Execute Github PR Create on: [ {} ]", repository);
     List<String> arguments = new LinkedList<>();
     arguments.add(repository.getRepoPath().toString());
@@ -48,14 +50,4 @@ public class UpdateGithubPrCreate {
             threadName(repository, this.getClass().getSimpleName()), this.scriptFile, arguments)
         .start();
   }
-
-  // suppressing sonarlint rule for interrupting thread
-  @SuppressWarnings("java:S2142")
-  private void join(final Thread thread) {
-    try {
-      thread.join();
-    } catch (InterruptedException ex) {
-      log.error("Exception Join Thread", ex);
-    }
-  }
 }
@@ -1,48 +1,52 @@
 package app.dependency.update.app.runnable;
 
 import static app.dependency.update.app.util.CommonUtils.*;
-import static app.dependency.update.app.util.ConstantUtils.ENV_REPO_NAME;
+import static app.dependency.update.app.util.ConstantUtils.*;
 
-import app.dependency.update.app.exception.AppDependencyUpdateRuntimeException;
 import app.dependency.update.app.model.AppInitData;
-import app.dependency.update.app.model.ScriptFile;
-import java.util.LinkedList;
+import app.dependency.update.app.model.CommandResult;
+import app.dependency.update.app.model.Repository;
+import app.dependency.update.app.util.AppInitDataUtils;
+import app.dependency.update.app.util.ExecutorUtils;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Future;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
 public class UpdateGithubReset {
-  private final String repoHome;
-  private final ScriptFile scriptFile;
+  private final List<Repository> repositories;
 
   public UpdateGithubReset(final AppInitData appInitData) {
-    this.repoHome = appInitData.getArgsMap().get(ENV_REPO_NAME);
-    this.scriptFile =
-        appInitData.getScriptFiles().stream()
-            .filter(sf -> sf.getType().equals(UpdateType.GITHUB_RESET))
-            .findFirst()
-            .orElseThrow(
-                () -> new AppDependencyUpdateRuntimeException("Github Reset Script Not Found..."));
+    this.repositories = AppInitDataUtils.getRepositoriesDistinctByPath(appInitData);
   }
 
   public void updateGithubReset() {
-    log.debug("Execute Github Reset on: [ {} ]", this.repoHome);
-    List<String> arguments = new LinkedList<>();
-    arguments.add(this.repoHome);
-    Thread executeThread =
-        new ExecuteScriptFile(
-                threadName(this.getClass().getSimpleName()), this.scriptFile, arguments)
-            .start();
-    join(executeThread);
+    log.debug("Execute Github Reset on: [ {} ] repositories", this.repositories.size());
+    List<Future<?>> futures = new ArrayList<>();
+    for (Repository repository : this.repositories) {
+      futures.add(
+          ExecutorUtils.submit(
+              threadName(repository, this.getClass().getSimpleName()),
+              () -> resetRepository(repository)));
+    }
+    ExecutorUtils.joinAll(futures);
   }
 
-  // suppressing sonarlint rule for interrupting thread
-  @SuppressWarnings("java:S2142")
-  private void join(final Thread thread) {
-    try {
-      thread.join();
-    } catch (InterruptedException ex) {
-      log.error("Exception Join Thread", ex);
+  private void resetRepository(final Repository repository) {
+    // checkout main branch
+    CommandResult checkoutResult =
+        new ExecuteRepoCommand(repository, "git", "checkout", BRANCH_MAIN).executeCommand();
+    // hard reset repository
+    CommandResult resetResult =
+        new ExecuteRepoCommand(repository, "git", "reset", "--hard").executeCommand();
+
+    if (!checkoutResult.isSuccess() || !resetResult.isSuccess()) {
+      log.info(
+          "Github Reset Failed: [ {} ]\n{}\n{}",
+          repository.getRepoName(),
+          checkoutResult.getOutput(),
+          resetResult.getOutput());
     }
   }
 }
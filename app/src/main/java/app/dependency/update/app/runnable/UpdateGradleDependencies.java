@@ -1,7 +1,6 @@
 package app.dependency.update.app.runnable;
 
 import static app.dependency.update.app.util.CommonUtils.*;
-import static app.dependency.update.app.util.ConstantUtils.*;
 
 import app.dependency.update.app.exception.AppDependencyUpdateRuntimeException;
 import app.dependency.update.app.model.AppInitData;
@@ -9,10 +8,16 @@ import app.dependency.update.app.model.LatestVersionsModel;
 import app.dependency.update.app.model.Repository;
 import app.dependency.update.app.model.ScriptFile;
 import app.dependency.update.app.service.MongoRepoService;
-import java.time.LocalDate;
+import app.dependency.update.app.service.RepoFingerprintService;
+import app.dependency.update.app.service.RepoScheduleService;
+import app.dependency.update.app.util.ApplicationContextUtil;
+import app.dependency.update.app.util.ExecutorUtils;
+import app.dependency.update.app.util.RunJournalUtils;
 import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.Future;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
@@ -20,6 +25,8 @@ public class UpdateGradleDependencies {
   private final List<Repository> repositories;
   private final ScriptFile scriptFile;
   private final MongoRepoService mongoRepoService;
+  private final RepoFingerprintService repoFingerprintService;
+  private final RepoScheduleService repoScheduleService;
   private final LatestVersionsModel latestVersionsModel;
 
   public UpdateGradleDependencies(
@@ -37,35 +44,44 @@ public class UpdateGradleDependencies {
                     new AppDependencyUpdateRuntimeException(
                         "Gradle Dependencies Script Not Found..."));
     this.mongoRepoService = mongoRepoService;
+    this.repoFingerprintService = ApplicationContextUtil.getBean(RepoFingerprintService.class);
+    this.repoScheduleService = ApplicationContextUtil.getBean(RepoScheduleService.class);
     this.latestVersionsModel = appInitData.getLatestVersionsModel();
   }
 
   public void updateGradleDependencies() {
-    List<Thread> threads = new ArrayList<>();
-    for (Repository repository : this.repositories) {
-      threads.add(executeUpdate(repository));
+    List<Future<?>> futures = new ArrayList<>();
+    List<Repository> orderedRepositories =
+        this.repoScheduleService.orderLongestFirst(
+            this.repositories, EnumSet.of(RepoPhase.REWRITE, RepoPhase.SCRIPT));
+    for (Repository repository : orderedRepositories) {
+      futures.add(executeUpdate(repository));
     }
-    threads.forEach(this::join);
+    ExecutorUtils.joinAll(futures);
   }
 
-  private Thread executeUpdate(final Repository repository) {
+  private Future<?> executeUpdate(final Repository repository) {
     log.debug("Execute Gradle Dependencies Update on: [ {} ]", repository);
+    return getExecuteGradleUpdate(repository).start();
+  }
+
+  public ExecuteGradleUpdate getExecuteGradleUpdate(final Repository repository) {
+    return getExecuteGradleUpdate(repository, RepoFileWriter.FILE_SYSTEM);
+  }
+
+  public ExecuteGradleUpdate getExecuteGradleUpdate(
+      final Repository repository, final RepoFileWriter repoFileWriter) {
     List<String> arguments = new LinkedList<>();
     arguments.add(repository.getRepoPath().toString());
-    arguments.add(String.format(BRANCH_UPDATE_DEPENDENCIES, LocalDate.now()));
+    arguments.add(RunJournalUtils.getBranchName());
 
     return new ExecuteGradleUpdate(
-            this.latestVersionsModel, repository, this.scriptFile, arguments, mongoRepoService)
-        .start();
-  }
-
-  // suppressing sonarlint rule for interrupting thread
-  @SuppressWarnings("java:S2142")
-  private void join(final Thread thread) {
-    try {
-      thread.join();
-    } catch (InterruptedException ex) {
-      log.error("Exception Join Thread", ex);
-    }
+        this.latestVersionsModel,
+        repository,
+        this.scriptFile,
+        arguments,
+        mongoRepoService,
+        this.repoFingerprintService,
+        repoFileWriter);
   }
 }
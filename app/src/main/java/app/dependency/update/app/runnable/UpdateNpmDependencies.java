@@ -1,7 +1,6 @@
 package app.dependency.update.app.runnable;
 
 import static app.dependency.update.app.util.CommonUtils.*;
-import static app.dependency.update.app.util.ConstantUtils.*;
 
 import app.dependency.update.app.exception.AppDependencyUpdateRuntimeException;
 import app.dependency.update.app.model.AppInitData;
@@ -10,12 +9,21 @@ import app.dependency.update.app.model.Repository;
 import app.dependency.update.app.model.ScriptFile;
 import app.dependency.update.app.model.entities.NpmSkips;
 import app.dependency.update.app.service.MongoRepoService;
+import app.dependency.update.app.service.NpmRepoService;
+import app.dependency.update.app.service.RepoFingerprintService;
+import app.dependency.update.app.service.RepoScheduleService;
+import app.dependency.update.app.util.ApplicationContextUtil;
+import app.dependency.update.app.util.ExecutorUtils;
 import app.dependency.update.app.util.ProcessUtils;
-import java.time.LocalDate;
+import app.dependency.update.app.util.RunJournalUtils;
 import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
@@ -24,6 +32,10 @@ public class UpdateNpmDependencies {
   private final List<Repository> repositories;
   private final ScriptFile scriptFile;
   private final MongoRepoService mongoRepoService;
+  private final NpmRepoService npmRepoService;
+  private final Set<String> npmSkips;
+  private final RepoFingerprintService repoFingerprintService;
+  private final RepoScheduleService repoScheduleService;
 
   public UpdateNpmDependencies(
       final AppInitData appInitData, final MongoRepoService mongoRepoService) {
@@ -41,46 +53,58 @@ public class UpdateNpmDependencies {
                     new AppDependencyUpdateRuntimeException(
                         "NPM Dependencies Script Not Found..."));
     this.mongoRepoService = mongoRepoService;
+    this.npmRepoService = ApplicationContextUtil.getBean(NpmRepoService.class);
+    this.npmSkips = getNpmSkips();
+    this.repoFingerprintService = ApplicationContextUtil.getBean(RepoFingerprintService.class);
+    this.repoScheduleService = ApplicationContextUtil.getBean(RepoScheduleService.class);
   }
 
   public void updateNpmDependencies() {
-    List<Thread> threads = new ArrayList<>();
-    for (Repository repository : this.repositories) {
-      threads.add(executeUpdate(repository));
+    List<Future<?>> futures = new ArrayList<>();
+    List<Repository> orderedRepositories =
+        this.repoScheduleService.orderLongestFirst(
+            this.repositories, EnumSet.of(RepoPhase.REWRITE, RepoPhase.SCRIPT));
+    for (Repository repository : orderedRepositories) {
+      futures.add(executeUpdate(repository));
     }
-    threads.forEach(this::join);
+    ExecutorUtils.joinAll(futures);
   }
 
-  private Thread executeUpdate(final Repository repository) {
+  private Future<?> executeUpdate(final Repository repository) {
     log.debug("Execute Node Dependencies Update on: [ {} ]", repository);
+    return getExecuteNodeNpmUpdate(repository).start();
+  }
+
+  public ExecuteNodeNpmUpdate getExecuteNodeNpmUpdate(final Repository repository) {
+    return getExecuteNodeNpmUpdate(repository, RepoFileWriter.FILE_SYSTEM);
+  }
+
+  public ExecuteNodeNpmUpdate getExecuteNodeNpmUpdate(
+      final Repository repository, final RepoFileWriter repoFileWriter) {
     List<String> arguments = new LinkedList<>();
     arguments.add(repository.getRepoPath().toString());
-    arguments.add(String.format(BRANCH_UPDATE_DEPENDENCIES, LocalDate.now()));
-    arguments.add(getNpmSkips());
+    arguments.add(RunJournalUtils.getBranchName());
     return new ExecuteNodeNpmUpdate(
-            this.latestVersionsModel, repository, this.scriptFile, arguments)
-        .start();
+        this.latestVersionsModel,
+        repository,
+        this.scriptFile,
+        arguments,
+        this.npmRepoService,
+        this.npmSkips,
+        this.repoFingerprintService,
+        repoFileWriter);
   }
 
-  private String getNpmSkips() {
+  private Set<String> getNpmSkips() {
     Map<String, NpmSkips> npmSkipsMap = this.mongoRepoService.npmSkipsMap();
-    List<String> npmSkips =
-        npmSkipsMap.values().stream().filter(NpmSkips::isActive).map(NpmSkips::getName).toList();
-    if (npmSkips.isEmpty()) {
-      return ",";
-    } else {
-      ProcessUtils.setMongoNpmSkipsActive(npmSkips.size());
-    }
-    return String.join(",", npmSkips);
-  }
-
-  // suppressing sonarlint rule for interrupting thread
-  @SuppressWarnings("java:S2142")
-  private void join(final Thread thread) {
-    try {
-      thread.join();
-    } catch (InterruptedException ex) {
-      log.error("Exception Join Thread", ex);
+    Set<String> activeNpmSkips =
+        npmSkipsMap.values().stream()
+            .filter(NpmSkips::isActive)
+            .map(NpmSkips::getName)
+            .collect(Collectors.toSet());
+    if (!activeNpmSkips.isEmpty()) {
+      ProcessUtils.setMongoNpmSkipsActive(activeNpmSkips.size());
     }
+    return activeNpmSkips;
   }
 }
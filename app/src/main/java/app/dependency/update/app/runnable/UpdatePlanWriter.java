@@ -0,0 +1,117 @@
+package app.dependency.update.app.runnable;
+
+import app.dependency.update.app.model.Repository;
+import app.dependency.update.app.model.UpdatePlanEntry;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/*
+ Collects what the files update would change in a repository instead of writing it
+ updated content is compared with the file as is, each changed line becomes a plan entry
+ content is kept in memory, so a file updated again (eg: Dockerfile of a repository listed for
+ two types) is compared with the planned content and not listed twice
+*/
+public class UpdatePlanWriter implements RepoFileWriter {
+  private final Repository repository;
+  private final Map<Path, List<String>> plannedContents = new HashMap<>();
+  private final List<UpdatePlanEntry> updatePlanEntries = new ArrayList<>();
+
+  public UpdatePlanWriter(final Repository repository) {
+    this.repository = repository;
+  }
+
+  @Override
+  public void write(final Path path, final List<String> content) throws IOException {
+    final List<String> oldContent =
+        this.plannedContents.containsKey(path)
+            ? this.plannedContents.get(path)
+            : Files.readAllLines(path);
+    this.plannedContents.put(path, List.copyOf(content));
+    final String file = this.repository.getRepoPath().relativize(path).toString();
+
+    // rewriters replace lines in place, skip what is same at both ends in case lines were added
+    int start = 0;
+    while (start < oldContent.size()
+        && start < content.size()
+        && oldContent.get(start).equals(content.get(start))) {
+      start++;
+    }
+    int oldEnd = oldContent.size();
+    int newEnd = content.size();
+    while (oldEnd > start
+        && newEnd > start
+        && oldContent.get(oldEnd - 1).equals(content.get(newEnd - 1))) {
+      oldEnd--;
+      newEnd--;
+    }
+
+    for (int i = start; i < Math.max(oldEnd, newEnd); i++) {
+      final String oldLine = i < oldEnd ? oldContent.get(i) : null;
+      final String newLine = i < newEnd ? content.get(i) : null;
+      if (oldLine != null && oldLine.equals(newLine)) {
+        continue;
+      }
+      this.updatePlanEntries.add(getUpdatePlanEntry(file, i + 1, oldLine, newLine));
+    }
+  }
+
+  @Override
+  public boolean isDryRun() {
+    return true;
+  }
+
+  public List<UpdatePlanEntry> getUpdatePlanEntries() {
+    return List.copyOf(this.updatePlanEntries);
+  }
+
+  private UpdatePlanEntry getUpdatePlanEntry(
+      final String file, final int lineNumber, final String oldLine, final String newLine) {
+    UpdatePlanEntry.UpdatePlanEntryBuilder builder =
+        UpdatePlanEntry.builder()
+            .repoName(this.repository.getRepoName())
+            .file(file)
+            .lineNumber(lineNumber)
+            .line(newLine == null ? oldLine.trim() : newLine.trim());
+
+    if (oldLine != null && newLine != null) {
+      // eg: implementation 'org.slf4j:slf4j-api:2.0.16' -> 2.0.16 and 2.0.17
+      int prefix = 0;
+      while (prefix < oldLine.length()
+          && prefix < newLine.length()
+          && oldLine.charAt(prefix) == newLine.charAt(prefix)) {
+        prefix++;
+      }
+      int suffix = 0;
+      while (suffix < oldLine.length() - prefix
+          && suffix < newLine.length() - prefix
+          && oldLine.charAt(oldLine.length() - 1 - suffix)
+              == newLine.charAt(newLine.length() - 1 - suffix)) {
+        suffix++;
+      }
+      // widen to the whole version, the changed part can be just the last digit
+      while (prefix > 0 && isVersionCharacter(oldLine.charAt(prefix - 1))) {
+        prefix--;
+      }
+      while (suffix > 0 && isVersionCharacter(oldLine.charAt(oldLine.length() - suffix))) {
+        suffix--;
+      }
+      builder
+          .oldVersion(oldLine.substring(prefix, oldLine.length() - suffix))
+          .newVersion(newLine.substring(prefix, newLine.length() - suffix));
+    }
+    return builder.build();
+  }
+
+  private boolean isVersionCharacter(final char character) {
+    return Character.isLetterOrDigit(character)
+        || character == '.'
+        || character == '-'
+        || character == '_'
+        || character == '+';
+  }
+}
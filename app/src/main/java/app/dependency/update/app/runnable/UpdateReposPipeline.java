@@ -0,0 +1,339 @@
+package app.dependency.update.app.runnable;
+
+import static app.dependency.update.app.util.CommonUtils.*;
+import static app.dependency.update.app.util.ConstantUtils.*;
+
+import app.dependency.update.app.model.AppInitData;
+import app.dependency.update.app.model.ProcessedRepository;
+import app.dependency.update.app.model.Repository;
+import app.dependency.update.app.service.MongoRepoService;
+import app.dependency.update.app.service.RepoScheduleService;
+import app.dependency.update.app.util.AppInitDataUtils;
+import app.dependency.update.app.util.ApplicationContextUtil;
+import app.dependency.update.app.util.ExecutorUtils;
+import app.dependency.update.app.util.ProcessUtils;
+import app.dependency.update.app.util.RunJournalUtils;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+
+/*
+ Each repository moves through the stages on its own, stages are connected by bounded queues
+ so a slow repository in one stage does not hold back the other repositories
+ reset -> pull -> update files -> create pr -> await pr checks -> merge pr -> pull
+ repositories are read again after the pull, as it could change their gradle version or modules
+ pr checks are awaited until one deadline for the whole run, same as the merge watcher
+*/
+@Slf4j
+public class UpdateReposPipeline {
+  private static final PipelineItem END_OF_ITEMS = new PipelineItem(List.of());
+
+  private final List<PipelineItem> pipelineItems;
+  private final String branchName;
+  private final UpdateType updateType;
+  private final boolean isGithubResetPullRequired;
+  private final UpdateGradleDependencies updateGradleDependencies;
+  private final UpdatePythonDependencies updatePythonDependencies;
+  private final UpdateNpmDependencies updateNpmDependencies;
+  private Instant prChecksDeadline;
+
+  public UpdateReposPipeline(
+      final AppInitData appInitData,
+      final MongoRepoService mongoRepoService,
+      final UpdateType updateType,
+      final boolean isGithubResetPullRequired) {
+    this.branchName = RunJournalUtils.getBranchName();
+    this.updateType = updateType;
+    this.isGithubResetPullRequired = isGithubResetPullRequired;
+    this.updateGradleDependencies =
+        isIncluded(updateType, UpdateType.GRADLE_DEPENDENCIES)
+            ? new UpdateGradleDependencies(appInitData, mongoRepoService)
+            : null;
+    this.updatePythonDependencies =
+        isIncluded(updateType, UpdateType.PYTHON_DEPENDENCIES)
+            ? new UpdatePythonDependencies(appInitData, mongoRepoService)
+            : null;
+    this.updateNpmDependencies =
+        isIncluded(updateType, UpdateType.NPM_DEPENDENCIES)
+            ? new UpdateNpmDependencies(appInitData, mongoRepoService)
+            : null;
+
+    // same repository could be listed for more than one type, keep them together
+    Map<Path, List<Repository>> repositoriesByPath =
+        appInitData.getRepositories().stream()
+            .filter(repository -> isIncluded(updateType, repository.getType()))
+            .collect(
+                Collectors.groupingBy(
+                    Repository::getRepoPath, LinkedHashMap::new, Collectors.toList()));
+    // items enter the stages in this order, so the longest ones do not start last
+    this.pipelineItems =
+        ApplicationContextUtil.getBean(RepoScheduleService.class)
+            .orderLongestFirst(
+                repositoriesByPath.values().stream().map(PipelineItem::new).toList(),
+                PipelineItem::getRepository,
+                EnumSet.allOf(RepoPhase.class));
+  }
+
+  private boolean isIncluded(final UpdateType updateType, final UpdateType repositoryType) {
+    return updateType == UpdateType.ALL || updateType == repositoryType;
+  }
+
+  public void updateReposPipeline() {
+    log.info("Execute Update Repos Pipeline on: [ {} ] repositories", this.pipelineItems.size());
+    this.prChecksDeadline = Instant.now().plus(UpdateGithubMergeWatcher.getMergeWatchDuration());
+    List<PipelineStage> pipelineStages =
+        List.of(
+            new PipelineStage("Reset", PIPELINE_STAGE_WORKERS, this::resetRepository),
+            new PipelineStage("Pull", PIPELINE_STAGE_WORKERS, this::pullRepository),
+            new PipelineStage("FilesUpdate", PIPELINE_STAGE_WORKERS, this::updateFiles),
+            new PipelineStage("PrCreate", PIPELINE_STAGE_WORKERS, this::createPr),
+            // waiting for checks is mostly sleeping, so more workers
+            new PipelineStage("PrChecks", PIPELINE_AWAIT_WORKERS, this::awaitPrChecks),
+            new PipelineStage("PrMerge", PIPELINE_STAGE_WORKERS, this::mergePr),
+            new PipelineStage("PullMerged", PIPELINE_STAGE_WORKERS, this::pullMergedRepository));
+
+    List<Future<?>> futures = new ArrayList<>();
+    for (int i = 0; i < pipelineStages.size(); i++) {
+      PipelineStage pipelineStage = pipelineStages.get(i);
+      PipelineStage nextPipelineStage =
+          i + 1 < pipelineStages.size() ? pipelineStages.get(i + 1) : null;
+      for (int j = 0; j < pipelineStage.workers; j++) {
+        futures.add(
+            ExecutorUtils.submit(
+                this.getClass().getSimpleName() + "-" + pipelineStage.name + "-" + j,
+                () -> runStage(pipelineStage, nextPipelineStage)));
+      }
+    }
+
+    PipelineStage firstPipelineStage = pipelineStages.getFirst();
+    for (PipelineItem pipelineItem : this.pipelineItems) {
+      putItem(firstPipelineStage, pipelineItem);
+    }
+    endStage(firstPipelineStage);
+
+    ExecutorUtils.joinAll(futures);
+    log.info("Finished Update Repos Pipeline...");
+  }
+
+  private void runStage(final PipelineStage pipelineStage, final PipelineStage nextPipelineStage) {
+    while (true) {
+      PipelineItem pipelineItem = takeItem(pipelineStage);
+      if (pipelineItem == END_OF_ITEMS) {
+        break;
+      }
+
+      boolean isContinue;
+      try {
+        isContinue = pipelineStage.action.test(pipelineItem);
+      } catch (Exception ex) {
+        log.error(
+            "Error in Pipeline Stage: [ {} ] [ {} ]",
+            pipelineStage.name,
+            pipelineItem.getRepoName(),
+            ex);
+        isContinue = false;
+      }
+
+      if (isContinue && nextPipelineStage != null) {
+        putItem(nextPipelineStage, pipelineItem);
+      } else {
+        log.debug(
+            "Pipeline Finished for Repository: [ {} ] at [ {} ]",
+            pipelineItem.getRepoName(),
+            pipelineStage.name);
+      }
+    }
+
+    // last worker of the stage to finish lets the next stage know that no more items are coming
+    if (pipelineStage.activeWorkers.decrementAndGet() == 0 && nextPipelineStage != null) {
+      endStage(nextPipelineStage);
+    }
+  }
+
+  private void endStage(final PipelineStage pipelineStage) {
+    for (int i = 0; i < pipelineStage.workers; i++) {
+      putItem(pipelineStage, END_OF_ITEMS);
+    }
+  }
+
+  // suppressing sonarlint rule for interrupting thread
+  @SuppressWarnings("java:S2142")
+  private void putItem(final PipelineStage pipelineStage, final PipelineItem pipelineItem) {
+    try {
+      pipelineStage.queue.put(pipelineItem);
+    } catch (InterruptedException ex) {
+      log.error("Exception Put Pipeline Item: [ {} ]", pipelineStage.name, ex);
+    }
+  }
+
+  // suppressing sonarlint rule for interrupting thread
+  @SuppressWarnings("java:S2142")
+  private PipelineItem takeItem(final PipelineStage pipelineStage) {
+    try {
+      return pipelineStage.queue.take();
+    } catch (InterruptedException ex) {
+      log.error("Exception Take Pipeline Item: [ {} ]", pipelineStage.name, ex);
+      return END_OF_ITEMS;
+    }
+  }
+
+  /*
+   * PIPELINE STAGES
+   */
+
+  private boolean resetRepository(final PipelineItem pipelineItem) {
+    if (this.isGithubResetPullRequired) {
+      Repository repository = pipelineItem.getRepository();
+      new ExecuteRepoCommand(repository, "git", "checkout", BRANCH_MAIN).executeCommand();
+      new ExecuteRepoCommand(repository, "git", "reset", "--hard").executeCommand();
+    }
+    return true;
+  }
+
+  private boolean pullRepository(final PipelineItem pipelineItem) {
+    if (this.isGithubResetPullRequired) {
+      pullMergedRepository(pipelineItem);
+      refreshRepositories(pipelineItem);
+    }
+    return true;
+  }
+
+  private void refreshRepositories(final PipelineItem pipelineItem) {
+    final Path repoPath = pipelineItem.getRepository().getRepoPath();
+    List<Repository> repositories =
+        AppInitDataUtils.refreshRepositories(Set.of(repoPath)).getRepositories().stream()
+            .filter(
+                repository ->
+                    repository.getRepoPath().equals(repoPath)
+                        && isIncluded(this.updateType, repository.getType()))
+            .toList();
+    if (repositories.isEmpty()) {
+      log.error("Pipeline Repository Not Found After Pull: [ {} ]", repoPath);
+    } else {
+      pipelineItem.repositories = repositories;
+    }
+  }
+
+  private boolean updateFiles(final PipelineItem pipelineItem) {
+    for (Repository repository : pipelineItem.repositories) {
+      ExecuteRepositoryUpdate executeRepositoryUpdate = getExecuteRepositoryUpdate(repository);
+      if (executeRepositoryUpdate == null) {
+        continue;
+      }
+      executeRepositoryUpdate.resolveVersions();
+      if (ExecutorUtils.executeRewrite(
+          () ->
+              ProcessUtils.executeRepoPhase(
+                  repository.getRepoName(),
+                  RepoPhase.REWRITE,
+                  executeRepositoryUpdate::executeFilesUpdate))) {
+        pipelineItem.executeRepositoryUpdates.add(executeRepositoryUpdate);
+      }
+    }
+    if (pipelineItem.executeRepositoryUpdates.isEmpty()) {
+      // nothing to update, the repository is done
+      updateRepoStageUpdated(pipelineItem);
+      return false;
+    }
+    return true;
+  }
+
+  private void updateRepoStageUpdated(final PipelineItem pipelineItem) {
+    pipelineItem.repositories.forEach(
+        repository ->
+            RunJournalUtils.updateRepoStage(
+                repository.getRepoName(), repository.getType(), RepoStage.UPDATED));
+  }
+
+  private boolean createPr(final PipelineItem pipelineItem) {
+    pipelineItem.executeRepositoryUpdates.forEach(ExecuteRepositoryUpdate::executeScriptFile);
+    updateRepoStageUpdated(pipelineItem);
+    ProcessedRepository processedRepository =
+        ProcessUtils.getProcessedRepositoriesMap().get(pipelineItem.getRepoName());
+    return processedRepository != null && processedRepository.isPrCreated();
+  }
+
+  private boolean awaitPrChecks(final PipelineItem pipelineItem) {
+    PrCheckStatus prCheckStatus =
+        UpdateGithubMergeWatcher.awaitPrChecks(
+            pipelineItem.getRepository(), this.branchName, this.prChecksDeadline);
+    log.debug(
+        "Pipeline PR Checks Status: [ {} ] [ {} ]", pipelineItem.getRepoName(), prCheckStatus);
+    return prCheckStatus == PrCheckStatus.READY;
+  }
+
+  private boolean mergePr(final PipelineItem pipelineItem) {
+    return UpdateGithubMergeWatcher.mergePr(pipelineItem.getRepository(), this.branchName);
+  }
+
+  private boolean pullMergedRepository(final PipelineItem pipelineItem) {
+    Repository repository = pipelineItem.getRepository();
+    new ExecuteRepoCommand(repository, "git", "fetch", "--prune").executeCommand();
+    new ExecuteRepoCommand(repository, "git", "pull").executeCommand();
+    return true;
+  }
+
+  private ExecuteRepositoryUpdate getExecuteRepositoryUpdate(final Repository repository) {
+    return switch (repository.getType()) {
+      case GRADLE_DEPENDENCIES ->
+          this.updateGradleDependencies == null
+              ? null
+              : this.updateGradleDependencies.getExecuteGradleUpdate(repository);
+      case PYTHON_DEPENDENCIES ->
+          this.updatePythonDependencies == null
+              ? null
+              : this.updatePythonDependencies.getExecutePythonUpdate(repository);
+      case NPM_DEPENDENCIES ->
+          this.updateNpmDependencies == null
+              ? null
+              : this.updateNpmDependencies.getExecuteNodeNpmUpdate(repository);
+      default -> null;
+    };
+  }
+
+  private static class PipelineStage {
+    private final String name;
+    private final int workers;
+    private final Predicate<PipelineItem> action;
+    private final BlockingQueue<PipelineItem> queue;
+    private final AtomicInteger activeWorkers;
+
+    private PipelineStage(
+        final String name, final int workers, final Predicate<PipelineItem> action) {
+      this.name = name;
+      this.workers = workers;
+      this.action = action;
+      this.queue = new ArrayBlockingQueue<>(PIPELINE_QUEUE_CAPACITY);
+      this.activeWorkers = new AtomicInteger(workers);
+    }
+  }
+
+  private static class PipelineItem {
+    private List<Repository> repositories;
+    private final List<ExecuteRepositoryUpdate> executeRepositoryUpdates = new ArrayList<>();
+
+    private PipelineItem(final List<Repository> repositories) {
+      this.repositories = repositories;
+    }
+
+    private Repository getRepository() {
+      return this.repositories.getFirst();
+    }
+
+    private String getRepoName() {
+      return this.repositories.isEmpty() ? "" : getRepository().getRepoName();
+    }
+  }
+}
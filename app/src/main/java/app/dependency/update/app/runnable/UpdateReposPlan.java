@@ -0,0 +1,128 @@
+package app.dependency.update.app.runnable;
+
+import static app.dependency.update.app.util.CommonUtils.*;
+
+import app.dependency.update.app.model.AppInitData;
+import app.dependency.update.app.model.Repository;
+import app.dependency.update.app.model.UpdatePlanEntry;
+import app.dependency.update.app.service.MongoRepoService;
+import app.dependency.update.app.util.ExecutorUtils;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+
+/*
+ Runs the files update of repositories without writing any file, running any script or git command
+ repositories are planned at the same time, each plan is handed over as soon as it is done
+*/
+@Slf4j
+public class UpdateReposPlan {
+  private final List<List<Repository>> repositoriesByPath;
+  private final UpdateGradleDependencies updateGradleDependencies;
+  private final UpdatePythonDependencies updatePythonDependencies;
+  private final UpdateNpmDependencies updateNpmDependencies;
+
+  public UpdateReposPlan(
+      final AppInitData appInitData,
+      final MongoRepoService mongoRepoService,
+      final UpdateType updateType,
+      final String repoName) {
+    this.updateGradleDependencies =
+        isIncluded(updateType, UpdateType.GRADLE_DEPENDENCIES)
+            ? new UpdateGradleDependencies(appInitData, mongoRepoService)
+            : null;
+    this.updatePythonDependencies =
+        isIncluded(updateType, UpdateType.PYTHON_DEPENDENCIES)
+            ? new UpdatePythonDependencies(appInitData, mongoRepoService)
+            : null;
+    this.updateNpmDependencies =
+        isIncluded(updateType, UpdateType.NPM_DEPENDENCIES)
+            ? new UpdateNpmDependencies(appInitData, mongoRepoService)
+            : null;
+
+    // same repository could be listed for more than one type, plan them together
+    Map<Path, List<Repository>> repositoriesMap =
+        appInitData.getRepositories().stream()
+            .filter(repository -> isIncluded(updateType, repository.getType()))
+            .filter(repository -> isEmpty(repoName) || repoName.equals(repository.getRepoName()))
+            .collect(
+                Collectors.groupingBy(
+                    Repository::getRepoPath, LinkedHashMap::new, Collectors.toList()));
+    this.repositoriesByPath = new ArrayList<>(repositoriesMap.values());
+  }
+
+  private boolean isIncluded(final UpdateType updateType, final UpdateType repositoryType) {
+    return updateType == UpdateType.ALL || updateType == repositoryType;
+  }
+
+  /**
+   * @param consumer receives plan of each repository, called from more than one thread
+   * @return number of changed lines in all plans
+   */
+  public int updateReposPlan(final Consumer<List<UpdatePlanEntry>> consumer) {
+    log.info("Execute Update Repos Plan on: [ {} ] repositories", this.repositoriesByPath.size());
+    final Instant startTime = Instant.now();
+    final AtomicInteger updatePlanEntriesCount = new AtomicInteger();
+
+    List<Future<?>> futures = new ArrayList<>();
+    for (List<Repository> repositories : this.repositoriesByPath) {
+      futures.add(
+          ExecutorUtils.submit(
+              threadName(repositories.getFirst(), this.getClass().getSimpleName()),
+              () -> {
+                List<UpdatePlanEntry> updatePlanEntries = planRepository(repositories);
+                updatePlanEntriesCount.addAndGet(updatePlanEntries.size());
+                consumer.accept(updatePlanEntries);
+              }));
+    }
+    ExecutorUtils.joinAll(futures);
+
+    log.info(
+        "Finished Update Repos Plan: [ {} ] repositories [ {} ] changes in [ {} ]",
+        this.repositoriesByPath.size(),
+        updatePlanEntriesCount.get(),
+        Duration.between(startTime, Instant.now()));
+    return updatePlanEntriesCount.get();
+  }
+
+  private List<UpdatePlanEntry> planRepository(final List<Repository> repositories) {
+    UpdatePlanWriter updatePlanWriter = new UpdatePlanWriter(repositories.getFirst());
+    for (Repository repository : repositories) {
+      ExecuteRepositoryUpdate executeRepositoryUpdate =
+          getExecuteRepositoryUpdate(repository, updatePlanWriter);
+      if (executeRepositoryUpdate != null) {
+        executeRepositoryUpdate.resolveVersions();
+        ExecutorUtils.executeRewrite(executeRepositoryUpdate::executeFilesUpdate);
+      }
+    }
+    return updatePlanWriter.getUpdatePlanEntries();
+  }
+
+  private ExecuteRepositoryUpdate getExecuteRepositoryUpdate(
+      final Repository repository, final RepoFileWriter repoFileWriter) {
+    return switch (repository.getType()) {
+      case GRADLE_DEPENDENCIES ->
+          this.updateGradleDependencies == null
+              ? null
+              : this.updateGradleDependencies.getExecuteGradleUpdate(repository, repoFileWriter);
+      case PYTHON_DEPENDENCIES ->
+          this.updatePythonDependencies == null
+              ? null
+              : this.updatePythonDependencies.getExecutePythonUpdate(repository, repoFileWriter);
+      case NPM_DEPENDENCIES ->
+          this.updateNpmDependencies == null
+              ? null
+              : this.updateNpmDependencies.getExecuteNodeNpmUpdate(repository, repoFileWriter);
+      default -> null;
+    };
+  }
+}
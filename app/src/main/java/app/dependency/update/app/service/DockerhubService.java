@@ -18,7 +18,8 @@ public class DockerhubService {
   public boolean checkIfDockerImageTagExists(final String library, final String tag) {
     log.debug("Check If Docker Image Tag Exists: [{}], [{}]", library, tag);
 
-    DockerhubResponse dockerhubResponse = dockerhubConnector.getDockerImageTag(library, tag);
+    DockerhubResponse dockerhubResponse =
+        dockerhubConnector.getDockerImageTag(library, tag).join();
     return dockerhubResponse != null
         && dockerhubResponse.getName() != null
         && !dockerhubResponse.getName().trim().isEmpty();
@@ -3,8 +3,6 @@ package app.dependency.update.app.service;
 import app.dependency.update.app.connector.FlywayConnector;
 import app.dependency.update.app.model.FlywayReleaseResponse;
 import app.dependency.update.app.model.LatestVersion;
-import java.util.List;
-import java.util.Optional;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
@@ -19,16 +17,12 @@ public class FlywayService {
   }
 
   public LatestVersion getLatestFlywayVersion() {
-    List<FlywayReleaseResponse> flywayReleaseResponses = flywayConnector.getFlywayReleases();
-
-    Optional<FlywayReleaseResponse> optionalLatestFlywayRelease =
-        flywayReleaseResponses.stream()
-            .filter(
+    FlywayReleaseResponse latestFlywayResponse =
+        flywayConnector
+            .getFirstFlywayRelease(
                 flywayReleaseResponse ->
                     !(flywayReleaseResponse.isPrerelease() || flywayReleaseResponse.isDraft()))
-            .findFirst();
-
-    FlywayReleaseResponse latestFlywayResponse = optionalLatestFlywayRelease.orElse(null);
+            .join();
     log.info("Latest Flyway Release: [{}]", latestFlywayResponse);
 
     if (latestFlywayResponse == null) {
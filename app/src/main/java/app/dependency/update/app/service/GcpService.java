@@ -26,7 +26,7 @@ public class GcpService {
     List<String> validKeys = List.of("java", "nodejs", "python");
     Map<String, String> latestRuntimesMap = new HashMap<>();
 
-    final Document document = gcpConnector.getGcpRuntimeSupportSchedule();
+    final Document document = gcpConnector.getGcpRuntimeSupportSchedule().join();
 
     if (document == null) {
       log.error("GCP Runtimes lookup Document is null...");
@@ -5,8 +5,6 @@ import static app.dependency.update.app.util.ConstantUtils.*;
 import app.dependency.update.app.connector.GithubActionsConnector;
 import app.dependency.update.app.model.GithubActionsReleaseResponse;
 import app.dependency.update.app.model.LatestVersion;
-import java.util.List;
-import java.util.Optional;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
@@ -46,19 +44,14 @@ public class GithubActionsService {
 
   private LatestVersion getLatestGithubActions(final String owner, final String repo) {
     final String endpoint = String.format(GITHUB_ACTIONS_RELEASES_ENDPOINT, owner, repo);
-    List<GithubActionsReleaseResponse> githubActionsReleaseResponses =
-        githubActionsConnector.getGithubActionsReleases(endpoint);
-
-    Optional<GithubActionsReleaseResponse> optionalLatestGithubActionRelease =
-        githubActionsReleaseResponses.stream()
-            .filter(
+    GithubActionsReleaseResponse latestGithubActionResponse =
+        githubActionsConnector
+            .getFirstGithubActionsRelease(
+                endpoint,
                 githubActionReleaseResponse ->
                     !(githubActionReleaseResponse.isPrerelease()
                         || githubActionReleaseResponse.isDraft()))
-            .findFirst();
-
-    GithubActionsReleaseResponse latestGithubActionResponse =
-        optionalLatestGithubActionRelease.orElse(null);
+            .join();
     log.info("Latest Github Action [{}/{}] Release: [{}]", owner, repo, latestGithubActionResponse);
 
     if (latestGithubActionResponse == null) {
@@ -6,8 +6,7 @@ import static app.dependency.update.app.util.ConstantUtils.*;
 import app.dependency.update.app.connector.GradleConnector;
 import app.dependency.update.app.model.GradleReleaseResponse;
 import app.dependency.update.app.model.LatestVersion;
-import java.util.List;
-import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import lombok.extern.slf4j.Slf4j;
 import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
@@ -27,14 +26,12 @@ public class GradleRepoService {
 
   public LatestVersion getLatestGradleVersion(
       final String latestJavaVersionMajor, final String latestDockerVersionFromMongo) {
-    List<GradleReleaseResponse> gradleReleaseResponses = gradleConnector.getGradleReleases();
-    Optional<GradleReleaseResponse> optionalLatestGradleRelease =
-        gradleReleaseResponses.stream()
-            .filter(
+    GradleReleaseResponse latestGradleRelease =
+        gradleConnector
+            .getFirstGradleRelease(
                 gradleReleaseResponse ->
                     !(gradleReleaseResponse.isPrerelease() || gradleReleaseResponse.isDraft()))
-            .findFirst();
-    GradleReleaseResponse latestGradleRelease = optionalLatestGradleRelease.orElse(null);
+            .join();
     log.info("Latest Gradle Release: [ {} ]", latestGradleRelease);
 
     if (latestGradleRelease == null) {
@@ -53,9 +50,14 @@ public class GradleRepoService {
         .build();
   }
 
-  public String getLatestGradlePlugin(final String group) {
+  public CompletableFuture<String> getLatestGradlePlugin(final String group) {
     log.debug("Get Latest Gradle Plugin: [ {} ]", group);
-    Document document = gradleConnector.getGradlePlugins(group);
+    return gradleConnector
+        .getGradlePlugins(group)
+        .thenApply(document -> getLatestGradlePlugin(group, document));
+  }
+
+  private String getLatestGradlePlugin(final String group, final Document document) {
     log.debug("Gradle Plugin Document: [ {} ] | [ {} ]", group, document);
     if (document != null) {
       Element versionElement = document.getElementsByClass("version-info").first();
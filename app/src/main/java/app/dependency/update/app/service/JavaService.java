@@ -7,8 +7,6 @@ import static app.dependency.update.app.util.ConstantUtils.DOCKER_JRE;
 import app.dependency.update.app.connector.JavaConnector;
 import app.dependency.update.app.model.JavaReleaseResponse;
 import app.dependency.update.app.model.LatestVersion;
-import java.util.List;
-import java.util.Optional;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
@@ -26,14 +24,11 @@ public class JavaService {
 
   public LatestVersion getLatestJavaVersion(
       final String latestGcpRuntimeVersion, final String latestDockerVersionFromMongo) {
-    List<JavaReleaseResponse.JavaVersion> javaReleaseVersions = javaConnector.getJavaReleases();
     // get rid of non lts and sort by version descending
-    Optional<JavaReleaseResponse.JavaVersion> optionalJavaReleaseVersion =
-        javaReleaseVersions.stream()
-            .filter(javaVersion -> "LTS".equals(javaVersion.getOptional()))
-            .findFirst();
-
-    JavaReleaseResponse.JavaVersion latestJavaRelease = optionalJavaReleaseVersion.orElse(null);
+    JavaReleaseResponse.JavaVersion latestJavaRelease =
+        javaConnector
+            .getFirstJavaRelease(javaVersion -> "LTS".equals(javaVersion.getOptional()))
+            .join();
     log.info("Latest Java Release: [ {} ]", latestJavaRelease);
 
     if (latestJavaRelease == null) {
@@ -1,5 +1,8 @@
 package app.dependency.update.app.service;
 
+import static app.dependency.update.app.util.CommonUtils.*;
+import static app.dependency.update.app.util.ConstantUtils.*;
+
 import app.dependency.update.app.model.LatestVersion;
 import app.dependency.update.app.model.LatestVersionGithubActions;
 import app.dependency.update.app.model.LatestVersionLanguages;
@@ -7,8 +10,13 @@ import app.dependency.update.app.model.LatestVersionServers;
 import app.dependency.update.app.model.LatestVersionTools;
 import app.dependency.update.app.model.LatestVersionsModel;
 import app.dependency.update.app.model.entities.LatestVersionsEntity;
+import app.dependency.update.app.util.ExecutorUtils;
+import java.util.Collections;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -38,31 +46,133 @@ public class LatestVersionsService {
       return null;
     }
 
-    Map<String, String> latestGcpRuntimes = gcpService.getLatestGcpRuntimes();
     LatestVersionsEntity latestVersionsEntity = mostRecentLatestVersionsOptional.get();
+    // lookups are independent of each other except languages needing gcp runtimes and gradle
+    // needing java, any lookup not complete by the timeout uses the version saved in mongo
+    final long timeoutMillis = getLatestVersionsTimeoutSeconds() * 1000L;
+
+    CompletableFuture<Map<String, String>> latestGcpRuntimesFuture =
+        withTimeout(
+            ExecutorUtils.supplyAsync("latestVersions-gcp", gcpService::getLatestGcpRuntimes),
+            Collections.emptyMap(),
+            "GCP Runtimes",
+            timeoutMillis);
 
     // languages
-    LatestVersion python =
-        getLatestVersionPython(latestVersionsEntity.getPython(), latestGcpRuntimes.get("python"));
-    LatestVersion node =
-        getLatestVersionNode(latestVersionsEntity.getNode(), latestGcpRuntimes.get("nodejs"));
-    LatestVersion java =
-        getLatestVersionJava(latestVersionsEntity.getJava(), latestGcpRuntimes.get("java"));
+    CompletableFuture<LatestVersion> pythonFuture =
+        withTimeout(
+            latestGcpRuntimesFuture.thenCompose(
+                latestGcpRuntimes ->
+                    ExecutorUtils.supplyAsync(
+                        "latestVersions-python",
+                        () ->
+                            getLatestVersionPython(
+                                latestVersionsEntity.getPython(),
+                                latestGcpRuntimes.get("python")))),
+            latestVersionsEntity.getPython(),
+            "Python",
+            timeoutMillis);
+    CompletableFuture<LatestVersion> nodeFuture =
+        withTimeout(
+            latestGcpRuntimesFuture.thenCompose(
+                latestGcpRuntimes ->
+                    ExecutorUtils.supplyAsync(
+                        "latestVersions-node",
+                        () ->
+                            getLatestVersionNode(
+                                latestVersionsEntity.getNode(), latestGcpRuntimes.get("nodejs")))),
+            latestVersionsEntity.getNode(),
+            "Node",
+            timeoutMillis);
+    CompletableFuture<LatestVersion> javaFuture =
+        withTimeout(
+            latestGcpRuntimesFuture.thenCompose(
+                latestGcpRuntimes ->
+                    ExecutorUtils.supplyAsync(
+                        "latestVersions-java",
+                        () ->
+                            getLatestVersionJava(
+                                latestVersionsEntity.getJava(), latestGcpRuntimes.get("java")))),
+            latestVersionsEntity.getJava(),
+            "Java",
+            timeoutMillis);
     // actions
-    LatestVersion codeql = getLatestVersionGithubCodeql(latestVersionsEntity.getCodeql());
-    LatestVersion setupPython =
-        getLatestVersionGithubSetupPython(latestVersionsEntity.getSetupPython());
-    LatestVersion setupNode = getLatestVersionGithubSetupNode(latestVersionsEntity.getSetupNode());
-    LatestVersion setupGradle =
-        getLatestVersionGithubSetupGradle(latestVersionsEntity.getSetupGradle());
-    LatestVersion setupJava = getLatestVersionGithubSetupJava(latestVersionsEntity.getSetupJava());
-    LatestVersion checkout = getLatestVersionGithubCheckout(latestVersionsEntity.getCheckout());
+    CompletableFuture<LatestVersion> codeqlFuture =
+        getLatestVersionAsync(
+            "Github Codeql",
+            () -> getLatestVersionGithubCodeql(latestVersionsEntity.getCodeql()),
+            latestVersionsEntity.getCodeql(),
+            timeoutMillis);
+    CompletableFuture<LatestVersion> setupPythonFuture =
+        getLatestVersionAsync(
+            "Github Setup Python",
+            () -> getLatestVersionGithubSetupPython(latestVersionsEntity.getSetupPython()),
+            latestVersionsEntity.getSetupPython(),
+            timeoutMillis);
+    CompletableFuture<LatestVersion> setupNodeFuture =
+        getLatestVersionAsync(
+            "Github Setup Node",
+            () -> getLatestVersionGithubSetupNode(latestVersionsEntity.getSetupNode()),
+            latestVersionsEntity.getSetupNode(),
+            timeoutMillis);
+    CompletableFuture<LatestVersion> setupGradleFuture =
+        getLatestVersionAsync(
+            "Github Setup Gradle",
+            () -> getLatestVersionGithubSetupGradle(latestVersionsEntity.getSetupGradle()),
+            latestVersionsEntity.getSetupGradle(),
+            timeoutMillis);
+    CompletableFuture<LatestVersion> setupJavaFuture =
+        getLatestVersionAsync(
+            "Github Setup Java",
+            () -> getLatestVersionGithubSetupJava(latestVersionsEntity.getSetupJava()),
+            latestVersionsEntity.getSetupJava(),
+            timeoutMillis);
+    CompletableFuture<LatestVersion> checkoutFuture =
+        getLatestVersionAsync(
+            "Github Checkout",
+            () -> getLatestVersionGithubCheckout(latestVersionsEntity.getCheckout()),
+            latestVersionsEntity.getCheckout(),
+            timeoutMillis);
     // tools
-    LatestVersion gradle =
-        getLatestVersionGradle(latestVersionsEntity.getGradle(), java.getVersionMajor());
-    LatestVersion flyway = getLatestVersionFlyway(latestVersionsEntity.getFlyway());
+    CompletableFuture<LatestVersion> gradleFuture =
+        withTimeout(
+            javaFuture.thenCompose(
+                java ->
+                    ExecutorUtils.supplyAsync(
+                        "latestVersions-gradle",
+                        () ->
+                            getLatestVersionGradle(
+                                latestVersionsEntity.getGradle(), java.getVersionMajor()))),
+            latestVersionsEntity.getGradle(),
+            "Gradle",
+            timeoutMillis);
+    CompletableFuture<LatestVersion> flywayFuture =
+        getLatestVersionAsync(
+            "Flyway",
+            () -> getLatestVersionFlyway(latestVersionsEntity.getFlyway()),
+            latestVersionsEntity.getFlyway(),
+            timeoutMillis);
     // servers
-    LatestVersion nginx = getLatestVersionNginx(latestVersionsEntity.getNginx());
+    CompletableFuture<LatestVersion> nginxFuture =
+        getLatestVersionAsync(
+            "Nginx",
+            () -> getLatestVersionNginx(latestVersionsEntity.getNginx()),
+            latestVersionsEntity.getNginx(),
+            timeoutMillis);
+
+    // every future completes, either with the latest version or the fallback, by the timeout
+    LatestVersion python = pythonFuture.join();
+    LatestVersion node = nodeFuture.join();
+    LatestVersion java = javaFuture.join();
+    LatestVersion codeql = codeqlFuture.join();
+    LatestVersion setupPython = setupPythonFuture.join();
+    LatestVersion setupNode = setupNodeFuture.join();
+    LatestVersion setupGradle = setupGradleFuture.join();
+    LatestVersion setupJava = setupJavaFuture.join();
+    LatestVersion checkout = checkoutFuture.join();
+    LatestVersion gradle = gradleFuture.join();
+    LatestVersion flyway = flywayFuture.join();
+    LatestVersion nginx = nginxFuture.join();
 
     LatestVersionsModel latestVersionsModel =
         LatestVersionsModel.builder()
@@ -88,6 +198,41 @@ public class LatestVersionsService {
     return latestVersionsModel;
   }
 
+  private CompletableFuture<LatestVersion> getLatestVersionAsync(
+      final String name,
+      final Supplier<LatestVersion> supplier,
+      final LatestVersion latestVersionInMongo,
+      final long timeoutMillis) {
+    return withTimeout(
+        ExecutorUtils.supplyAsync("latestVersions-" + name, supplier),
+        latestVersionInMongo,
+        name,
+        timeoutMillis);
+  }
+
+  private <T> CompletableFuture<T> withTimeout(
+      final CompletableFuture<T> future,
+      final T fallback,
+      final String name,
+      final long timeoutMillis) {
+    return future
+        .orTimeout(timeoutMillis, TimeUnit.MILLISECONDS)
+        .exceptionally(
+            ex -> {
+              log.error("Get Latest Version Not Complete, Using Fallback: [ {} ]", name, ex);
+              return fallback;
+            });
+  }
+
+  private int getLatestVersionsTimeoutSeconds() {
+    int timeoutSeconds =
+        parseIntSafe(
+            getSystemEnvProperty(
+                ENV_LATEST_VERSIONS_TIMEOUT_SECONDS,
+                String.valueOf(LATEST_VERSIONS_TIMEOUT_SECONDS_DEFAULT)));
+    return timeoutSeconds > 0 ? timeoutSeconds : LATEST_VERSIONS_TIMEOUT_SECONDS_DEFAULT;
+  }
+
   private LatestVersion getLatestVersionNginx(final LatestVersion latestVersionInMongo) {
     try {
       return nginxService.getLatestNginxVersion(latestVersionInMongo.getVersionDocker());
@@ -1,14 +1,17 @@
 package app.dependency.update.app.service;
 
 import static app.dependency.update.app.util.CommonUtils.*;
+import static app.dependency.update.app.util.ConstantUtils.*;
 
 import app.dependency.update.app.connector.MavenConnector;
+import app.dependency.update.app.model.CatalogSnapshotEntry;
 import app.dependency.update.app.model.LatestVersionsModel;
 import app.dependency.update.app.model.MavenDoc;
 import app.dependency.update.app.model.MavenResponse;
 import app.dependency.update.app.model.MavenSearchResponse;
 import app.dependency.update.app.model.MongoProcessSummaries;
 import app.dependency.update.app.model.ProcessSummary;
+import app.dependency.update.app.model.Version;
 import app.dependency.update.app.model.entities.Dependencies;
 import app.dependency.update.app.model.entities.LatestVersionsEntity;
 import app.dependency.update.app.model.entities.NpmSkips;
@@ -21,25 +24,41 @@ import app.dependency.update.app.repository.NpmSkipsRepository;
 import app.dependency.update.app.repository.PackagesRepository;
 import app.dependency.update.app.repository.PluginsRepository;
 import app.dependency.update.app.repository.ProcessSummariesRepository;
-import app.dependency.update.app.util.CommonUtils;
+import app.dependency.update.app.util.CatalogCache;
+import app.dependency.update.app.util.CatalogSnapshotUtils;
+import app.dependency.update.app.util.ExecutorUtils;
 import app.dependency.update.app.util.ProcessUtils;
+import app.dependency.update.app.util.UpstreamRefreshUtils;
+import com.mongodb.bulk.BulkWriteResult;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
-import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
 import org.springframework.beans.BeanUtils;
-import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.Cacheable;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 
 @Slf4j
@@ -55,6 +74,12 @@ public class MongoRepoService {
   private final MavenConnector mavenConnector;
   private final GradleRepoService gradleRepoService;
   private final PypiRepoService pypiRepoService;
+  private final MongoTemplate mongoTemplate;
+  private final MongoWriteBehindService mongoWriteBehindService;
+  private final CatalogCache<Plugins> pluginsCatalog;
+  private final CatalogCache<Dependencies> dependenciesCatalog;
+  private final CatalogCache<Packages> packagesCatalog;
+  private final CatalogCache<NpmSkips> npmSkipsCatalog;
 
   public MongoRepoService(
       final PluginsRepository pluginsRepository,
@@ -65,7 +90,9 @@ public class MongoRepoService {
       final LatestVersionsRepository latestVersionsRepository,
       final MavenConnector mavenConnector,
       final GradleRepoService gradleRepoService,
-      final PypiRepoService pypiRepoService) {
+      final PypiRepoService pypiRepoService,
+      final MongoTemplate mongoTemplate,
+      final MongoWriteBehindService mongoWriteBehindService) {
     this.pluginsRepository = pluginsRepository;
     this.dependenciesRepository = dependenciesRepository;
     this.packagesRepository = packagesRepository;
@@ -75,177 +102,404 @@ public class MongoRepoService {
     this.mavenConnector = mavenConnector;
     this.gradleRepoService = gradleRepoService;
     this.pypiRepoService = pypiRepoService;
+    this.mongoTemplate = mongoTemplate;
+    this.mongoWriteBehindService = mongoWriteBehindService;
+
+    final Duration catalogTtl = getCatalogTtl();
+    this.pluginsCatalog = new CatalogCache<>("plugins", catalogTtl, this::findPluginsMap);
+    this.dependenciesCatalog =
+        new CatalogCache<>("dependencies", catalogTtl, this::findDependenciesMap);
+    this.packagesCatalog = new CatalogCache<>("packages", catalogTtl, this::findPackagesMap);
+    this.npmSkipsCatalog = new CatalogCache<>("npmSkips", catalogTtl, this::findNpmSkipsMap);
+    seedCatalogsFromSnapshot();
+  }
+
+  private Duration getCatalogTtl() {
+    int catalogTtlMinutes =
+        parseIntSafe(
+            getSystemEnvProperty(
+                ENV_CATALOG_TTL_MINUTES, String.valueOf(CATALOG_TTL_MINUTES_DEFAULT)));
+    return Duration.ofMinutes(
+        catalogTtlMinutes > 0 ? catalogTtlMinutes : CATALOG_TTL_MINUTES_DEFAULT);
+  }
+
+  public Map<String, Map<String, Object>> catalogStats() {
+    Map<String, Map<String, Object>> catalogStats = new LinkedHashMap<>();
+    catalogStats.put("plugins", pluginsCatalog.stats());
+    catalogStats.put("dependencies", dependenciesCatalog.stats());
+    catalogStats.put("packages", packagesCatalog.stats());
+    catalogStats.put("npmSkips", npmSkipsCatalog.stats());
+    return catalogStats;
+  }
+
+  /**
+   * @return true if any catalog could not be loaded from mongo and is using previous entries
+   */
+  public boolean isCatalogDegraded() {
+    return pluginsCatalog.isDegraded()
+        || dependenciesCatalog.isDegraded()
+        || packagesCatalog.isDegraded()
+        || npmSkipsCatalog.isDegraded();
+  }
+
+  private Path getCatalogSnapshotPath() {
+    String repoHome = getSystemEnvProperty(ENV_REPO_NAME);
+    if (isEmpty(repoHome)) {
+      return null;
+    }
+    return Path.of(repoHome, APP_LOCAL_DIRECTORY, CATALOG_SNAPSHOT_FILE_NAME);
+  }
+
+  // local file read only, so catalogs are available right away without waiting for mongo
+  private void seedCatalogsFromSnapshot() {
+    Path snapshotPath = getCatalogSnapshotPath();
+    if (snapshotPath == null) {
+      return;
+    }
+    Map<String, List<CatalogSnapshotEntry>> snapshot =
+        CatalogSnapshotUtils.readSnapshot(snapshotPath);
+    if (snapshot == null) {
+      return;
+    }
+
+    seedCatalog(
+        pluginsCatalog,
+        snapshot.get("plugins"),
+        entry ->
+            Plugins.builder()
+                .id(entry.getId())
+                .group(entry.getKey())
+                .version(entry.getVersion())
+                .skipVersion(entry.isFlag())
+                .build());
+    seedCatalog(
+        dependenciesCatalog,
+        snapshot.get("dependencies"),
+        entry ->
+            Dependencies.builder()
+                .id(entry.getId())
+                .mavenId(entry.getKey())
+                .latestVersion(entry.getVersion())
+                .skipVersion(entry.isFlag())
+                .build());
+    seedCatalog(
+        packagesCatalog,
+        snapshot.get("packages"),
+        entry ->
+            Packages.builder()
+                .id(entry.getId())
+                .name(entry.getKey())
+                .version(entry.getVersion())
+                .skipVersion(entry.isFlag())
+                .build());
+    seedCatalog(
+        npmSkipsCatalog,
+        snapshot.get("npmSkips"),
+        entry ->
+            NpmSkips.builder()
+                .id(entry.getId())
+                .name(entry.getKey())
+                .version(entry.getVersion())
+                .isActive(entry.isFlag())
+                .build());
+  }
+
+  private <V> void seedCatalog(
+      final CatalogCache<V> catalog,
+      final List<CatalogSnapshotEntry> entries,
+      final Function<CatalogSnapshotEntry, V> toValue) {
+    if (entries != null) {
+      catalog.seed(
+          entries.stream()
+              .collect(
+                  Collectors.toMap(
+                      CatalogSnapshotEntry::getKey, toValue, (first, second) -> second)));
+    }
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void reconcileCatalogs() {
+    ExecutorUtils.submit(
+        "catalog-reconcile",
+        () -> {
+          boolean isReconciled = pluginsCatalog.reconcile();
+          isReconciled &= dependenciesCatalog.reconcile();
+          isReconciled &= packagesCatalog.reconcile();
+          isReconciled &= npmSkipsCatalog.reconcile();
+          if (isReconciled) {
+            saveCatalogSnapshot();
+          } else {
+            log.error("Catalogs Not Reconciled With Mongo, Degraded: [ {} ]", isCatalogDegraded());
+          }
+        });
+  }
+
+  /** Writes the catalogs loaded from mongo to the local snapshot file */
+  public synchronized void saveCatalogSnapshot() {
+    Path snapshotPath = getCatalogSnapshotPath();
+    if (snapshotPath == null) {
+      return;
+    }
+    if (isCatalogDegraded()) {
+      // local file already has these entries, and they are not from mongo
+      log.info("Catalog Snapshot Not Saved, Catalog Degraded...");
+      return;
+    }
+
+    Map<String, List<CatalogSnapshotEntry>> snapshot = new LinkedHashMap<>();
+    putCatalogSnapshot(
+        snapshot,
+        "plugins",
+        pluginsCatalog.peek(),
+        plugin ->
+            new CatalogSnapshotEntry(
+                plugin.getId(), plugin.getGroup(), plugin.getVersion(), plugin.isSkipVersion()));
+    putCatalogSnapshot(
+        snapshot,
+        "dependencies",
+        dependenciesCatalog.peek(),
+        dependency ->
+            new CatalogSnapshotEntry(
+                dependency.getId(),
+                dependency.getMavenId(),
+                dependency.getLatestVersion(),
+                dependency.isSkipVersion()));
+    putCatalogSnapshot(
+        snapshot,
+        "packages",
+        packagesCatalog.peek(),
+        onePackage ->
+            new CatalogSnapshotEntry(
+                onePackage.getId(),
+                onePackage.getName(),
+                onePackage.getVersion(),
+                onePackage.isSkipVersion()));
+    putCatalogSnapshot(
+        snapshot,
+        "npmSkips",
+        npmSkipsCatalog.peek(),
+        npmSkip ->
+            new CatalogSnapshotEntry(
+                npmSkip.getId(), npmSkip.getName(), npmSkip.getVersion(), npmSkip.isActive()));
+
+    if (!snapshot.isEmpty()) {
+      CatalogSnapshotUtils.writeSnapshot(snapshotPath, snapshot);
+    }
+  }
+
+  private <V> void putCatalogSnapshot(
+      final Map<String, List<CatalogSnapshotEntry>> snapshot,
+      final String name,
+      final Map<String, V> entries,
+      final Function<V, CatalogSnapshotEntry> toEntry) {
+    if (entries != null) {
+      snapshot.put(name, entries.values().stream().map(toEntry).toList());
+    }
   }
 
-  @Cacheable(value = "pluginsMap", unless = "#result==null")
   public Map<String, Plugins> pluginsMap() {
-    List<Plugins> plugins = pluginsRepository.findAll();
+    return pluginsCatalog.get();
+  }
+
+  private Map<String, Plugins> findPluginsMap() {
+    List<Plugins> plugins = findAllVersions(Plugins.class, "group", "version");
     log.info("Plugins Map: [ {} ]", plugins.size());
     return plugins.stream().collect(Collectors.toMap(Plugins::getGroup, plugin -> plugin));
   }
 
-  @CacheEvict(value = "pluginsMap", allEntries = true, beforeInvocation = true)
   public void clearPluginsMap() {
     log.info("Clear Plugins Map...");
+    pluginsCatalog.clear();
   }
 
-  @CacheEvict(value = "pluginsMap", allEntries = true, beforeInvocation = true)
   public void savePlugin(final Plugins plugin) {
     log.info("Save Plugin: [ {} ]", plugin);
-    pluginsRepository.save(plugin);
+    Plugins savedPlugin = pluginsRepository.save(plugin);
+    pluginsCatalog.put(savedPlugin.getGroup(), savedPlugin);
   }
 
   // save plugin, no cache evict
   // reason: called from middle of execution, will be reset at the end
+  // buffered and saved in bulk, so that repository workers do not wait for mongo
   public void savePlugin(final String group, final String version) {
-    log.info("Save Plugin: [ {} ] | [ {} ]", group, version);
-    try {
-      pluginsRepository.save(
-          Plugins.builder().group(group).version(version).skipVersion(false).build());
-    } catch (Exception ex) {
-      log.error("ERROR Save Plugin: [ {} ] | [ {} ]", group, version, ex);
-    }
+    mongoWriteBehindService.addPlugin(group, version);
   }
 
-  @Cacheable(value = "dependenciesMap", unless = "#result==null")
   public Map<String, Dependencies> dependenciesMap() {
-    List<Dependencies> dependencies = dependenciesRepository.findAll();
+    return dependenciesCatalog.get();
+  }
+
+  private Map<String, Dependencies> findDependenciesMap() {
+    List<Dependencies> dependencies =
+        findAllVersions(Dependencies.class, "mavenId", "latestVersion");
     log.info("Dependencies Map: [ {} ]", dependencies.size());
     return dependencies.stream()
         .collect(Collectors.toMap(Dependencies::getMavenId, dependency -> dependency));
   }
 
-  @CacheEvict(value = "dependenciesMap", allEntries = true, beforeInvocation = true)
   public void clearDependenciesMap() {
     log.info("Clear Dependencies Map...");
+    dependenciesCatalog.clear();
   }
 
-  @CacheEvict(value = "dependenciesMap", allEntries = true, beforeInvocation = true)
   public void saveDependency(final Dependencies dependency) {
     log.info("Save Dependency: [ {} ]", dependency);
-    dependenciesRepository.save(dependency);
+    Dependencies savedDependency = dependenciesRepository.save(dependency);
+    dependenciesCatalog.put(savedDependency.getMavenId(), savedDependency);
   }
 
   // save dependency, no cache evict
   // reason: called from middle of execution, will be reset at the end
+  // buffered and saved in bulk, so that repository workers do not wait for mongo
   public void saveDependency(final String mavenId, final String latestVersion) {
-    log.info("Save Dependency: [ {} ] | [ {} ]", mavenId, latestVersion);
-    try {
-      dependenciesRepository.save(
-          Dependencies.builder()
-              .mavenId(mavenId)
-              .latestVersion(latestVersion)
-              .skipVersion(false)
-              .build());
-    } catch (Exception ex) {
-      log.error("ERROR Save Dependency: [ {} ] | [ {} ]", mavenId, latestVersion, ex);
-    }
+    mongoWriteBehindService.addDependency(mavenId, latestVersion);
   }
 
-  @Cacheable(value = "packagesMap", unless = "#result==null")
   public Map<String, Packages> packagesMap() {
-    List<Packages> packages = packagesRepository.findAll();
+    return packagesCatalog.get();
+  }
+
+  private Map<String, Packages> findPackagesMap() {
+    List<Packages> packages = findAllVersions(Packages.class, "name", "version");
     log.info("Packages Map: [ {} ]", packages.size());
     return packages.stream().collect(Collectors.toMap(Packages::getName, onePackage -> onePackage));
   }
 
-  @CacheEvict(value = "packagesMap", allEntries = true, beforeInvocation = true)
   public void clearPackagesMap() {
     log.info("Clear Packages Map...");
+    packagesCatalog.clear();
   }
 
-  @CacheEvict(value = "packagesMap", allEntries = true, beforeInvocation = true)
   public void savePackage(final Packages onePackage) {
     log.info("Save Package: [ {} ]", onePackage);
-    packagesRepository.save(onePackage);
+    Packages savedPackage = packagesRepository.save(onePackage);
+    packagesCatalog.put(savedPackage.getName(), savedPackage);
   }
 
   // save package, no cache evict
   // reason: called from middle of execution, will be reset at the end
+  // buffered and saved in bulk, so that repository workers do not wait for mongo
   public void savePackage(final String name, final String version) {
-    log.info("Save Package: [ {} ] | [ {} ]", name, version);
-    try {
-      packagesRepository.save(
-          Packages.builder().name(name).version(version).skipVersion(false).build());
-    } catch (Exception ex) {
-      log.error("ERROR Save Package: [ {} ] | [ {} ]", name, version, ex);
-    }
+    mongoWriteBehindService.addPackage(name, version);
+  }
+
+  /**
+   * Saves plugins, dependencies and packages still buffered, call when the run completes
+   *
+   * @return number found missing in mongo during the run
+   */
+  public int saveBufferedAndReset() {
+    int discoveredCount = mongoWriteBehindService.flushAndReset();
+    saveCatalogSnapshot();
+    return discoveredCount;
   }
 
-  @Cacheable(value = "npmSkipsMap", unless = "#result==null")
   public Map<String, NpmSkips> npmSkipsMap() {
+    return npmSkipsCatalog.get();
+  }
+
+  private Map<String, NpmSkips> findNpmSkipsMap() {
     List<NpmSkips> npmSkips = npmSkipsRepository.findAll();
     log.info("NpmSkips Map: [ {} ]", npmSkips.size());
     return npmSkips.stream().collect(Collectors.toMap(NpmSkips::getName, npmSkip -> npmSkip));
   }
 
-  @CacheEvict(value = "npmSkipsMap", allEntries = true, beforeInvocation = true)
   public void clearNpmSkipsMap() {
     log.info("Clear NpmSkips Map...");
+    npmSkipsCatalog.clear();
   }
 
-  @CacheEvict(value = "npmSkipsMap", allEntries = true, beforeInvocation = true)
   public void saveNpmSkip(final NpmSkips npmSkip) {
     log.info("Save NpmSkips: [ {} ]", npmSkip);
-    npmSkipsRepository.save(npmSkip);
+    NpmSkips savedNpmSkip = npmSkipsRepository.save(npmSkip);
+    npmSkipsCatalog.put(savedNpmSkip.getName(), savedNpmSkip);
   }
 
-  @CacheEvict(value = "pluginsMap", allEntries = true, beforeInvocation = true)
   public void updatePluginsInMongo(final Map<String, Plugins> pluginsLocal) {
-    List<Plugins> plugins = pluginsRepository.findAll();
-    List<Plugins> pluginsToUpdate = new ArrayList<>();
-
-    plugins.forEach(
-        plugin -> {
-          String group = plugin.getGroup();
-          String currentVersion = plugin.getVersion();
-          // get latest version from Gradle Plugin Repository
-          String latestVersion = gradleRepoService.getLatestGradlePlugin(group);
-          // check if local maven repo needs updating
-          if (isRequiresUpdate(currentVersion, latestVersion)) {
-            pluginsToUpdate.add(
-                Plugins.builder()
-                    .id(pluginsLocal.get(plugin.getGroup()).getId())
-                    .group(plugin.getGroup())
-                    .version(latestVersion)
-                    .skipVersion(false)
-                    .build());
-          }
-        });
+    if (pluginsCatalog.isDegraded()) {
+      log.info("Mongo Plugins Not Updated, Catalog Degraded...");
+      return;
+    }
+    List<Plugins> plugins = findAllVersions(Plugins.class, "group", "version");
+
+    List<Plugins> pluginsToUpdate =
+        UpstreamRefreshUtils.refreshAll(
+            GRADLE_PLUGINS_HOST,
+            plugins,
+            plugin ->
+                // get latest version from Gradle Plugin Repository
+                gradleRepoService
+                    .getLatestGradlePlugin(plugin.getGroup())
+                    .thenApply(
+                        latestVersion -> {
+                          // check if local maven repo needs updating
+                          if (Version.isRequiresUpdate(plugin.getVersion(), latestVersion)) {
+                            return Plugins.builder()
+                                .id(pluginsLocal.get(plugin.getGroup()).getId())
+                                .group(plugin.getGroup())
+                                .version(latestVersion)
+                                .skipVersion(false)
+                                .build();
+                          }
+                          return null;
+                        }));
 
     log.info("Mongo Plugins to Update: [{}]\n[{}]", pluginsToUpdate.size(), pluginsToUpdate);
 
     if (!pluginsToUpdate.isEmpty()) {
-      pluginsRepository.saveAll(pluginsToUpdate);
+      bulkUpdateVersions(
+          Plugins.class,
+          "version",
+          pluginsToUpdate.stream().collect(Collectors.toMap(Plugins::getId, Plugins::getVersion)));
+      pluginsCatalog.putAll(
+          pluginsToUpdate.stream().collect(Collectors.toMap(Plugins::getGroup, plugin -> plugin)));
       log.info("Mongo Plugins Updated...");
       ProcessUtils.setMongoPluginsToUpdate(pluginsToUpdate.size());
     }
   }
 
-  @CacheEvict(value = "dependenciesMap", allEntries = true, beforeInvocation = true)
-  public void updateDependenciesInMongo(final Map<String, Dependencies> dependenciesLocal) {
-    List<Dependencies> dependencies = dependenciesRepository.findAll();
-    List<Dependencies> dependenciesToUpdate = new ArrayList<>();
-
-    dependencies.forEach(
-        dependency -> {
-          String[] mavenIdArray = dependency.getMavenId().split(":");
-          String currentVersion = dependency.getLatestVersion();
-          // get current version from Maven Central Repository
-          String latestVersion =
-              getLatestDependencyVersion(mavenIdArray[0], mavenIdArray[1], currentVersion);
-          // check if local maven repo needs updating
-          if (isRequiresUpdate(currentVersion, latestVersion)) {
-            dependenciesToUpdate.add(
-                Dependencies.builder()
-                    .id(dependenciesLocal.get(dependency.getMavenId()).getId())
-                    .mavenId(dependency.getMavenId())
-                    .latestVersion(latestVersion)
-                    .skipVersion(false)
-                    // set skipVersion as false when bumping to a new version
-                    .build());
-          }
-        });
+  /**
+   * @param dependenciesLocal dependencies by mavenId
+   * @param mavenResolver where to look up latest versions, null to use the configured one
+   */
+  public void updateDependenciesInMongo(
+      final Map<String, Dependencies> dependenciesLocal, final MavenResolver mavenResolver) {
+    if (dependenciesCatalog.isDegraded()) {
+      log.info("Mongo Dependencies Not Updated, Catalog Degraded...");
+      return;
+    }
+    List<Dependencies> dependencies =
+        findAllVersions(Dependencies.class, "mavenId", "latestVersion");
+    final MavenResolver resolver = getMavenResolver(mavenResolver);
+    log.info("Mongo Dependencies Maven Resolver: [ {} ]", resolver);
+
+    List<Dependencies> dependenciesToUpdate =
+        UpstreamRefreshUtils.refreshAll(
+            resolver == MavenResolver.METADATA
+                ? mavenConnector.getMavenRepositoryHost()
+                : MAVEN_SEARCH_HOST,
+            dependencies,
+            dependency -> {
+              String[] mavenIdArray = dependency.getMavenId().split(":");
+              String currentVersion = dependency.getLatestVersion();
+              // get current version from Maven Central Repository
+              return getLatestDependencyVersion(
+                      mavenIdArray[0], mavenIdArray[1], currentVersion, resolver)
+                  .thenApply(
+                      latestVersion -> {
+                        // check if local maven repo needs updating
+                        if (Version.isRequiresUpdate(currentVersion, latestVersion)) {
+                          return Dependencies.builder()
+                              .id(dependenciesLocal.get(dependency.getMavenId()).getId())
+                              .mavenId(dependency.getMavenId())
+                              .latestVersion(latestVersion)
+                              .skipVersion(false)
+                              // set skipVersion as false when bumping to a new version
+                              .build();
+                        }
+                        return null;
+                      });
+            });
 
     log.info(
         "Mongo Dependencies to Update: [{}]\n[{}]",
@@ -253,49 +507,89 @@ public class MongoRepoService {
         dependenciesToUpdate);
 
     if (!dependenciesToUpdate.isEmpty()) {
-      dependenciesRepository.saveAll(dependenciesToUpdate);
+      bulkUpdateVersions(
+          Dependencies.class,
+          "latestVersion",
+          dependenciesToUpdate.stream()
+              .collect(Collectors.toMap(Dependencies::getId, Dependencies::getLatestVersion)));
+      dependenciesCatalog.putAll(
+          dependenciesToUpdate.stream()
+              .collect(Collectors.toMap(Dependencies::getMavenId, dependency -> dependency)));
       log.info("Mongo Dependencies Updated...");
       ProcessUtils.setMongoDependenciesToUpdate(dependenciesToUpdate.size());
     }
   }
 
-  @CacheEvict(value = "packagesMap", allEntries = true, beforeInvocation = true)
   public void updatePackagesInMongo(final Map<String, Packages> packagesLocal) {
-    List<Packages> packages = packagesRepository.findAll();
-    List<Packages> packagesToUpdate = new ArrayList<>();
-
-    packages.forEach(
-        onePackage -> {
-          String name = onePackage.getName();
-          String currentVersion = onePackage.getVersion();
-          // get latest version from Pypi Search
-          String latestVersion = pypiRepoService.getLatestPackageVersion(name);
-          // check if local maven repo needs updating
-          if (isRequiresUpdate(currentVersion, latestVersion)) {
-            packagesToUpdate.add(
-                Packages.builder()
-                    .id(packagesLocal.get(onePackage.getName()).getId())
-                    .name(onePackage.getName())
-                    .version(latestVersion)
-                    .skipVersion(false)
-                    .build());
-          }
-        });
+    if (packagesCatalog.isDegraded()) {
+      log.info("Mongo Packages Not Updated, Catalog Degraded...");
+      return;
+    }
+    List<Packages> packages = findAllVersions(Packages.class, "name", "version");
+
+    List<Packages> packagesToUpdate =
+        UpstreamRefreshUtils.refreshAll(
+            PYPI_SEARCH_HOST,
+            packages,
+            onePackage ->
+                // get latest version from Pypi Search
+                pypiRepoService
+                    .getLatestPackageVersion(onePackage.getName())
+                    .thenApply(
+                        latestVersion -> {
+                          // check if local maven repo needs updating
+                          if (Version.isRequiresUpdate(onePackage.getVersion(), latestVersion)) {
+                            return Packages.builder()
+                                .id(packagesLocal.get(onePackage.getName()).getId())
+                                .name(onePackage.getName())
+                                .version(latestVersion)
+                                .skipVersion(false)
+                                .build();
+                          }
+                          return null;
+                        }));
 
     log.info("Mongo Packages to Update: [{}]\n[{}]", packagesToUpdate.size(), packagesToUpdate);
 
     if (!packagesToUpdate.isEmpty()) {
-      packagesRepository.saveAll(packagesToUpdate);
+      bulkUpdateVersions(
+          Packages.class,
+          "version",
+          packagesToUpdate.stream()
+              .collect(Collectors.toMap(Packages::getId, Packages::getVersion)));
+      packagesCatalog.putAll(
+          packagesToUpdate.stream()
+              .collect(Collectors.toMap(Packages::getName, onePackage -> onePackage)));
       log.info("Mongo Packages Updated...");
       ProcessUtils.setMongoPackagesToUpdate(packagesToUpdate.size());
     }
   }
 
-  @Scheduled(cron = "0 50 19 * * *") // Runs daily at midnight
-  public void deleteOldDocuments() {
-    LocalDateTime oneMonthAgo = LocalDateTime.now().minusDays(45);
-    processSummariesRepository.deleteByUpdateDateTimeBefore(oneMonthAgo);
-    log.info("Deleted Process Summaries before: [{}]", oneMonthAgo);
+  // only the fields needed to compare and update versions (id is always included)
+  private <T> List<T> findAllVersions(
+      final Class<T> entityClass, final String keyField, final String versionField) {
+    Query query = new Query();
+    query.fields().include(keyField, versionField, "skipVersion");
+    return mongoTemplate.find(query, entityClass);
+  }
+
+  // single round trip to mongo for all updates, instead of one save per document
+  private void bulkUpdateVersions(
+      final Class<?> entityClass,
+      final String versionField,
+      final Map<ObjectId, String> versionsToUpdate) {
+    BulkOperations bulkOperations =
+        mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, entityClass);
+    versionsToUpdate.forEach(
+        (id, version) ->
+            bulkOperations.updateOne(
+                Query.query(Criteria.where("_id").is(id)),
+                new Update().set(versionField, version).set("skipVersion", false)));
+    BulkWriteResult bulkWriteResult = bulkOperations.execute();
+    log.debug(
+        "Bulk Update Versions: [ {} ] [ {} ]",
+        entityClass.getSimpleName(),
+        bulkWriteResult.getModifiedCount());
   }
 
   public MongoProcessSummaries getProcessSummaries(
@@ -347,6 +641,17 @@ public class MongoRepoService {
     }
   }
 
+  /**
+   * @param count number of process summaries
+   * @return most recent process summaries, newest first
+   */
+  public List<ProcessSummaries> getRecentProcessSummaries(final int count) {
+    log.debug("Get Recent Process Summaries: [ {} ]", count);
+    return processSummariesRepository
+        .findAll(PageRequest.of(0, count, Sort.by(Sort.Direction.DESC, "updateDateTime")))
+        .getContent();
+  }
+
   public void saveProcessSummaries(final ProcessSummaries processSummaries) {
     log.debug("Save Process Summaries: [ {} ]", processSummaries);
     processSummariesRepository.save(processSummaries);
@@ -402,42 +707,79 @@ public class MongoRepoService {
         .build();
   }
 
-  private String getLatestDependencyVersion(
-      final String group, final String artifact, final String currentVersion) {
+  private MavenResolver getMavenResolver(final MavenResolver mavenResolver) {
+    if (mavenResolver != null) {
+      return mavenResolver;
+    }
+    final String configured = getSystemEnvProperty(ENV_MAVEN_RESOLVER);
+    for (MavenResolver resolver : MavenResolver.values()) {
+      if (resolver.name().equalsIgnoreCase(configured)) {
+        return resolver;
+      }
+    }
+    return MavenResolver.SEARCH;
+  }
 
+  private CompletableFuture<String> getLatestDependencyVersion(
+      final String group,
+      final String artifact,
+      final String currentVersion,
+      final MavenResolver mavenResolver) {
     // the group:artifact likely does not exist in the cache yet
-    // so get it from maven central repository
-    MavenSearchResponse mavenSearchResponse =
-        mavenConnector.getMavenSearchResponse(group, artifact);
-    MavenDoc mavenDoc = getLatestDependencyVersion(mavenSearchResponse);
+    // so get it from maven repositories, or maven central search
+    if (mavenResolver == MavenResolver.METADATA) {
+      return mavenConnector
+          .getMavenMetadataVersions(group, artifact)
+          .thenApply(
+              versions -> getLatestDependencyVersion(group, artifact, currentVersion, versions));
+    }
+    return mavenConnector
+        .getMavenSearchResponse(group, artifact)
+        .thenApply(
+            mavenSearchResponse -> {
+              log.debug(
+                  "Maven Search Response: [ {} ], [ {} ], [ {} ]",
+                  group,
+                  artifact,
+                  mavenSearchResponse);
+              return getLatestDependencyVersion(
+                  group, artifact, currentVersion, getVersions(mavenSearchResponse));
+            });
+  }
+
+  private String getLatestDependencyVersion(
+      final String group,
+      final String artifact,
+      final String currentVersion,
+      final List<String> versions) {
+    // filter to not get RC or alpha/beta or unfinished releases, and get max after
+    // metadata lists versions in the order published, which is not always the version order
+    String latestVersion =
+        versions.stream()
+            .filter(version -> !isCheckPreReleaseVersion(version))
+            .max(Comparator.comparing(Version::of))
+            .orElse(null);
     log.debug(
-        "Maven Search Response: [ {} ], [ {} ], [ {} ], [ {} ]",
+        "Latest Dependency Version: [ {} ], [ {} ], [ {} ], [ {} ]",
         group,
         artifact,
-        mavenDoc,
-        mavenSearchResponse);
+        latestVersion,
+        versions.size());
 
-    if (mavenDoc == null) {
+    if (latestVersion == null) {
       return currentVersion;
     }
-
-    return mavenDoc.getV();
+    return latestVersion;
   }
 
-  private MavenDoc getLatestDependencyVersion(final MavenSearchResponse mavenSearchResponse) {
-    // the search returns 5 latest, filter to not get RC or alpha/beta or unfinished releases
-    // the search returns sorted list already, but need to filter and get max after
+  private List<String> getVersions(final MavenSearchResponse mavenSearchResponse) {
+    // the search returns 5 latest only
     if (mavenSearchResponse != null
         && mavenSearchResponse.getResponse() != null
         && !isEmpty(mavenSearchResponse.getResponse().getDocs())) {
       MavenResponse mavenResponse = mavenSearchResponse.getResponse();
-      return mavenResponse.getDocs().stream()
-          .filter(mavenDoc -> !isCheckPreReleaseVersion(mavenDoc.getV()))
-          .max(
-              Comparator.comparing(
-                  MavenDoc::getV, Comparator.comparing(CommonUtils::getVersionToCompare)))
-          .orElse(null);
+      return mavenResponse.getDocs().stream().map(MavenDoc::getV).filter(Objects::nonNull).toList();
     }
-    return null;
+    return Collections.emptyList();
   }
 }
@@ -0,0 +1,195 @@
+package app.dependency.update.app.service;
+
+import static app.dependency.update.app.util.CommonUtils.*;
+import static app.dependency.update.app.util.ConstantUtils.*;
+
+import app.dependency.update.app.model.entities.Dependencies;
+import app.dependency.update.app.model.entities.Packages;
+import app.dependency.update.app.model.entities.Plugins;
+import app.dependency.update.app.util.ExecutorUtils;
+import app.dependency.update.app.util.ProcessUtils;
+import com.mongodb.bulk.BulkWriteResult;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/*
+ Plugins, dependencies and packages found in repositories but missing in mongo are buffered
+ here and saved in bulk, the same one found by many repositories is saved only once
+ repository workers only add to the buffer and never wait for mongo, the buffer is saved when
+ it is large enough, on a schedule, and when the run completes
+ what is found is remembered per run, so that concurrent runs each count what they found, and
+ what could not be saved is buffered again to be saved with the next flush
+*/
+@Slf4j
+@Service
+public class MongoWriteBehindService {
+
+  private final MongoTemplate mongoTemplate;
+  private final WriteBehindBuffer pluginsBuffer =
+      new WriteBehindBuffer(Plugins.class, "group", "version");
+  private final WriteBehindBuffer dependenciesBuffer =
+      new WriteBehindBuffer(Dependencies.class, "mavenId", "latestVersion");
+  private final WriteBehindBuffer packagesBuffer =
+      new WriteBehindBuffer(Packages.class, "name", "version");
+  private final List<WriteBehindBuffer> buffers =
+      List.of(pluginsBuffer, dependenciesBuffer, packagesBuffer);
+  private final AtomicInteger pendingCount = new AtomicInteger(0);
+  private final AtomicBoolean isFlushSubmitted = new AtomicBoolean(false);
+
+  public MongoWriteBehindService(final MongoTemplate mongoTemplate) {
+    this.mongoTemplate = mongoTemplate;
+  }
+
+  public void addPlugin(final String group, final String version) {
+    add(this.pluginsBuffer, group, version);
+  }
+
+  public void addDependency(final String mavenId, final String latestVersion) {
+    add(this.dependenciesBuffer, mavenId, latestVersion);
+  }
+
+  public void addPackage(final String name, final String version) {
+    add(this.packagesBuffer, name, version);
+  }
+
+  private void add(final WriteBehindBuffer buffer, final String key, final String version) {
+    if (isEmpty(key)
+        || !buffer
+            .discovered
+            .computeIfAbsent(
+                ProcessUtils.getRunContext().getRunId(), runId -> ConcurrentHashMap.newKeySet())
+            .add(key)) {
+      // already found by this or another repository in this run
+      return;
+    }
+
+    log.info("Buffer Save {}: [ {} ] | [ {} ]", buffer.getName(), key, version);
+    if (buffer.pending.putIfAbsent(key, Objects.requireNonNullElse(version, "")) != null) {
+      // already buffered by another run
+      return;
+    }
+    if (this.pendingCount.incrementAndGet() >= WRITE_BEHIND_BATCH_SIZE
+        && this.isFlushSubmitted.compareAndSet(false, true)) {
+      ExecutorUtils.submit(
+          "mongo-write-behind",
+          () -> {
+            try {
+              flush();
+            } finally {
+              this.isFlushSubmitted.set(false);
+            }
+          });
+    }
+  }
+
+  @Scheduled(fixedDelay = WRITE_BEHIND_FLUSH_INTERVAL_MILLIS)
+  void flushScheduler() {
+    if (this.pendingCount.get() > 0) {
+      flush();
+    }
+  }
+
+  /**
+   * Saves what is in the buffer and forgets what the current run found, other runs are unaffected
+   *
+   * @return number of plugins, dependencies and packages found missing in mongo during the run
+   */
+  public synchronized int flushAndReset() {
+    flush();
+    final String runId = ProcessUtils.getRunContext().getRunId();
+    int discoveredCount = 0;
+    for (WriteBehindBuffer buffer : this.buffers) {
+      Set<String> discovered = buffer.discovered.remove(runId);
+      discoveredCount += discovered == null ? 0 : discovered.size();
+    }
+    log.info("Mongo Write Behind Discovered: [ {} ]", discoveredCount);
+    return discoveredCount;
+  }
+
+  private synchronized void flush() {
+    for (WriteBehindBuffer buffer : this.buffers) {
+      flush(buffer);
+    }
+  }
+
+  private void flush(final WriteBehindBuffer buffer) {
+    if (buffer.pending.isEmpty()) {
+      return;
+    }
+
+    BulkOperations bulkOperations =
+        this.mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, buffer.entityClass);
+    Map<String, String> batch = new HashMap<>();
+    for (String key : buffer.pending.keySet()) {
+      String version = buffer.pending.remove(key);
+      if (version != null) {
+        // insert only if not there, it could have been added since the caches were loaded
+        bulkOperations.upsert(
+            Query.query(Criteria.where(buffer.keyField).is(key)),
+            new Update()
+                .setOnInsert(buffer.versionField, version)
+                .setOnInsert("skipVersion", false));
+        batch.put(key, version);
+      }
+    }
+    final int count = batch.size();
+    this.pendingCount.addAndGet(-count);
+
+    if (count == 0) {
+      return;
+    }
+
+    try {
+      BulkWriteResult bulkWriteResult = bulkOperations.execute();
+      log.info(
+          "Mongo Write Behind Saved {}: [ {} ] Inserted: [ {} ]",
+          buffer.getName(),
+          count,
+          bulkWriteResult.getUpserts().size());
+    } catch (Exception ex) {
+      log.error("ERROR Mongo Write Behind Save {}: [ {} ]", buffer.getName(), count, ex);
+      // buffered again, they are already discovered so would not be added back otherwise
+      batch.forEach(
+          (key, version) -> {
+            if (buffer.pending.putIfAbsent(key, version) == null) {
+              this.pendingCount.incrementAndGet();
+            }
+          });
+    }
+  }
+
+  private static class WriteBehindBuffer {
+    private final Class<?> entityClass;
+    private final String keyField;
+    private final String versionField;
+    // everything found by each run, by run id, so that it is buffered only once per run
+    private final Map<String, Set<String>> discovered = new ConcurrentHashMap<>();
+    // found but not saved yet
+    private final Map<String, String> pending = new ConcurrentHashMap<>();
+
+    private WriteBehindBuffer(
+        final Class<?> entityClass, final String keyField, final String versionField) {
+      this.entityClass = entityClass;
+      this.keyField = keyField;
+      this.versionField = versionField;
+    }
+
+    private String getName() {
+      return this.entityClass.getSimpleName();
+    }
+  }
+}
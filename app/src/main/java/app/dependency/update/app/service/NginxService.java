@@ -6,8 +6,6 @@ import static app.dependency.update.app.util.ConstantUtils.DOCKER_ALPINE;
 import app.dependency.update.app.connector.NginxConnector;
 import app.dependency.update.app.model.LatestVersion;
 import app.dependency.update.app.model.NginxReleaseResponse;
-import java.util.List;
-import java.util.Optional;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
@@ -24,14 +22,11 @@ public class NginxService {
   }
 
   public LatestVersion getLatestNginxVersion(final String latestDockerVersionFromMongo) {
-    List<NginxReleaseResponse> nginxReleaseResponses = nginxConnector.getNginxReleases();
-    Optional<NginxReleaseResponse> optionalNginxReleaseResponse =
-        nginxReleaseResponses.stream()
-            .filter(
+    NginxReleaseResponse latestNginxRelease =
+        nginxConnector
+            .getFirstNginxRelease(
                 nginxReleaseResponse -> !isCheckPreReleaseVersion(nginxReleaseResponse.getName()))
-            .findFirst();
-
-    NginxReleaseResponse latestNginxRelease = optionalNginxReleaseResponse.orElse(null);
+            .join();
     log.info("Latest Nginx Release: [ {} ]", latestNginxRelease);
 
     if (latestNginxRelease == null) {
@@ -6,8 +6,6 @@ import static app.dependency.update.app.util.ConstantUtils.DOCKER_ALPINE;
 import app.dependency.update.app.connector.NodeConnector;
 import app.dependency.update.app.model.LatestVersion;
 import app.dependency.update.app.model.NodeReleaseResponse;
-import java.util.List;
-import java.util.Optional;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
@@ -25,14 +23,12 @@ public class NodeService {
 
   public LatestVersion getLatestNodeVersion(
       final String latestGcpRuntimeVersion, final String latestDockerVersionFromMongo) {
-    List<NodeReleaseResponse> nodeReleaseResponses = nodeConnector.getNodeReleases();
     // get rid of non lts and sort by version descending
-    Optional<NodeReleaseResponse> optionalNodeReleaseResponse =
-        nodeReleaseResponses.stream()
-            .filter(nodeReleaseResponse -> !"false".equals(nodeReleaseResponse.getLts()))
-            .findFirst();
-
-    NodeReleaseResponse latestNodeRelease = optionalNodeReleaseResponse.orElse(null);
+    NodeReleaseResponse latestNodeRelease =
+        nodeConnector
+            .getFirstNodeRelease(
+                nodeReleaseResponse -> !"false".equals(nodeReleaseResponse.getLts()))
+            .join();
     log.info("Latest Node Release: [ {} ]", latestNodeRelease);
 
     if (latestNodeRelease == null) {
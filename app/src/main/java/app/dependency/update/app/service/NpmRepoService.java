@@ -0,0 +1,89 @@
+package app.dependency.update.app.service;
+
+import static app.dependency.update.app.util.ConstantUtils.*;
+
+import app.dependency.update.app.connector.NpmConnector;
+import app.dependency.update.app.util.ProcessUtils;
+import app.dependency.update.app.util.UpstreamRefreshUtils;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+/*
+ Latest versions of npm packages, looked up once per run and shared by all npm repositories
+ a package requested by a repository while another repository is looking it up waits for
+ that lookup instead of calling the registry again
+ versions are kept in the run context, so a run starting does not clear them for other runs
+*/
+@Slf4j
+@Service
+public class NpmRepoService {
+
+  private final NpmConnector npmConnector;
+
+  public NpmRepoService(final NpmConnector npmConnector) {
+    this.npmConnector = npmConnector;
+  }
+
+  public CompletableFuture<String> getLatestPackageVersion(final String name) {
+    return npmConnector
+        .getNpmRegistryResponse(name)
+        .thenApply(
+            npmRegistryResponse ->
+                npmRegistryResponse == null ? null : npmRegistryResponse.getVersion());
+  }
+
+  /**
+   * @param names package names from package.json
+   * @return latest version by package name, packages not found are not included
+   */
+  public Map<String, String> getLatestPackageVersions(final Collection<String> names) {
+    final Map<String, CompletableFuture<String>> latestVersions =
+        ProcessUtils.getRunContext().getNpmLatestVersions();
+    Map<String, CompletableFuture<String>> futures = new HashMap<>();
+    List<String> namesToLookup = new ArrayList<>();
+    for (String name : names) {
+      CompletableFuture<String> future = new CompletableFuture<>();
+      CompletableFuture<String> existingFuture = latestVersions.putIfAbsent(name, future);
+      if (existingFuture == null) {
+        namesToLookup.add(name);
+        futures.put(name, future);
+      } else {
+        futures.put(name, existingFuture);
+      }
+    }
+
+    if (!namesToLookup.isEmpty()) {
+      // requests to the registry are limited across all repositories looking up at the same time
+      UpstreamRefreshUtils.refreshAll(
+          NPM_REGISTRY_HOST,
+          namesToLookup,
+          name ->
+              getLatestPackageVersion(name)
+                  .thenApply(
+                      latestVersion -> {
+                        futures.get(name).complete(latestVersion);
+                        return latestVersion;
+                      }));
+      // not looked up before the deadline, so do not keep others waiting
+      namesToLookup.forEach(name -> futures.get(name).complete(null));
+    }
+
+    Map<String, String> latestVersionsByName = new HashMap<>();
+    futures.forEach(
+        (name, future) -> {
+          String latestVersion = future.join();
+          if (latestVersion != null) {
+            latestVersionsByName.put(name, latestVersion);
+          }
+        });
+    log.debug(
+        "Npm Latest Versions: [ {} ] Looked Up: [ {} ]", names.size(), namesToLookup.size());
+    return latestVersionsByName;
+  }
+}
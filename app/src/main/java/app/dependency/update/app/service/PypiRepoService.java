@@ -2,6 +2,7 @@ package app.dependency.update.app.service;
 
 import app.dependency.update.app.connector.PypiConnector;
 import app.dependency.update.app.model.PypiSearchResponse;
+import java.util.concurrent.CompletableFuture;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -13,9 +14,11 @@ public class PypiRepoService {
     this.pypiConnector = pypiConnector;
   }
 
-  public String getLatestPackageVersion(final String name) {
-    PypiSearchResponse pypiSearchResponse = pypiConnector.getPypiSearchResponse(name);
+  public CompletableFuture<String> getLatestPackageVersion(final String name) {
+    return pypiConnector.getPypiSearchResponse(name).thenApply(this::getLatestPackageVersion);
+  }
 
+  private String getLatestPackageVersion(final PypiSearchResponse pypiSearchResponse) {
     if (pypiSearchResponse == null
         || pypiSearchResponse.getInfo() == null
         || pypiSearchResponse.getInfo().isYanked()) {
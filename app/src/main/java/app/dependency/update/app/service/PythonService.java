@@ -8,8 +8,6 @@ import static app.dependency.update.app.util.ConstantUtils.DOCKER_ALPINE;
 import app.dependency.update.app.connector.PythonConnector;
 import app.dependency.update.app.model.LatestVersion;
 import app.dependency.update.app.model.PythonReleaseResponse;
-import java.util.List;
-import java.util.Optional;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
@@ -27,15 +25,12 @@ public class PythonService {
 
   public LatestVersion getLatestPythonVersion(
       final String latestGcpRuntimeVersion, final String latestDockerVersionFromMongo) {
-    List<PythonReleaseResponse> pythonReleaseResponses = pythonConnector.getPythonReleases();
     // get rid of alpha, beta and release candidates by version descending
-    Optional<PythonReleaseResponse> optionalPythonReleaseResponse =
-        pythonReleaseResponses.stream()
-            .filter(
+    PythonReleaseResponse latestPythonResponse =
+        pythonConnector
+            .getFirstPythonRelease(
                 pythonReleaseResponse -> !isCheckPreReleaseVersion(pythonReleaseResponse.getName()))
-            .findFirst();
-
-    PythonReleaseResponse latestPythonResponse = optionalPythonReleaseResponse.orElse(null);
+            .join();
     log.info("Latest Python Release: [ {} ]", latestPythonResponse);
 
     if (latestPythonResponse == null) {
@@ -0,0 +1,299 @@
+package app.dependency.update.app.service;
+
+import static app.dependency.update.app.util.CommonUtils.*;
+import static app.dependency.update.app.util.ConstantUtils.*;
+
+import app.dependency.update.app.exception.AppDependencyUpdateRuntimeException;
+import app.dependency.update.app.model.LatestVersionsModel;
+import app.dependency.update.app.model.RepoFingerprint;
+import app.dependency.update.app.model.Repository;
+import app.dependency.update.app.util.ProcessUtils;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/*
+ Remembers the inputs of each repository that had nothing to update: content hashes of the files
+ that are updated, latest versions, and the catalog versions the repository was checked against
+ next run the repository is skipped before reading any file if none of these changed
+ a file is hashed again only if its size or modified time changed, so checking costs a few stats
+ a repository whose update logged an error is not remembered, it is checked again next run
+*/
+@Slf4j
+@Service
+public class RepoFingerprintService {
+
+  private final ObjectMapper objectMapper;
+  private final Path fingerprintsPath;
+  private final Map<String, RepoFingerprint> repoFingerprints;
+  private final AtomicBoolean isChanged = new AtomicBoolean(false);
+
+  public RepoFingerprintService(final ObjectMapper objectMapper) {
+    this.objectMapper = objectMapper;
+    String repoHome = getSystemEnvProperty(ENV_REPO_NAME);
+    this.fingerprintsPath =
+        isEmpty(repoHome)
+            ? null
+            : Path.of(repoHome, APP_LOCAL_DIRECTORY, REPO_FINGERPRINTS_FILE_NAME);
+    this.repoFingerprints = new ConcurrentHashMap<>(readRepoFingerprints());
+  }
+
+  /**
+   * Runs the files update, unless the repository is unchanged since it last had nothing to update
+   *
+   * @param repository repository to update
+   * @param latestVersionsModel latest versions of the run
+   * @param relevantVersions filled by the files update with the catalog versions it checked
+   * @param currentVersions catalog versions as of now for the given keys
+   * @param filesUpdate files update, returns true if any file was updated
+   * @return result of the files update, false if skipped
+   */
+  public boolean executeFilesUpdateIfChanged(
+      final Repository repository,
+      final LatestVersionsModel latestVersionsModel,
+      final Map<String, String> relevantVersions,
+      final Function<Set<String>, Map<String, String>> currentVersions,
+      final BooleanSupplier filesUpdate) {
+    if (this.fingerprintsPath == null) {
+      return filesUpdate.getAsBoolean();
+    }
+
+    final String key = getKey(repository);
+    final RepoFingerprint previous = this.repoFingerprints.get(key);
+    final Map<String, RepoFingerprint.FileFingerprint> files =
+        getFileFingerprints(repository, previous);
+    final String latestVersionsHash = hash(String.valueOf(latestVersionsModel));
+
+    if (previous != null
+        && getHashes(previous.getFiles()).equals(getHashes(files))
+        && previous.getLatestVersionsHash().equals(latestVersionsHash)
+        && previous
+            .getRelevantVersions()
+            .equals(currentVersions.apply(previous.getRelevantVersions().keySet()))) {
+      log.info("Repository Unchanged, Files Update Skipped: [ {} ]", key);
+      return false;
+    }
+
+    // an exception thrown by the files update is not caught, so nothing is saved for it
+    final int threadErrorsCount = ProcessUtils.getThreadErrorsCount();
+    final boolean isUpdated = filesUpdate.getAsBoolean();
+    if (isUpdated || ProcessUtils.getThreadErrorsCount() != threadErrorsCount) {
+      // files are changed by this run, or could not be, so the next run has to check again
+      // a failed update logs the error and returns false, eg: a file not written
+      if (this.repoFingerprints.remove(key) != null) {
+        this.isChanged.set(true);
+      }
+    } else {
+      this.repoFingerprints.put(
+          key,
+          RepoFingerprint.builder()
+              .files(files)
+              .latestVersionsHash(latestVersionsHash)
+              .relevantVersions(new TreeMap<>(relevantVersions))
+              .savedAtMillis(System.currentTimeMillis())
+              .build());
+      this.isChanged.set(true);
+    }
+    return isUpdated;
+  }
+
+  public void clearRepoFingerprints() {
+    log.info("Clear Repo Fingerprints...");
+    this.repoFingerprints.clear();
+    this.isChanged.set(true);
+    flushRepoFingerprints();
+  }
+
+  // the file is written at most once per interval and when a run ends, not for every repository
+  @Scheduled(fixedDelay = REPO_FINGERPRINTS_FLUSH_INTERVAL_MILLIS)
+  void flushScheduler() {
+    flushRepoFingerprints();
+  }
+
+  public void flushRepoFingerprints() {
+    if (this.isChanged.compareAndSet(true, false) && !writeRepoFingerprints()) {
+      // written again next time
+      this.isChanged.set(true);
+    }
+  }
+
+  // modified time alone can change, eg: git checkout, only the content matters
+  private Map<String, String> getHashes(final Map<String, RepoFingerprint.FileFingerprint> files) {
+    Map<String, String> hashes = new HashMap<>();
+    files.forEach((path, file) -> hashes.put(path, file.getHash()));
+    return hashes;
+  }
+
+  private String getKey(final Repository repository) {
+    return repository.getRepoName() + ":" + repository.getType();
+  }
+
+  // files read by the files update of the repository type, see Execute*Update
+  private List<Path> getFilePaths(final Repository repository) {
+    final Path repoPath = repository.getRepoPath();
+    List<Path> filePaths = new ArrayList<>();
+    switch (repository.getType()) {
+      case GRADLE_DEPENDENCIES -> {
+        repository
+            .getGradleModules()
+            .forEach(module -> filePaths.add(repoPath.resolve(module).resolve(BUILD_GRADLE)));
+        filePaths.add(repoPath.resolve(GRADLE_WRAPPER_PROPERTIES.substring(1)));
+        filePaths.add(repoPath.resolve("gcp/app.yaml"));
+      }
+      case PYTHON_DEPENDENCIES -> {
+        filePaths.add(repoPath.resolve(PYPROJECT_TOML));
+        repository.getRequirementsTxts().forEach(txt -> filePaths.add(repoPath.resolve(txt)));
+        filePaths.add(repoPath.resolve("app.yaml"));
+      }
+      case NPM_DEPENDENCIES -> {
+        filePaths.add(repoPath.resolve(PACKAGE_JSON));
+        filePaths.add(repoPath.resolve("gcp/app.yaml"));
+      }
+      default -> {
+        // no other types are updated
+      }
+    }
+    filePaths.add(repoPath.resolve("Dockerfile"));
+    filePaths.addAll(getGithubWorkflowPaths(repoPath.resolve(".github")));
+    return filePaths;
+  }
+
+  private List<Path> getGithubWorkflowPaths(final Path githubPath) {
+    if (!Files.isDirectory(githubPath)) {
+      return List.of();
+    }
+    try (Stream<Path> stream = Files.walk(githubPath, 2)) {
+      return stream.filter(path -> path.toString().endsWith(".yml")).sorted().toList();
+    } catch (IOException ex) {
+      log.error("Find Github Workflows for Fingerprint: [ {} ]", githubPath, ex);
+      return List.of();
+    }
+  }
+
+  private Map<String, RepoFingerprint.FileFingerprint> getFileFingerprints(
+      final Repository repository, final RepoFingerprint previous) {
+    Map<String, RepoFingerprint.FileFingerprint> files = new TreeMap<>();
+    for (Path filePath : getFilePaths(repository)) {
+      final String relativePath = repository.getRepoPath().relativize(filePath).toString();
+      final RepoFingerprint.FileFingerprint previousFile =
+          previous == null ? null : previous.getFiles().get(relativePath);
+      final RepoFingerprint.FileFingerprint file = getFileFingerprint(filePath, previousFile);
+      if (file != null) {
+        files.put(relativePath, file);
+      }
+    }
+    return files;
+  }
+
+  private RepoFingerprint.FileFingerprint getFileFingerprint(
+      final Path filePath, final RepoFingerprint.FileFingerprint previousFile) {
+    try {
+      BasicFileAttributes attributes = Files.readAttributes(filePath, BasicFileAttributes.class);
+      if (!attributes.isRegularFile()) {
+        return null;
+      }
+      final long size = attributes.size();
+      final long modifiedMillis = attributes.lastModifiedTime().toMillis();
+      if (previousFile != null
+          && previousFile.getSize() == size
+          && previousFile.getModifiedMillis() == modifiedMillis) {
+        return previousFile;
+      }
+      return RepoFingerprint.FileFingerprint.builder()
+          .size(size)
+          .modifiedMillis(modifiedMillis)
+          .hash(hash(filePath))
+          .build();
+    } catch (IOException ex) {
+      // does not exist, eg: no Dockerfile in the repository
+      return null;
+    }
+  }
+
+  private String hash(final Path filePath) throws IOException {
+    MessageDigest messageDigest = getMessageDigest();
+    try (InputStream inputStream =
+        new DigestInputStream(Files.newInputStream(filePath), messageDigest)) {
+      inputStream.transferTo(OutputStream.nullOutputStream());
+    }
+    return HexFormat.of().formatHex(messageDigest.digest());
+  }
+
+  private String hash(final String value) {
+    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    return HexFormat.of().formatHex(getMessageDigest().digest(bytes));
+  }
+
+  private MessageDigest getMessageDigest() {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException ex) {
+      // every java platform is required to support sha-256
+      throw new AppDependencyUpdateRuntimeException("SHA-256 Not Available", ex);
+    }
+  }
+
+  private Map<String, RepoFingerprint> readRepoFingerprints() {
+    if (this.fingerprintsPath == null || !Files.isRegularFile(this.fingerprintsPath)) {
+      return new HashMap<>();
+    }
+    try {
+      Map<String, RepoFingerprint> fingerprints =
+          this.objectMapper.readValue(
+              this.fingerprintsPath.toFile(), new TypeReference<Map<String, RepoFingerprint>>() {});
+      log.info("Repo Fingerprints Read: [ {} ]", fingerprints.size());
+      fingerprints.values().removeIf(Objects::isNull);
+      return fingerprints;
+    } catch (Exception ex) {
+      log.error("ERROR Read Repo Fingerprints: [ {} ]", this.fingerprintsPath, ex);
+      return new HashMap<>();
+    }
+  }
+
+  private synchronized boolean writeRepoFingerprints() {
+    if (this.fingerprintsPath == null) {
+      return true;
+    }
+    try {
+      Files.createDirectories(this.fingerprintsPath.getParent());
+      Path tempPath =
+          this.fingerprintsPath.resolveSibling(this.fingerprintsPath.getFileName() + ".tmp");
+      this.objectMapper.writeValue(tempPath.toFile(), new TreeMap<>(this.repoFingerprints));
+      Files.move(
+          tempPath,
+          this.fingerprintsPath,
+          StandardCopyOption.REPLACE_EXISTING,
+          StandardCopyOption.ATOMIC_MOVE);
+      return true;
+    } catch (Exception ex) {
+      log.error("ERROR Write Repo Fingerprints: [ {} ]", this.fingerprintsPath, ex);
+      return false;
+    }
+  }
+}
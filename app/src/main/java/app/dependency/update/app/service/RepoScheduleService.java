@@ -0,0 +1,250 @@
+package app.dependency.update.app.service;
+
+import static app.dependency.update.app.util.CommonUtils.*;
+import static app.dependency.update.app.util.ConstantUtils.*;
+
+import app.dependency.update.app.model.ProcessedRepository;
+import app.dependency.update.app.model.Repository;
+import app.dependency.update.app.model.entities.ProcessSummaries;
+import app.dependency.update.app.util.ProcessUtils;
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.LongSummaryStatistics;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+/*
+ Orders repositories longest expected first, so that a long repository started last does not
+ extend the run, expected duration is the sum of phase durations of the repository averaged over
+ recent process summaries, repositories not found in them are estimated from their size
+ after every few long repositories a short one is started, so that short repositories use the
+ spare slots while long ones run
+*/
+@Slf4j
+@Service
+public class RepoScheduleService {
+
+  // generated or downloaded, not part of the repository size
+  private static final Set<String> SKIP_DIRECTORIES =
+      Set.of("node_modules", "build", "target", "dist", "venv", "__pycache__");
+
+  private final MongoRepoService mongoRepoService;
+  private final int fairnessCap;
+  private final Map<Path, Long> repoFileCounts = new ConcurrentHashMap<>();
+
+  public RepoScheduleService(final MongoRepoService mongoRepoService) {
+    this.mongoRepoService = mongoRepoService;
+    int cap =
+        parseIntSafe(
+            getSystemEnvProperty(
+                ENV_SCHEDULE_FAIRNESS_CAP, String.valueOf(SCHEDULE_FAIRNESS_CAP_DEFAULT)));
+    this.fairnessCap = cap > 0 ? cap : SCHEDULE_FAIRNESS_CAP_DEFAULT;
+  }
+
+  public List<Repository> orderLongestFirst(
+      final List<Repository> repositories, final Set<RepoPhase> repoPhases) {
+    return orderLongestFirst(repositories, Function.identity(), repoPhases);
+  }
+
+  /**
+   * @param items items to order, eg: repositories
+   * @param repositoryFunction repository of an item
+   * @param repoPhases phases the items go through, expected durations of these are added
+   * @return items longest expected first, with a short one after every fairness cap long ones
+   */
+  public <T> List<T> orderLongestFirst(
+      final List<T> items,
+      final Function<T, Repository> repositoryFunction,
+      final Set<RepoPhase> repoPhases) {
+    if (items.size() < 2) {
+      return items;
+    }
+
+    final List<Repository> repositories = items.stream().map(repositoryFunction).toList();
+    final Map<String, Long> expectedDurations = getExpectedDurations(repositories, repoPhases);
+    List<T> longestFirst = new ArrayList<>(items);
+    longestFirst.sort(
+        Comparator.comparingLong(
+                (T item) ->
+                    expectedDurations.get(repositoryFunction.apply(item).getRepoName()))
+            .reversed());
+
+    List<T> ordered = new ArrayList<>(longestFirst.size());
+    int longIndex = 0;
+    int shortIndex = longestFirst.size() - 1;
+    while (longIndex <= shortIndex) {
+      for (int i = 0; i < this.fairnessCap && longIndex <= shortIndex; i++) {
+        ordered.add(longestFirst.get(longIndex++));
+      }
+      if (longIndex <= shortIndex) {
+        ordered.add(longestFirst.get(shortIndex--));
+      }
+    }
+
+    log.info(
+        "Order Longest First: [ {} ] | [ {} ] | [ {} ]",
+        repoPhases,
+        this.fairnessCap,
+        ordered.stream().map(item -> repositoryFunction.apply(item).getRepoName()).toList());
+    return ordered;
+  }
+
+  /**
+   * @return expected duration of each repository, in milliseconds if any repository has history,
+   *     only relative to each other otherwise
+   */
+  private Map<String, Long> getExpectedDurations(
+      final List<Repository> repositories, final Set<RepoPhase> repoPhases) {
+    final Map<String, Long> historyDurations = getHistoryDurations(repoPhases);
+    Map<String, Long> expectedDurations = new HashMap<>();
+    List<Repository> unseenRepositories = new ArrayList<>();
+    for (Repository repository : repositories) {
+      Long historyDuration = historyDurations.get(repository.getRepoName());
+      if (historyDuration == null) {
+        unseenRepositories.add(repository);
+      } else {
+        expectedDurations.put(repository.getRepoName(), historyDuration);
+      }
+    }
+    if (unseenRepositories.isEmpty()) {
+      return expectedDurations;
+    }
+
+    // only repositories without history are walked, see getRepoSize
+    Map<String, Long> unseenSizes = new HashMap<>();
+    unseenRepositories.forEach(
+        repository -> unseenSizes.put(repository.getRepoName(), getRepoSize(repository)));
+    final double durationPerFile =
+        getDurationPerFile(repoPhases, expectedDurations.values(), unseenSizes.values());
+    unseenSizes.forEach(
+        (repoName, repoSize) -> {
+          long expectedDuration = Math.round(repoSize * durationPerFile);
+          log.debug("Repository Not in History: [ {} ] [ {} ]", repoName, expectedDuration);
+          expectedDurations.put(repoName, expectedDuration);
+        });
+    return expectedDurations;
+  }
+
+  // average duration with history over average size without, estimates are then on the same scale
+  // computed once per run and phases, so update types of a run share it
+  private double getDurationPerFile(
+      final Set<RepoPhase> repoPhases,
+      final Collection<Long> seenDurations,
+      final Collection<Long> unseenSizes) {
+    final Map<Set<RepoPhase>, Double> durationsPerFile =
+        ProcessUtils.getRunContext().getDurationsPerFile();
+    final Double cachedDurationPerFile = durationsPerFile.get(repoPhases);
+    if (cachedDurationPerFile != null) {
+      return cachedDurationPerFile;
+    }
+    if (seenDurations.isEmpty()) {
+      // nothing to scale to, sizes are only compared to each other
+      return 1.0;
+    }
+
+    double seenDuration = seenDurations.stream().mapToLong(Long::longValue).average().orElse(0);
+    double unseenSize = unseenSizes.stream().mapToLong(Long::longValue).average().orElse(0);
+    double durationPerFile = unseenSize > 0 ? seenDuration / unseenSize : 1.0;
+    durationsPerFile.put(Set.copyOf(repoPhases), durationPerFile);
+    return durationPerFile;
+  }
+
+  // average of each phase over the process summaries it is recorded in
+  private Map<String, Long> getHistoryDurations(final Set<RepoPhase> repoPhases) {
+    final List<ProcessSummaries> processSummaries;
+    try {
+      processSummaries =
+          mongoRepoService.getRecentProcessSummaries(SCHEDULE_HISTORY_PROCESS_SUMMARIES);
+    } catch (Exception ex) {
+      log.error("ERROR Get Process Summaries to Order Repositories", ex);
+      return Collections.emptyMap();
+    }
+
+    Map<String, Map<String, LongSummaryStatistics>> phaseStatistics = new HashMap<>();
+    for (ProcessSummaries processSummary : processSummaries) {
+      if (processSummary.getProcessedRepositories() == null) {
+        continue;
+      }
+      for (ProcessedRepository processedRepository : processSummary.getProcessedRepositories()) {
+        if (processedRepository.getPhaseDurationsMillis() == null) {
+          continue;
+        }
+        processedRepository
+            .getPhaseDurationsMillis()
+            .forEach(
+                (repoPhase, durationMillis) ->
+                    phaseStatistics
+                        .computeIfAbsent(processedRepository.getRepoName(), key -> new HashMap<>())
+                        .computeIfAbsent(repoPhase, key -> new LongSummaryStatistics())
+                        .accept(durationMillis));
+      }
+    }
+
+    Map<String, Long> historyDurations = new HashMap<>();
+    phaseStatistics.forEach(
+        (repoName, statistics) ->
+            historyDurations.put(
+                repoName,
+                repoPhases.stream()
+                    .map(RepoPhase::name)
+                    .filter(statistics::containsKey)
+                    .mapToLong(repoPhase -> Math.round(statistics.get(repoPhase).getAverage()))
+                    .sum()));
+    return historyDurations;
+  }
+
+  // number of files, each gradle module counts as many files as it is built separately
+  // walked once, a repository has history after its first run
+  private long getRepoSize(final Repository repository) {
+    return this.repoFileCounts.computeIfAbsent(repository.getRepoPath(), this::countFiles)
+        + (long) repository.getGradleModules().size() * SCHEDULE_MODULE_SIZE_FILES;
+  }
+
+  private long countFiles(final Path repoPath) {
+    final long[] count = {0};
+    try {
+      Files.walkFileTree(
+          repoPath,
+          new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult preVisitDirectory(
+                final Path dir, final BasicFileAttributes attrs) {
+              String name = String.valueOf(dir.getFileName());
+              if (!dir.equals(repoPath)
+                  && (name.startsWith(".") || SKIP_DIRECTORIES.contains(name))) {
+                return FileVisitResult.SKIP_SUBTREE;
+              }
+              return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(final Path file, final BasicFileAttributes attrs) {
+              count[0]++;
+              return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFileFailed(final Path file, final IOException ex) {
+              return FileVisitResult.CONTINUE;
+            }
+          });
+    } catch (IOException ex) {
+      log.error("ERROR Count Files: [ {} ]", repoPath, ex);
+    }
+    return count[0];
+  }
+}
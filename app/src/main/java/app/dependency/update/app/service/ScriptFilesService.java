@@ -102,9 +102,14 @@ public class ScriptFilesService {
 
   private boolean createTempScriptFile(final ScriptFile scriptFile) {
     try {
-      Path filePath =
-          Files.createFile(
-              Path.of(TEMP_SCRIPTS_DIRECTORY + PATH_DELIMITER + scriptFile.getScriptFileName()));
+      Path scriptPath =
+          Path.of(TEMP_SCRIPTS_DIRECTORY + PATH_DELIMITER + scriptFile.getScriptFileName());
+      if (Files.exists(scriptPath)) {
+        // not deleted because another run could be executing it
+        log.debug("Temp script file exists: [ {} ]", scriptPath);
+        return false;
+      }
+      Path filePath = Files.createFile(scriptPath);
       try (InputStream inputStream =
           getClass()
               .getClassLoader()
@@ -1,14 +1,13 @@
 package app.dependency.update.app.service;
 
 import static app.dependency.update.app.util.CommonUtils.*;
-import static app.dependency.update.app.util.ConstantUtils.BRANCH_UPDATE_DEPENDENCIES;
 import static app.dependency.update.app.util.ConstantUtils.ENV_REPO_NAME;
 import static app.dependency.update.app.util.ConstantUtils.ENV_SEND_EMAIL;
+import static app.dependency.update.app.util.ConstantUtils.ENV_UPDATE_PIPELINE;
 import static app.dependency.update.app.util.ConstantUtils.PATH_DELIMITER;
+import static app.dependency.update.app.util.ConstantUtils.PR_CREATE_RETRY_MINUTES;
+import static app.dependency.update.app.util.ConstantUtils.SCHEDULER_RESCHEDULE_MAX;
 import static app.dependency.update.app.util.ProcessUtils.getRepositoriesWithPrError;
-import static app.dependency.update.app.util.ProcessUtils.getSchedulerRescheduled;
-import static app.dependency.update.app.util.ProcessUtils.resetProcessedRepositoriesAndSummary;
-import static app.dependency.update.app.util.ProcessUtils.setSchedulerRescheduled;
 import static app.dependency.update.app.util.ProcessUtils.updateProcessedRepositoriesRepoType;
 
 import app.dependency.update.app.exception.AppDependencyUpdateRuntimeException;
@@ -16,11 +15,17 @@ import app.dependency.update.app.model.AppInitData;
 import app.dependency.update.app.model.ProcessSummary;
 import app.dependency.update.app.model.ProcessedRepository;
 import app.dependency.update.app.model.Repository;
+import app.dependency.update.app.model.RunJournal;
+import app.dependency.update.app.model.UpdatePlanEntry;
 import app.dependency.update.app.model.entities.ProcessSummaries;
 import app.dependency.update.app.runnable.*;
 import app.dependency.update.app.util.AppInitDataUtils;
+import app.dependency.update.app.util.ExecutorUtils;
 import app.dependency.update.app.util.ProcessSummaryEmailUtils;
 import app.dependency.update.app.util.ProcessUtils;
+import app.dependency.update.app.util.RepositoryLockUtils;
+import app.dependency.update.app.util.RunContext;
+import app.dependency.update.app.util.RunJournalUtils;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.Instant;
@@ -30,6 +35,7 @@ import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.Base64;
 import java.util.Comparator;
+import java.util.EnumSet;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -37,8 +43,12 @@ import java.util.Set;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.BeanUtils;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.scheduling.concurrent.ConcurrentTaskScheduler;
 import org.springframework.stereotype.Service;
@@ -52,35 +62,57 @@ public class UpdateRepoService {
   private final MongoRepoService mongoRepoService;
   private final ScriptFilesService scriptFilesService;
   private final EmailService emailService;
+  private final RepoFingerprintService repoFingerprintService;
 
   public UpdateRepoService(
       final MongoRepoService mongoRepoService,
       final ScriptFilesService scriptFilesService,
-      final EmailService emailService) {
+      final EmailService emailService,
+      final RepoFingerprintService repoFingerprintService) {
     this.scheduledExecutorService = Executors.newScheduledThreadPool(30);
     this.taskScheduler = new ConcurrentTaskScheduler(this.scheduledExecutorService);
     this.mongoRepoService = mongoRepoService;
     this.scriptFilesService = scriptFilesService;
     this.emailService = emailService;
+    this.repoFingerprintService = repoFingerprintService;
   }
 
   @Scheduled(cron = "0 0 20 * * *")
   void updateReposScheduler() {
-    if (isTaskRunning() && !getSchedulerRescheduled()) {
-      log.info("Something is running, rescheduling 30 minutes from now...");
-      setSchedulerRescheduled(true);
+    updateReposScheduler(0);
+  }
+
+  private void updateReposScheduler(final int rescheduledCount) {
+    log.info("Starting Scheduler to Update Repos: [ {} ]", rescheduledCount);
+    boolean isSubmitted =
+        updateRepos(
+            false,
+            false,
+            null,
+            null,
+            UpdateType.ALL,
+            false,
+            true,
+            true,
+            true,
+            "true".equals(getSystemEnvProperty(ENV_UPDATE_PIPELINE)),
+            null);
+    if (!isSubmitted && rescheduledCount < SCHEDULER_RESCHEDULE_MAX) {
+      log.info("Repositories locked by another run, rescheduling 30 minutes from now...");
       taskScheduler.schedule(
-          this::updateReposScheduler, Instant.now().plus(30, ChronoUnit.MINUTES));
-    } else {
-      log.info("Starting Scheduler to Update Repos...");
-      setSchedulerRescheduled(false);
-      updateRepos(false, false, null, null, UpdateType.ALL, false, true, true, true);
+          () -> updateReposScheduler(rescheduledCount + 1),
+          Instant.now().plus(30, ChronoUnit.MINUTES));
+    } else if (!isSubmitted) {
+      log.error("Repositories locked by another run, scheduled update not run...");
     }
   }
 
   public void restartScheduler() throws InterruptedException {
     scheduledExecutorService.shutdownNow();
     Thread.sleep(5000);
+    // runs are stopped, so are their locks
+    ProcessUtils.clearRunContexts();
+    RepositoryLockUtils.unlockAllRepositories();
     this.scheduledExecutorService = Executors.newScheduledThreadPool(30);
     this.taskScheduler = new ConcurrentTaskScheduler(scheduledExecutorService);
   }
@@ -92,7 +124,21 @@ public class UpdateRepoService {
     return executor.getActiveCount() > 0;
   }
 
-  public void updateRepos(
+  /**
+   * @param updateType update type
+   * @param repoName only this repository if provided
+   * @return true if any repository the update type works on is locked by a run
+   */
+  public boolean isTaskRunning(final UpdateType updateType, final String repoName) {
+    return RepositoryLockUtils.isAnyRepositoryLocked(getRepoPaths(updateType, repoName));
+  }
+
+  /**
+   * Submits the update, runs on different repositories can run at the same time
+   *
+   * @return true if submitted, false if any of its repositories is locked by another run
+   */
+  public boolean updateRepos(
       final boolean isRecreateCaches,
       final boolean isRecreateScriptFiles,
       final String branchName,
@@ -101,21 +147,44 @@ public class UpdateRepoService {
       final boolean isForceCreatePr,
       final boolean isDeleteUpdateDependenciesOnly,
       final boolean isProcessSummaryRequired,
-      final boolean isGithubResetPullRequired) {
-    // reset processed repository map from previous run if anything remaining
-    resetProcessedRepositoriesAndSummary();
-    if (checkDependenciesUpdate(updateType)) {
-      taskScheduler.schedule(
+      final boolean isGithubResetPullRequired,
+      final boolean isPipeline,
+      final MavenResolver mavenResolver) {
+    final RunContext runContext =
+        new RunContext(
+            updateType,
+            getRepoPaths(updateType, updateType == UpdateType.GRADLE_SPOTLESS ? repoName : null));
+    if (!startRun(runContext)) {
+      return false;
+    }
+
+    if (checkDependenciesUpdate(updateType) && isPipeline) {
+      scheduleRun(
+          runContext,
+          () ->
+              updateReposPipeline(
+                  updateType,
+                  isRecreateCaches,
+                  isRecreateScriptFiles,
+                  isProcessSummaryRequired,
+                  isGithubResetPullRequired,
+                  mavenResolver),
+          Instant.now().plusSeconds(3));
+    } else if (checkDependenciesUpdate(updateType)) {
+      scheduleRun(
+          runContext,
           () ->
               updateReposAllDependencies(
                   updateType,
                   isRecreateCaches,
                   isRecreateScriptFiles,
                   isProcessSummaryRequired,
-                  isGithubResetPullRequired),
+                  isGithubResetPullRequired,
+                  mavenResolver),
           Instant.now().plusSeconds(3));
     } else {
-      taskScheduler.schedule(
+      scheduleRun(
+          runContext,
           () ->
               updateReposByUpdateType(
                   isRecreateCaches,
@@ -127,10 +196,152 @@ public class UpdateRepoService {
                   isDeleteUpdateDependenciesOnly),
           Instant.now().plusSeconds(3));
     }
+    return true;
+  }
+
+  private Set<Path> getRepoPaths(final UpdateType updateType, final String repoName) {
+    return AppInitDataUtils.appInitData().getRepositories().stream()
+        .filter(repository -> isRunRepository(updateType, repository))
+        .filter(repository -> isEmpty(repoName) || repository.getRepoName().equals(repoName))
+        .map(Repository::getRepoPath)
+        .collect(Collectors.toSet());
+  }
+
+  // github update types and reset / pull of all dependencies work on all repositories
+  private boolean isRunRepository(final UpdateType updateType, final Repository repository) {
+    return switch (updateType) {
+      case GRADLE_DEPENDENCIES, PYTHON_DEPENDENCIES, NPM_DEPENDENCIES ->
+          repository.getType() == updateType;
+      case NPM_SNAPSHOT -> repository.getType() == UpdateType.NPM_DEPENDENCIES;
+      case GRADLE_SPOTLESS -> repository.getType() == UpdateType.GRADLE_DEPENDENCIES;
+      default -> true;
+    };
+  }
+
+  private boolean startRun(final RunContext runContext) {
+    if (!RepositoryLockUtils.lockRepositories(runContext.getRunId(), runContext.getRepoPaths())) {
+      return false;
+    }
+    ProcessUtils.addRunContext(runContext);
+    log.info("Run Started: [ {} ] [ {} ]", runContext.getRunId(), runContext.getRepoPaths().size());
+    return true;
+  }
+
+  private void scheduleRun(
+      final RunContext runContext, final Runnable runnable, final Instant startTime) {
+    taskScheduler.schedule(
+        () ->
+            ProcessUtils.runWithRunContext(
+                runContext,
+                () -> {
+                  try {
+                    runnable.run();
+                  } catch (RuntimeException ex) {
+                    // run journal is kept, the run is resumed after a restart
+                    log.error("Run Failed: [ {} ]", runContext.getRunId(), ex);
+                    endRun(runContext);
+                  }
+                }),
+        startTime);
+  }
+
+  private void endRun(final RunContext runContext) {
+    ProcessUtils.removeRunContext(runContext);
+    RepositoryLockUtils.unlockRepositories(runContext.getRunId());
+    repoFingerprintService.flushRepoFingerprints();
+    log.info("Run Ended: [ {} ]", runContext.getRunId());
+  }
+
+  // this is the final step of the run, called from a thread working for the run
+  private void completeRun() {
+    RunJournalUtils.completeRun();
+    endRun(ProcessUtils.getRunContext());
+  }
+
+  /**
+   * Unlocks repositories the run has nothing left to do for, eg: no pull request created, so that
+   * other runs can work on them, eg: gradle spotless while the nightly run is updating npm
+   *
+   * @param appInitData app init data of the run
+   * @param updatedTypes repository types updated so far, a repository listed for more than one
+   *     type is unlocked after all of them are updated
+   */
+  private void unlockRepositoriesUpdated(
+      final AppInitData appInitData, final Set<UpdateType> updatedTypes) {
+    final Map<String, ProcessedRepository> processedRepositoryMap =
+        ProcessUtils.getProcessedRepositoriesMap();
+    final List<Path> repoPaths =
+        appInitData.getRepositories().stream()
+            .collect(Collectors.groupingBy(Repository::getRepoPath))
+            .entrySet()
+            .stream()
+            .filter(
+                entry ->
+                    entry.getValue().stream()
+                        .allMatch(
+                            repository ->
+                                updatedTypes.contains(repository.getType())
+                                    && !isPrPending(
+                                        processedRepositoryMap.get(repository.getRepoName()))))
+            .map(Map.Entry::getKey)
+            .toList();
+    RepositoryLockUtils.unlockRepositories(ProcessUtils.getRunContext().getRunId(), repoPaths);
+  }
+
+  // pull request still to merge or to create again
+  private boolean isPrPending(final ProcessedRepository processedRepository) {
+    return processedRepository != null
+        && ((processedRepository.isPrCreated() && !processedRepository.isPrMerged())
+            || processedRepository.isPrCreateError());
+  }
+
+  // repositories still locked by the run, others are no longer worked on by the run
+  private AppInitData runAppInitData() {
+    final Set<Path> repoPaths =
+        RepositoryLockUtils.getLockedRepositories(ProcessUtils.getRunContext().getRunId());
+    return AppInitDataUtils.filterRepositories(
+        AppInitDataUtils.appInitData(),
+        repository -> repoPaths.contains(repository.getRepoPath()));
+  }
+
+  /**
+   * Plans the files update of repositories, nothing is written and no script or git command is run
+   *
+   * @param updateType ALL, GRADLE_DEPENDENCIES, NPM_DEPENDENCIES or PYTHON_DEPENDENCIES
+   * @param repoName plan only this repository if provided
+   * @param consumer receives plan of each repository as soon as it is done
+   * @return number of changed lines in all plans
+   */
+  public int planRepos(
+      final UpdateType updateType,
+      final String repoName,
+      final Consumer<List<UpdatePlanEntry>> consumer) {
+    log.info("Plan Repos: [ {} ] | [ {} ]", updateType, repoName);
+    // own run context, not added to the active runs, so the plan does not change their state
+    final RunContext planRunContext =
+        new RunContext(String.format("plan_%s", LocalDateTime.now()), updateType, Set.of());
+    return ProcessUtils.supplyWithRunContext(
+        planRunContext,
+        () -> {
+          try {
+            return new UpdateReposPlan(
+                    AppInitDataUtils.appInitData(), mongoRepoService, updateType, repoName)
+                .updateReposPlan(consumer);
+          } finally {
+            // forget what the plan found missing in mongo, it is saved like in any run
+            mongoRepoService.saveBufferedAndReset();
+          }
+        });
   }
 
   private void resetAllCaches() {
-    AppInitDataUtils.clearAppInitData();
+    if (isOtherRunActive()) {
+      // other runs are using app init data, only repositories of this run are read again
+      AppInitDataUtils.refreshRepositories(ProcessUtils.getRunContext().getRepoPaths());
+    } else {
+      AppInitDataUtils.clearAppInitData();
+    }
+    // catalogs are replaced, not changed, so other runs keep the ones they already have
     mongoRepoService.clearPluginsMap();
     mongoRepoService.clearDependenciesMap();
     mongoRepoService.clearPackagesMap();
@@ -145,6 +356,23 @@ public class UpdateRepoService {
     mongoRepoService.npmSkipsMap();
   }
 
+  // app init data and script files are shared by all runs
+  private boolean isOtherRunActive() {
+    final String runId = ProcessUtils.getRunContext().getRunId();
+    return ProcessUtils.getRunContexts().stream()
+        .anyMatch(runContext -> !runContext.getRunId().equals(runId));
+  }
+
+  private void recreateScriptFiles(final boolean isRecreateScriptFiles) {
+    if (isRecreateScriptFiles && isOtherRunActive()) {
+      // scripts could be running for other runs, only missing ones are created
+      log.info("Other Runs Active, Script Files Not Deleted...");
+    } else if (isRecreateScriptFiles) {
+      scriptFilesService.deleteTempScriptFiles();
+    }
+    scriptFilesService.createTempScriptFiles();
+  }
+
   private boolean isGithubPrCreateFailed() {
     return !getRepositoriesWithPrError().isEmpty();
   }
@@ -154,29 +382,18 @@ public class UpdateRepoService {
       final boolean isRecreateCaches,
       final boolean isRecreateScriptFiles,
       final boolean isProcessSummaryRequired,
-      final boolean isGithubResetPullRequired) {
+      final boolean isGithubResetPullRequired,
+      final MavenResolver mavenResolver) {
     log.info(
-        "Update Repos All Dependencies: [ {} ] [ {} ] | [ {} ] | [ {} ] | [ {} ]",
+        "Update Repos All Dependencies: [ {} ] [ {} ] | [ {} ] | [ {} ] | [ {} ] | [ {} ]",
         updateType,
         isRecreateCaches,
         isRecreateScriptFiles,
         isProcessSummaryRequired,
-        isGithubResetPullRequired);
-    // clear and set caches as needed
-    if (isRecreateCaches) {
-      log.info("Update Repos All Dependencies, Recreating Caches...");
-      resetAllCaches();
-      setAllCaches();
-    }
-
-    // delete and create script files as needed
-    if (isRecreateScriptFiles || scriptFilesService.isScriptFilesMissingInFileSystem()) {
-      log.info("Update Repos All Dependencies, Recreating Script Files...");
-      scriptFilesService.deleteTempScriptFiles();
-      scriptFilesService.createTempScriptFiles();
-    }
-
-    AppInitData appInitData = AppInitDataUtils.appInitData();
+        isGithubResetPullRequired,
+        mavenResolver);
+    RunJournalUtils.startRun(updateType, false, isProcessSummaryRequired);
+    AppInitData appInitData = prepareCachesAndScriptFiles(isRecreateCaches, isRecreateScriptFiles);
 
     if (isGithubResetPullRequired) {
       // checkout main branch
@@ -187,36 +404,119 @@ public class UpdateRepoService {
 
     // clear and set caches after pull (gradle version in repo could have changed)
     if (isRecreateCaches) {
-      log.info("Update Repos All Dependencies, Reset All Caches...");
-      resetAllCaches();
-      log.info("Update Repos All Dependencies, Update Plugins In Mongo...");
-      mongoRepoService.updatePluginsInMongo(mongoRepoService.pluginsMap());
-      log.info("Update Repos All Dependencies, Update Dependencies In Mongo...");
-      mongoRepoService.updateDependenciesInMongo(mongoRepoService.dependenciesMap());
-      log.info("Update Repos All Dependencies, Update Packages In Mongo...");
-      mongoRepoService.updatePackagesInMongo(mongoRepoService.packagesMap());
-      log.info("Update Repos All Dependencies, Set All Caches...");
-      setAllCaches();
+      updateMongoAndCaches(mavenResolver);
     }
 
+    executeUpdateDependencies(updateType, appInitData);
+    RunJournalUtils.updateRunStage(RunStage.CONTINUE, null);
+
+    // merge watcher waits for github PR checks of each repository, so continue right away
+    updateReposAllDependenciesContinue(
+        isProcessSummaryRequired, updateType, runAppInitData(), true);
+  }
+
+  private void executeUpdateDependencies(
+      final UpdateType updateType, final AppInitData appInitData) {
+    Set<UpdateType> updatedTypes = EnumSet.noneOf(UpdateType.class);
     if (updateType == UpdateType.ALL || updateType == UpdateType.GRADLE_DEPENDENCIES) {
       executeUpdateGradleDependencies(appInitData);
+      updatedTypes.add(UpdateType.GRADLE_DEPENDENCIES);
+      unlockRepositoriesUpdated(appInitData, updatedTypes);
     }
 
     if (updateType == UpdateType.ALL || updateType == UpdateType.PYTHON_DEPENDENCIES) {
       executeUpdatePythonDependencies(appInitData);
+      updatedTypes.add(UpdateType.PYTHON_DEPENDENCIES);
+      unlockRepositoriesUpdated(appInitData, updatedTypes);
     }
 
     if (updateType == UpdateType.ALL || updateType == UpdateType.NPM_DEPENDENCIES) {
       executeUpdateNpmDependencies(appInitData);
+      updatedTypes.add(UpdateType.NPM_DEPENDENCIES);
+      unlockRepositoriesUpdated(appInitData, updatedTypes);
     }
+  }
 
-    // wait 5 minutes to complete github PR checks and resume process
-    taskScheduler.schedule(
-        () ->
-            updateReposAllDependenciesContinue(
-                isProcessSummaryRequired, updateType, appInitData, true),
-        Instant.now().plusSeconds(300));
+  private AppInitData prepareCachesAndScriptFiles(
+      final boolean isRecreateCaches, final boolean isRecreateScriptFiles) {
+    // clear and set caches as needed
+    if (isRecreateCaches) {
+      log.info("Update Repos All Dependencies, Recreating Caches...");
+      resetAllCaches();
+      setAllCaches();
+    }
+
+    // delete and create script files as needed
+    if (isRecreateScriptFiles || scriptFilesService.isScriptFilesMissingInFileSystem()) {
+      log.info("Update Repos All Dependencies, Recreating Script Files...");
+      recreateScriptFiles(isRecreateScriptFiles);
+    }
+
+    return runAppInitData();
+  }
+
+  private void updateMongoAndCaches(final MavenResolver mavenResolver) {
+    log.info("Update Repos All Dependencies, Reset All Caches...");
+    resetAllCaches();
+    log.info("Update Repos All Dependencies, Update Plugins, Dependencies, Packages In Mongo...");
+    // each calls a different upstream, so they can run at the same time
+    ExecutorUtils.joinAll(
+        List.of(
+            ExecutorUtils.submit(
+                "updatePluginsInMongo",
+                () -> mongoRepoService.updatePluginsInMongo(mongoRepoService.pluginsMap())),
+            ExecutorUtils.submit(
+                "updateDependenciesInMongo",
+                () ->
+                    mongoRepoService.updateDependenciesInMongo(
+                        mongoRepoService.dependenciesMap(), mavenResolver)),
+            ExecutorUtils.submit(
+                "updatePackagesInMongo",
+                () -> mongoRepoService.updatePackagesInMongo(mongoRepoService.packagesMap()))));
+    log.info("Update Repos All Dependencies, Set All Caches...");
+    setAllCaches();
+  }
+
+  private void updateReposPipeline(
+      final UpdateType updateType,
+      final boolean isRecreateCaches,
+      final boolean isRecreateScriptFiles,
+      final boolean isProcessSummaryRequired,
+      final boolean isGithubResetPullRequired,
+      final MavenResolver mavenResolver) {
+    log.info(
+        "Update Repos Pipeline: [ {} ] [ {} ] | [ {} ] | [ {} ] | [ {} ] | [ {} ]",
+        updateType,
+        isRecreateCaches,
+        isRecreateScriptFiles,
+        isProcessSummaryRequired,
+        isGithubResetPullRequired,
+        mavenResolver);
+    RunJournalUtils.startRun(updateType, true, isProcessSummaryRequired);
+    prepareCachesAndScriptFiles(isRecreateCaches, isRecreateScriptFiles);
+
+    // repositories are pulled inside the pipeline, so refresh mongo before starting it
+    if (isRecreateCaches) {
+      updateMongoAndCaches(mavenResolver);
+    }
+
+    AppInitData appInitData = runAppInitData();
+    new UpdateReposPipeline(appInitData, mongoRepoService, updateType, isGithubResetPullRequired)
+        .updateReposPipeline();
+    unlockRepositoriesUpdated(appInitData, EnumSet.allOf(UpdateType.class));
+    RunJournalUtils.updateRunStage(RunStage.CONTINUE, null);
+
+    // check github pr create error and execute if needed
+    final boolean isPrCreateRetryScheduled =
+        updateReposContinueGithubPrCreateRetry(isProcessSummaryRequired, updateType);
+    // save what was found missing in mongo during the run
+    saveBufferedToMongo();
+    // send process summary email if applicable
+    makeProcessSummary(isProcessSummaryRequired, updateType);
+    // this is the final step, unless pr create is retried
+    if (!isPrCreateRetryScheduled) {
+      completeRun();
+    }
   }
 
   private void updateReposAllDependenciesContinue(
@@ -228,19 +528,23 @@ public class UpdateRepoService {
         "Update Repos All Dependencies Continue: [ {} ] | [ {} ]",
         isProcessSummaryRequired,
         updateType);
-    // merge PRs
-    executeUpdateGithubMerge(appInitData);
+    // merge PRs as their checks complete
+    executeUpdateGithubMergeWatcher(appInitData);
     // pull changes
     executeUpdateGithubPull(appInitData);
     // check github pr create error and execute if needed
-    if (isCheckPrCreateRetry) {
-      updateReposContinueGithubPrCreateRetry(isProcessSummaryRequired, updateType);
-    }
+    final boolean isPrCreateRetryScheduled =
+        isCheckPrCreateRetry
+            && updateReposContinueGithubPrCreateRetry(isProcessSummaryRequired, updateType);
 
+    // save what was found missing in mongo during the run
+    saveBufferedToMongo();
     // send process summary email if applicable
     makeProcessSummary(isProcessSummaryRequired, updateType);
-    // this is the final step, clear processed repositories
-    resetProcessedRepositoriesAndSummary();
+    // this is the final step, unless pr create is retried
+    if (!isPrCreateRetryScheduled) {
+      completeRun();
+    }
   }
 
   /**
@@ -249,22 +553,127 @@ public class UpdateRepoService {
    * given time There is no documentation about this limit, but some GitHub issues do mention this
    * So if the app encounters this limit, retry pr create after 1 hour
    */
-  private void updateReposContinueGithubPrCreateRetry(
+  private boolean updateReposContinueGithubPrCreateRetry(
       final boolean isProcessSummaryRequired, final UpdateType updateType) {
     log.info("Update Repos Continue Github PR Create Retry: [ {} ]", isGithubPrCreateFailed());
     if (isGithubPrCreateFailed()) {
-      String branchName = String.format(BRANCH_UPDATE_DEPENDENCIES, LocalDate.now());
-      AppInitData appInitData = AppInitDataUtils.appInitData();
-      taskScheduler.schedule(
-          () -> executeUpdateReposGithubPrCreateRetry(branchName, false, appInitData),
-          Instant.now().plus(60, ChronoUnit.MINUTES));
-      // wait 5 minutes to complete github PR checks and resume process
-      taskScheduler.schedule(
-          () ->
-              updateReposAllDependenciesContinue(
-                  isProcessSummaryRequired, updateType, appInitData, false),
-          Instant.now().plus(66, ChronoUnit.MINUTES));
+      Instant prCreateRetryAt = Instant.now().plus(PR_CREATE_RETRY_MINUTES, ChronoUnit.MINUTES);
+      RunJournalUtils.updateRunStage(RunStage.PR_CREATE_RETRY, prCreateRetryAt);
+      schedulePrCreateRetry(isProcessSummaryRequired, updateType, prCreateRetryAt);
+      return true;
     }
+    return false;
+  }
+
+  private void schedulePrCreateRetry(
+      final boolean isProcessSummaryRequired,
+      final UpdateType updateType,
+      final Instant prCreateRetryAt) {
+    // merge watcher waits for github PR checks after retry and resumes process
+    scheduleRun(
+        ProcessUtils.getRunContext(),
+        () -> {
+          String branchName = RunJournalUtils.getBranchName();
+          AppInitData appInitData = runAppInitData();
+          executeUpdateReposGithubPrCreateRetry(branchName, false, appInitData);
+          updateReposAllDependenciesContinue(
+              isProcessSummaryRequired, updateType, appInitData, false);
+        },
+        prCreateRetryAt);
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  void resumeRunOnStartup() {
+    resumeRun();
+  }
+
+  /**
+   * Continues the dependencies update run that did not complete before a restart, from its last
+   * checkpoint in the run journal
+   *
+   * @return true if a run is resumed
+   */
+  public boolean resumeRun() {
+    final RunJournal runJournal = RunJournalUtils.resumeRun();
+    if (runJournal == null) {
+      return false;
+    }
+
+    log.info(
+        "Resume Run: [ {} ] [ {} ] | [ {} ] | [ {} ]",
+        runJournal.getRunId(),
+        runJournal.getRunStage(),
+        runJournal.getUpdateType(),
+        runJournal.isPipeline());
+    final UpdateType updateType = runJournal.getUpdateType();
+    final boolean isProcessSummaryRequired = runJournal.isProcessSummaryRequired();
+    final RunContext runContext =
+        new RunContext(runJournal.getRunId(), updateType, getRepoPaths(updateType, null));
+    if (!startRun(runContext)) {
+      log.info("Resume Run, Repositories Locked by Another Run: [ {} ]", runJournal.getRunId());
+      return false;
+    }
+
+    ProcessUtils.runWithRunContext(
+        runContext,
+        () -> {
+          RunJournalUtils.restoreProcessedRepositories();
+          switch (runJournal.getRunStage()) {
+            case UPDATE ->
+                scheduleRun(
+                    runContext,
+                    () ->
+                        resumeReposUpdate(
+                            updateType, runJournal.isPipeline(), isProcessSummaryRequired),
+                    Instant.now().plusSeconds(3));
+            case CONTINUE ->
+                scheduleRun(
+                    runContext,
+                    () ->
+                        updateReposAllDependenciesContinue(
+                            isProcessSummaryRequired, updateType, runAppInitData(), true),
+                    Instant.now().plusSeconds(3));
+            case PR_CREATE_RETRY -> {
+              Instant prCreateRetryAt =
+                  Instant.ofEpochMilli(runJournal.getPrCreateRetryAtMillis());
+              schedulePrCreateRetry(
+                  isProcessSummaryRequired,
+                  updateType,
+                  prCreateRetryAt.isAfter(Instant.now())
+                      ? prCreateRetryAt
+                      : Instant.now().plusSeconds(3));
+            }
+          }
+        });
+    return true;
+  }
+
+  private void resumeReposUpdate(
+      final UpdateType updateType,
+      final boolean isPipeline,
+      final boolean isProcessSummaryRequired) {
+    AppInitData appInitData = runAppInitData();
+    // repositories updated before the restart are not updated again
+    AppInitData remainingAppInitData =
+        AppInitDataUtils.filterRepositories(
+            appInitData, repository -> !RunJournalUtils.isRepositoryUpdated(repository));
+    log.info(
+        "Resume Repos Update: [ {} ] of [ {} ] repositories",
+        remainingAppInitData.getRepositories().size(),
+        appInitData.getRepositories().size());
+
+    if (isPipeline) {
+      new UpdateReposPipeline(remainingAppInitData, mongoRepoService, updateType, false)
+          .updateReposPipeline();
+    } else {
+      executeUpdateDependencies(updateType, remainingAppInitData);
+    }
+    unlockRepositoriesUpdated(appInitData, EnumSet.allOf(UpdateType.class));
+    RunJournalUtils.updateRunStage(RunStage.CONTINUE, null);
+
+    // pull requests created before the restart are watched and merged too
+    updateReposAllDependenciesContinue(
+        isProcessSummaryRequired, updateType, runAppInitData(), true);
   }
 
   private void updateReposByUpdateType(
@@ -293,11 +702,10 @@ public class UpdateRepoService {
 
     // delete and create script files as needed
     if (isRecreateScriptFiles || scriptFilesService.isScriptFilesMissingInFileSystem()) {
-      scriptFilesService.deleteTempScriptFiles();
-      scriptFilesService.createTempScriptFiles();
+      recreateScriptFiles(isRecreateScriptFiles);
     }
 
-    AppInitData appInitData = AppInitDataUtils.appInitData();
+    AppInitData appInitData = runAppInitData();
 
     // ALL, NPM_DEPENDENCIES, GRADLE_DEPENDENCIES, PYTHON_DEPENDENCIES
     // Above 4 types are handled separately and should not reach here
@@ -316,9 +724,9 @@ public class UpdateRepoService {
               String.format("Invalid Update Type: %s", updateType));
     }
 
-    updateReposContinueGithubPrCreateRetry(false, updateType);
-    // reset processed repositories
-    resetProcessedRepositoriesAndSummary();
+    if (!updateReposContinueGithubPrCreateRetry(false, updateType)) {
+      completeRun();
+    }
   }
 
   private void executeUpdateNpmDependencies(final AppInitData appInitData) {
@@ -351,6 +759,28 @@ public class UpdateRepoService {
     new UpdateGithubMerge(appInitData).updateGithubMerge();
   }
 
+  private void executeUpdateGithubMergeWatcher(final AppInitData appInitData) {
+    log.info("Execute Update Github Merge Watcher...");
+    Map<String, ProcessedRepository> processedRepositoryMap =
+        ProcessUtils.getProcessedRepositoriesMap();
+    Set<Path> repoPaths = new HashSet<>();
+    List<Repository> repositories =
+        appInitData.getRepositories().stream()
+            .filter(
+                repository -> {
+                  ProcessedRepository processedRepository =
+                      processedRepositoryMap.get(repository.getRepoName());
+                  return processedRepository != null
+                      && processedRepository.isPrCreated()
+                      && !processedRepository.isPrMerged();
+                })
+            // same repository could be listed for more than one type
+            .filter(repository -> repoPaths.add(repository.getRepoPath()))
+            .toList();
+    String branchName = RunJournalUtils.getBranchName();
+    new UpdateGithubMergeWatcher(repositories, branchName).updateGithubMergeWatcher();
+  }
+
   private void executeUpdateReposNpmSnapshot(
       final String branchName, final AppInitData appInitData) {
     log.info("Execute Update Repos NPM Snapshot: [ {} ]", branchName);
@@ -386,6 +816,11 @@ public class UpdateRepoService {
     new UpdateGithubPrCreate(repositories, appInitData, branchName).updateGithubPrCreate();
   }
 
+  private void saveBufferedToMongo() {
+    log.info("Save Buffered Plugins, Dependencies, Packages to Mongo...");
+    ProcessUtils.setMongoCoordinatesDiscovered(mongoRepoService.saveBufferedAndReset());
+  }
+
   private void makeProcessSummary(
       final boolean isProcessSummaryRequired, final UpdateType updateType) {
     boolean isSendEmail =
@@ -433,7 +868,12 @@ public class UpdateRepoService {
         ProcessUtils.getProcessedRepositoriesMap();
     List<ProcessedRepository> processedRepositories =
         new ArrayList<>(ProcessUtils.getProcessedRepositoriesMap().values().stream().toList());
-    List<Repository> allRepositories = AppInitDataUtils.appInitData().getRepositories();
+    // repositories of the run, including those already unlocked
+    Set<Path> repoPaths = ProcessUtils.getRunContext().getRepoPaths();
+    List<Repository> allRepositories =
+        AppInitDataUtils.appInitData().getRepositories().stream()
+            .filter(repository -> repoPaths.contains(repository.getRepoPath()))
+            .toList();
 
     for (Repository repository : allRepositories) {
       if (processedRepositoryMap.containsKey(repository.getRepoName())) {
@@ -452,6 +892,11 @@ public class UpdateRepoService {
     }
 
     processedRepositories.sort(Comparator.comparing(ProcessedRepository::getRepoName));
+    // saved with the process summary, next runs order repositories by them
+    processedRepositories.forEach(
+        processedRepository ->
+            processedRepository.setPhaseDurationsMillis(
+                ProcessUtils.getRepoPhaseDurations(processedRepository.getRepoName())));
 
     ProcessSummary processSummary =
         ProcessSummary.builder()
@@ -460,6 +905,7 @@ public class UpdateRepoService {
             .mongoDependenciesToUpdate(ProcessUtils.getMongoDependenciesToUpdate())
             .mongoPackagesToUpdate(ProcessUtils.getMongoPackagesToUpdate())
             .mongoNpmSkipsActive(ProcessUtils.getMongoNpmSkipsActive())
+            .mongoCoordinatesDiscovered(ProcessUtils.getMongoCoordinatesDiscovered())
             .totalPrCreatedCount(
                 (int)
                     processedRepositories.stream().filter(ProcessedRepository::isPrCreated).count())
@@ -14,6 +14,7 @@ import java.io.IOException;
 import java.lang.reflect.Field;
 import java.nio.file.*;
 import java.util.*;
+import java.util.function.Predicate;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Stream;
@@ -61,6 +62,65 @@ public class AppInitDataUtils {
     appInitDataCache = null;
   }
 
+  /**
+   * Reads the repositories at the given paths again, eg: gradle version changed by pull, the rest
+   * of app init data is kept as is because other runs could be using it
+   *
+   * @param repoPaths paths of repositories to read again
+   * @return app init data with the repositories read again
+   */
+  public static synchronized AppInitData refreshRepositories(final Set<Path> repoPaths) {
+    log.info("Refresh Repositories: [ {} ]", repoPaths.size());
+    final AppInitData appInitData = appInitData();
+    List<Repository> repositories = new ArrayList<>();
+    for (Repository repository : appInitData.getRepositories()) {
+      if (!repoPaths.contains(repository.getRepoPath())) {
+        repositories.add(repository);
+      }
+    }
+    for (Path repoPath : repoPaths) {
+      repositories.addAll(readRepositories(repoPath));
+    }
+    repositories.sort(Comparator.comparingInt(repository -> getTypeOrder(repository.getType())));
+
+    appInitDataCache =
+        AppInitData.builder()
+            .argsMap(appInitData.getArgsMap())
+            .repositories(repositories)
+            .scriptFiles(appInitData.getScriptFiles())
+            .latestVersionsModel(appInitData.getLatestVersionsModel())
+            .build();
+    return appInitDataCache;
+  }
+
+  /**
+   * Same repository could be listed for more than one type, this returns each of them only once
+   *
+   * @param appInitData app init data with repositories
+   * @return repositories with distinct repo path
+   */
+  public static List<Repository> getRepositoriesDistinctByPath(final AppInitData appInitData) {
+    Set<Path> repoPaths = new HashSet<>();
+    return appInitData.getRepositories().stream()
+        .filter(repository -> repoPaths.add(repository.getRepoPath()))
+        .toList();
+  }
+
+  /**
+   * @param appInitData app init data with repositories
+   * @param predicate repositories to keep
+   * @return app init data with only the repositories kept, everything else is the same
+   */
+  public static AppInitData filterRepositories(
+      final AppInitData appInitData, final Predicate<Repository> predicate) {
+    return AppInitData.builder()
+        .argsMap(appInitData.getArgsMap())
+        .scriptFiles(appInitData.getScriptFiles())
+        .repositories(appInitData.getRepositories().stream().filter(predicate).toList())
+        .latestVersionsModel(appInitData.getLatestVersionsModel())
+        .build();
+  }
+
   private static Map<String, String> makeArgsMap() {
     log.debug("Make Args Map...");
     Map<String, String> map = validateInputAndMakeArgsMap();
@@ -108,7 +168,7 @@ public class AppInitDataUtils {
     return map;
   }
 
-  private static List<Repository> getRepositoryLocations(final Map<String, String> argsMap) {
+  static List<Repository> getRepositoryLocations(final Map<String, String> argsMap) {
     log.debug("Get Repository Locations...");
     List<Path> repoPaths;
     try (Stream<Path> pathStream = Files.walk(Paths.get(argsMap.get(ENV_REPO_NAME)), 2)) {
@@ -123,74 +183,76 @@ public class AppInitDataUtils {
           "Repositories not found in the repo path provided!");
     }
 
-    List<Repository> npmRepositories = new ArrayList<>();
-    List<Repository> gradleRepositories = new ArrayList<>();
-    List<Repository> pythonRepositories = new ArrayList<>();
+    List<Repository> repositories = new ArrayList<>();
     for (Path path : repoPaths) {
-      try (Stream<Path> pathStream = Files.list(path)) {
-        npmRepositories.addAll(
-            pathStream
-                .filter(stream -> "package.json".equals(stream.getFileName().toString()))
-                .map(mapper -> new Repository(path, UpdateType.NPM_DEPENDENCIES))
-                .toList());
-      } catch (Exception ex) {
-        throw new AppDependencyUpdateRuntimeException(
-            "NPM Files not found in the repo path provided!", ex);
-      }
-      try (Stream<Path> pathStream = Files.list(path)) {
-        gradleRepositories.addAll(
-            pathStream
-                .filter(stream -> "settings.gradle".equals(stream.getFileName().toString()))
-                .map(
-                    mapper -> {
-                      List<String> gradleModules = readGradleModules(mapper);
-                      return new Repository(path, UpdateType.GRADLE_DEPENDENCIES, gradleModules);
-                    })
-                .toList());
-      } catch (Exception ex) {
-        throw new AppDependencyUpdateRuntimeException(
-            "Gradle Repositories not found in the repo path provided!", ex);
-      }
-      try (Stream<Path> pathStream = Files.list(path)) {
-        pythonRepositories.addAll(
-            pathStream
-                .filter(stream -> "pyproject.toml".equals(stream.getFileName().toString()))
-                .map(
-                    mapper -> {
-                      List<String> requirementsTxts = readRequirementsTxts(path);
-                      return new Repository(path, UpdateType.PYTHON_DEPENDENCIES, requirementsTxts);
-                    })
-                .toList());
-      } catch (Exception ex) {
-        throw new AppDependencyUpdateRuntimeException(
-            "Python Files not found in the repo path provided!", ex);
-      }
+      repositories.addAll(readRepositories(path));
     }
-
-    // add gradle wrapper version data
-    List<Repository> gradleWrapperRepositories =
-        gradleRepositories.stream()
-            .map(
-                repository -> {
-                  String currentGradleVersion = getCurrentGradleVersionInRepo(repository);
-                  return new Repository(
-                      repository.getRepoPath(),
-                      repository.getType(),
-                      repository.getGradleModules(),
-                      currentGradleVersion);
-                })
-            .toList();
-
-    List<Repository> repositories = new ArrayList<>();
-    repositories.addAll(npmRepositories);
-    repositories.addAll(gradleWrapperRepositories);
-    repositories.addAll(pythonRepositories);
+    // npm, then gradle, then python repositories
+    repositories.sort(Comparator.comparingInt(repository -> getTypeOrder(repository.getType())));
 
     log.info("Repository list: [ {} ]", repositories.size());
     log.debug("Repository list: [ {} ]", repositories);
     return repositories;
   }
 
+  private static List<Repository> readRepositories(final Path path) {
+    List<Repository> repositories = new ArrayList<>();
+    try (Stream<Path> pathStream = Files.list(path)) {
+      repositories.addAll(
+          pathStream
+              .filter(stream -> "package.json".equals(stream.getFileName().toString()))
+              .map(mapper -> new Repository(path, UpdateType.NPM_DEPENDENCIES))
+              .toList());
+    } catch (Exception ex) {
+      throw new AppDependencyUpdateRuntimeException(
+          "NPM Files not found in the repo path provided!", ex);
+    }
+    try (Stream<Path> pathStream = Files.list(path)) {
+      repositories.addAll(
+          pathStream
+              .filter(stream -> "settings.gradle".equals(stream.getFileName().toString()))
+              .map(
+                  mapper -> {
+                    List<String> gradleModules = readGradleModules(mapper);
+                    Repository repository =
+                        new Repository(path, UpdateType.GRADLE_DEPENDENCIES, gradleModules);
+                    // add gradle wrapper version data
+                    return new Repository(
+                        path,
+                        UpdateType.GRADLE_DEPENDENCIES,
+                        gradleModules,
+                        getCurrentGradleVersionInRepo(repository));
+                  })
+              .toList());
+    } catch (Exception ex) {
+      throw new AppDependencyUpdateRuntimeException(
+          "Gradle Repositories not found in the repo path provided!", ex);
+    }
+    try (Stream<Path> pathStream = Files.list(path)) {
+      repositories.addAll(
+          pathStream
+              .filter(stream -> "pyproject.toml".equals(stream.getFileName().toString()))
+              .map(
+                  mapper -> {
+                    List<String> requirementsTxts = readRequirementsTxts(path);
+                    return new Repository(path, UpdateType.PYTHON_DEPENDENCIES, requirementsTxts);
+                  })
+              .toList());
+    } catch (Exception ex) {
+      throw new AppDependencyUpdateRuntimeException(
+          "Python Files not found in the repo path provided!", ex);
+    }
+    return repositories;
+  }
+
+  private static int getTypeOrder(final UpdateType updateType) {
+    return switch (updateType) {
+      case NPM_DEPENDENCIES -> 0;
+      case GRADLE_DEPENDENCIES -> 1;
+      default -> 2;
+    };
+  }
+
   private static List<String> readGradleModules(final Path settingsGradlePath) {
     try {
       List<String> allLines = Files.readAllLines(settingsGradlePath);
@@ -0,0 +1,266 @@
+package app.dependency.update.app.util;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+
+/*
+ In memory catalog of plugins, dependencies or packages by their key
+ readers get an unmodifiable snapshot without locking, saving one entry copies the snapshot
+ with only that entry changed instead of loading everything again from mongo
+ snapshot is reloaded in the background when it gets close to its ttl, so readers do not wait
+ if mongo cannot be reached when loading, the previous entries are kept and the catalog is marked
+ as degraded (read only) until it is loaded from mongo again
+*/
+@Slf4j
+public class CatalogCache<V> {
+  private static final int REFRESH_AHEAD_PERCENT = 80;
+
+  private final String name;
+  private final Duration ttl;
+  private final Duration refreshAhead;
+  private final Supplier<Map<String, V>> loader;
+  private final AtomicReference<Snapshot<V>> snapshot = new AtomicReference<>();
+  private final AtomicBoolean isRefreshing = new AtomicBoolean(false);
+  private volatile boolean isDegraded = false;
+
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final AtomicLong loads = new AtomicLong(0);
+  private final AtomicLong refreshesAhead = new AtomicLong(0);
+  private final AtomicLong loadTimeTotalMillis = new AtomicLong(0);
+  private final AtomicLong loadTimeLastMillis = new AtomicLong(0);
+
+  public CatalogCache(
+      final String name, final Duration ttl, final Supplier<Map<String, V>> loader) {
+    this.name = name;
+    this.ttl = ttl;
+    this.refreshAhead = ttl.multipliedBy(REFRESH_AHEAD_PERCENT).dividedBy(100);
+    this.loader = loader;
+  }
+
+  /**
+   * @return current snapshot, loaded first if there is none or it is past its ttl
+   */
+  public Map<String, V> get() {
+    final Snapshot<V> current = this.snapshot.get();
+    if (current == null || current.isOlderThan(this.ttl)) {
+      this.misses.increment();
+      return load(current);
+    }
+
+    this.hits.increment();
+    if (current.isOlderThan(this.refreshAhead) && this.isRefreshing.compareAndSet(false, true)) {
+      ExecutorUtils.submit(
+          "catalog-refresh-" + this.name,
+          () -> {
+            try {
+              refresh(current);
+            } finally {
+              this.isRefreshing.set(false);
+            }
+          });
+    }
+    return current.entries;
+  }
+
+  public synchronized void put(final String key, final V value) {
+    putAll(Map.of(key, value));
+  }
+
+  public synchronized void putAll(final Map<String, V> values) {
+    final Snapshot<V> current = this.snapshot.get();
+    if (current == null || values.isEmpty()) {
+      // nothing loaded yet, next reader loads everything anyway
+      return;
+    }
+    Map<String, V> entries = new HashMap<>(current.entries);
+    entries.putAll(values);
+    // ttl is from when it was loaded from mongo, not when it was changed
+    this.snapshot.set(new Snapshot<>(entries, current.loadedAt));
+  }
+
+  public synchronized void clear() {
+    log.info("Clear Catalog: [ {} ]", this.name);
+    final Snapshot<V> current = this.snapshot.get();
+    if (current != null) {
+      // expired instead of removed, so the entries are still there if mongo cannot be reached
+      this.snapshot.set(new Snapshot<>(current.entries, Instant.EPOCH));
+    }
+  }
+
+  /**
+   * Entries to use until the catalog is loaded from mongo, eg: from the local snapshot file
+   *
+   * @param entries entries by key
+   */
+  public synchronized void seed(final Map<String, V> entries) {
+    if (this.snapshot.get() == null) {
+      log.info("Seed Catalog: [ {} ] [ {} ]", this.name, entries.size());
+      this.snapshot.set(new Snapshot<>(entries, Instant.now()));
+    }
+  }
+
+  /**
+   * Loads the catalog from mongo and replaces the current entries with it
+   *
+   * @return true if loaded from mongo, false if it could not be loaded
+   */
+  public synchronized boolean reconcile() {
+    final Snapshot<V> current = this.snapshot.get();
+    final Snapshot<V> loaded;
+    try {
+      loaded = loadSnapshot();
+    } catch (Exception ex) {
+      log.error("ERROR Reconcile Catalog: [ {} ]", this.name, ex);
+      this.isDegraded = current != null;
+      return false;
+    }
+
+    if (current != null) {
+      logDelta(current.entries, loaded.entries);
+    }
+    this.snapshot.set(loaded);
+    this.isDegraded = false;
+    return true;
+  }
+
+  /**
+   * @return current entries without loading them, null if nothing loaded yet
+   */
+  public Map<String, V> peek() {
+    final Snapshot<V> current = this.snapshot.get();
+    return current == null ? null : current.entries;
+  }
+
+  public boolean isDegraded() {
+    return this.isDegraded;
+  }
+
+  public Map<String, Object> stats() {
+    final Snapshot<V> current = this.snapshot.get();
+    final long hitCount = this.hits.sum();
+    final long missCount = this.misses.sum();
+    final long loadCount = this.loads.get();
+
+    Map<String, Object> stats = new LinkedHashMap<>();
+    stats.put("size", current == null ? 0 : current.entries.size());
+    stats.put("degraded", this.isDegraded);
+    stats.put(
+        "ageSeconds",
+        current == null ? 0 : Duration.between(current.loadedAt, Instant.now()).toSeconds());
+    stats.put("ttlSeconds", this.ttl.toSeconds());
+    stats.put("hits", hitCount);
+    stats.put("misses", missCount);
+    stats.put(
+        "hitRatio", hitCount + missCount == 0 ? 0.0 : (double) hitCount / (hitCount + missCount));
+    stats.put("loads", loadCount);
+    stats.put("refreshesAhead", this.refreshesAhead.get());
+    stats.put("loadTimeLastMillis", this.loadTimeLastMillis.get());
+    stats.put(
+        "loadTimeAverageMillis", loadCount == 0 ? 0 : this.loadTimeTotalMillis.get() / loadCount);
+    return stats;
+  }
+
+  private synchronized Map<String, V> load(final Snapshot<V> expected) {
+    final Snapshot<V> current = this.snapshot.get();
+    if (current != expected && current != null && !current.isOlderThan(this.ttl)) {
+      // loaded by another reader while waiting
+      return current.entries;
+    }
+    final Snapshot<V> loaded;
+    try {
+      loaded = loadSnapshot();
+    } catch (RuntimeException ex) {
+      if (current == null) {
+        throw ex;
+      }
+      // keep using what is there, not loaded again until the ttl or until reconciled
+      log.error(
+          "ERROR Load Catalog, Using Previous: [ {} ] [ {} ]",
+          this.name,
+          current.entries.size(),
+          ex);
+      this.isDegraded = true;
+      this.snapshot.set(new Snapshot<>(current.entries, Instant.now()));
+      return current.entries;
+    }
+    this.snapshot.set(loaded);
+    this.isDegraded = false;
+    return loaded.entries;
+  }
+
+  private synchronized void refresh(final Snapshot<V> expected) {
+    if (this.snapshot.get() != expected) {
+      // changed, cleared or loaded again since the refresh was requested
+      return;
+    }
+    try {
+      this.snapshot.set(loadSnapshot());
+      this.isDegraded = false;
+      this.refreshesAhead.incrementAndGet();
+    } catch (Exception ex) {
+      log.error("ERROR Refresh Catalog: [ {} ]", this.name, ex);
+    }
+  }
+
+  private void logDelta(final Map<String, V> previous, final Map<String, V> loaded) {
+    int added = 0;
+    int changed = 0;
+    for (Map.Entry<String, V> entry : loaded.entrySet()) {
+      V previousValue = previous.get(entry.getKey());
+      if (previousValue == null) {
+        added++;
+      } else if (!previousValue.equals(entry.getValue())) {
+        changed++;
+      }
+    }
+    int removed = 0;
+    for (String key : previous.keySet()) {
+      if (!loaded.containsKey(key)) {
+        removed++;
+      }
+    }
+    log.info(
+        "Reconcile Catalog: [ {} ] Added: [ {} ] Changed: [ {} ] Removed: [ {} ]",
+        this.name,
+        added,
+        changed,
+        removed);
+  }
+
+  private Snapshot<V> loadSnapshot() {
+    final long startMillis = System.currentTimeMillis();
+    final Map<String, V> entries = this.loader.get();
+    final long loadTimeMillis = System.currentTimeMillis() - startMillis;
+
+    this.loads.incrementAndGet();
+    this.loadTimeTotalMillis.addAndGet(loadTimeMillis);
+    this.loadTimeLastMillis.set(loadTimeMillis);
+    log.info("Load Catalog: [ {} ] [ {} ] in [ {} ms ]", this.name, entries.size(), loadTimeMillis);
+    return new Snapshot<>(entries, Instant.now());
+  }
+
+  private static class Snapshot<V> {
+    private final Map<String, V> entries;
+    private final Instant loadedAt;
+
+    private Snapshot(final Map<String, V> entries, final Instant loadedAt) {
+      this.entries = Collections.unmodifiableMap(entries);
+      this.loadedAt = loadedAt;
+    }
+
+    private boolean isOlderThan(final Duration duration) {
+      return this.loadedAt.plus(duration).isBefore(Instant.now());
+    }
+  }
+}
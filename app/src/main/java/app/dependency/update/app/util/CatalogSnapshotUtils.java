@@ -0,0 +1,195 @@
+package app.dependency.update.app.util;
+
+import app.dependency.update.app.model.CatalogSnapshotEntry;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+
+/*
+ Local copy of the catalogs, so that they are available right away at startup and when mongo
+ cannot be reached, the file is only a cache and mongo is always the source of truth
+ layout: magic, format version, written at, catalogs (name, entries), crc32 of everything before
+ the file is not used if the magic, format version or crc32 do not match
+*/
+@Slf4j
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class CatalogSnapshotUtils {
+  // ADUC
+  private static final int MAGIC = 0x41445543;
+  private static final short FORMAT_VERSION = 1;
+  private static final int OBJECT_ID_BYTES = 12;
+  // magic + format version + written at + catalogs count
+  private static final int HEADER_BYTES = 4 + 2 + 8 + 4;
+  private static final int CRC_BYTES = 8;
+
+  /**
+   * @param snapshotPath snapshot file
+   * @return entries by catalog name, or null if there is no snapshot or it cannot be used
+   */
+  public static Map<String, List<CatalogSnapshotEntry>> readSnapshot(final Path snapshotPath) {
+    if (!Files.isRegularFile(snapshotPath)) {
+      log.info("Catalog Snapshot Not Found: [ {} ]", snapshotPath);
+      return null;
+    }
+
+    try (FileChannel fileChannel = FileChannel.open(snapshotPath, StandardOpenOption.READ)) {
+      final long size = fileChannel.size();
+      if (size < HEADER_BYTES + CRC_BYTES || size > Integer.MAX_VALUE) {
+        log.error("Catalog Snapshot Invalid Size: [ {} ] [ {} ]", snapshotPath, size);
+        return null;
+      }
+
+      MappedByteBuffer buffer = fileChannel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+      final int contentSize = (int) size - CRC_BYTES;
+      CRC32 crc32 = new CRC32();
+      crc32.update(buffer.slice(0, contentSize));
+      if (crc32.getValue() != buffer.getLong(contentSize)) {
+        log.error("Catalog Snapshot Checksum Mismatch: [ {} ]", snapshotPath);
+        return null;
+      }
+
+      final int magic = buffer.getInt();
+      final short formatVersion = buffer.getShort();
+      if (magic != MAGIC || formatVersion != FORMAT_VERSION) {
+        log.error(
+            "Catalog Snapshot Unknown Format: [ {} ] [ {} ] [ {} ]",
+            snapshotPath,
+            Integer.toHexString(magic),
+            formatVersion);
+        return null;
+      }
+
+      final Instant writtenAt = Instant.ofEpochMilli(buffer.getLong());
+      final int catalogsCount = buffer.getInt();
+      Map<String, List<CatalogSnapshotEntry>> catalogs = new LinkedHashMap<>();
+      for (int i = 0; i < catalogsCount; i++) {
+        final String name = getString(buffer);
+        final int entriesCount = buffer.getInt();
+        List<CatalogSnapshotEntry> entries = new ArrayList<>(entriesCount);
+        for (int j = 0; j < entriesCount; j++) {
+          entries.add(getEntry(buffer));
+        }
+        catalogs.put(name, entries);
+      }
+
+      log.info("Catalog Snapshot Read: [ {} ] [ {} ] [ {} ]", snapshotPath, writtenAt, size);
+      return catalogs;
+    } catch (Exception ex) {
+      log.error("ERROR Catalog Snapshot Read: [ {} ]", snapshotPath, ex);
+      return null;
+    }
+  }
+
+  /**
+   * Writes to a temporary file first and then replaces the snapshot, so that a crash while
+   * writing never leaves a partial snapshot
+   *
+   * @param snapshotPath snapshot file
+   * @param catalogs entries by catalog name
+   */
+  public static void writeSnapshot(
+      final Path snapshotPath, final Map<String, List<CatalogSnapshotEntry>> catalogs) {
+    try {
+      ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+      DataOutputStream dataOutputStream = new DataOutputStream(byteArrayOutputStream);
+      dataOutputStream.writeInt(MAGIC);
+      dataOutputStream.writeShort(FORMAT_VERSION);
+      dataOutputStream.writeLong(Instant.now().toEpochMilli());
+      dataOutputStream.writeInt(catalogs.size());
+      for (Map.Entry<String, List<CatalogSnapshotEntry>> catalog : catalogs.entrySet()) {
+        putString(dataOutputStream, catalog.getKey());
+        dataOutputStream.writeInt(catalog.getValue().size());
+        for (CatalogSnapshotEntry entry : catalog.getValue()) {
+          putEntry(dataOutputStream, entry);
+        }
+      }
+      dataOutputStream.flush();
+
+      CRC32 crc32 = new CRC32();
+      crc32.update(byteArrayOutputStream.toByteArray());
+      dataOutputStream.writeLong(crc32.getValue());
+      dataOutputStream.flush();
+
+      Files.createDirectories(snapshotPath.getParent());
+      Path tempPath = snapshotPath.resolveSibling(snapshotPath.getFileName() + ".tmp");
+      Files.write(tempPath, byteArrayOutputStream.toByteArray());
+      Files.move(
+          tempPath,
+          snapshotPath,
+          StandardCopyOption.REPLACE_EXISTING,
+          StandardCopyOption.ATOMIC_MOVE);
+      log.info(
+          "Catalog Snapshot Written: [ {} ] [ {} ]", snapshotPath, byteArrayOutputStream.size());
+    } catch (IOException ex) {
+      log.error("ERROR Catalog Snapshot Write: [ {} ]", snapshotPath, ex);
+    }
+  }
+
+  private static CatalogSnapshotEntry getEntry(final ByteBuffer buffer) {
+    ObjectId id = null;
+    if (buffer.get() == 1) {
+      byte[] idBytes = new byte[OBJECT_ID_BYTES];
+      buffer.get(idBytes);
+      id = new ObjectId(idBytes);
+    }
+    return CatalogSnapshotEntry.builder()
+        .id(id)
+        .key(getString(buffer))
+        .version(getString(buffer))
+        .flag(buffer.get() == 1)
+        .build();
+  }
+
+  private static void putEntry(
+      final DataOutputStream dataOutputStream, final CatalogSnapshotEntry entry)
+      throws IOException {
+    if (entry.getId() == null) {
+      dataOutputStream.writeByte(0);
+    } else {
+      dataOutputStream.writeByte(1);
+      dataOutputStream.write(entry.getId().toByteArray());
+    }
+    putString(dataOutputStream, entry.getKey());
+    putString(dataOutputStream, entry.getVersion());
+    dataOutputStream.writeByte(entry.isFlag() ? 1 : 0);
+  }
+
+  private static String getString(final ByteBuffer buffer) {
+    final int length = buffer.getInt();
+    if (length < 0) {
+      return null;
+    }
+    byte[] bytes = new byte[length];
+    buffer.get(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  private static void putString(final DataOutputStream dataOutputStream, final String value)
+      throws IOException {
+    if (value == null) {
+      dataOutputStream.writeInt(-1);
+      return;
+    }
+    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    dataOutputStream.writeInt(bytes.length);
+    dataOutputStream.write(bytes);
+  }
+}
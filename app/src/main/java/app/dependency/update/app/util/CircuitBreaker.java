@@ -0,0 +1,104 @@
+package app.dependency.update.app.util;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+
+/*
+ Stops calling an upstream after consecutive failures, so that lookups fail right away instead of
+ each one waiting for the timeout
+ closed: calls allowed, open: calls not allowed until the open duration passes,
+ half open: one trial call allowed, closed again if it succeeds, open again if it fails
+*/
+@Slf4j
+public class CircuitBreaker {
+
+  public enum State {
+    CLOSED,
+    OPEN,
+    HALF_OPEN
+  }
+
+  private final String name;
+  private final int failureThreshold;
+  private final Duration openDuration;
+
+  private State state = State.CLOSED;
+  private int consecutiveFailures = 0;
+  private long openedAtNanos = 0;
+  private boolean isTrialInFlight = false;
+  private long opened = 0;
+  private long rejected = 0;
+
+  public CircuitBreaker(
+      final String name, final int failureThreshold, final Duration openDuration) {
+    this.name = name;
+    this.failureThreshold = failureThreshold;
+    this.openDuration = openDuration;
+  }
+
+  /**
+   * @return true if the call can be made, the caller must then report its outcome
+   */
+  public synchronized boolean allowRequest() {
+    if (this.state == State.OPEN
+        && System.nanoTime() - this.openedAtNanos >= this.openDuration.toNanos()) {
+      this.state = State.HALF_OPEN;
+      this.isTrialInFlight = false;
+      log.info("Circuit Breaker Half Open: [ {} ]", this.name);
+    }
+
+    if (this.state == State.CLOSED) {
+      return true;
+    }
+    if (this.state == State.HALF_OPEN && !this.isTrialInFlight) {
+      this.isTrialInFlight = true;
+      return true;
+    }
+    this.rejected++;
+    return false;
+  }
+
+  public synchronized boolean isOpen() {
+    return this.state == State.OPEN;
+  }
+
+  public synchronized boolean isClosed() {
+    return this.state == State.CLOSED;
+  }
+
+  public synchronized void onSuccess() {
+    if (this.state != State.CLOSED) {
+      log.info("Circuit Breaker Closed: [ {} ]", this.name);
+    }
+    this.state = State.CLOSED;
+    this.consecutiveFailures = 0;
+    this.isTrialInFlight = false;
+  }
+
+  public synchronized void onFailure() {
+    this.consecutiveFailures++;
+    if (this.state == State.HALF_OPEN
+        || (this.state == State.CLOSED && this.consecutiveFailures >= this.failureThreshold)) {
+      this.state = State.OPEN;
+      this.openedAtNanos = System.nanoTime();
+      this.isTrialInFlight = false;
+      this.opened++;
+      log.info(
+          "Circuit Breaker Open: [ {} ] [ {} ] [ {} ]",
+          this.name,
+          this.consecutiveFailures,
+          this.openDuration);
+    }
+  }
+
+  public synchronized Map<String, Object> stats() {
+    Map<String, Object> stats = new LinkedHashMap<>();
+    stats.put("state", this.state);
+    stats.put("consecutiveFailures", this.consecutiveFailures);
+    stats.put("opened", this.opened);
+    stats.put("rejected", this.rejected);
+    return stats;
+  }
+}
@@ -2,8 +2,6 @@ package app.dependency.update.app.util;
 
 import app.dependency.update.app.model.Repository;
 import java.util.Collection;
-import java.util.List;
-import java.util.stream.Stream;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
 
@@ -57,30 +55,6 @@ public class CommonUtils {
         || versionLowercase.contains("snapshot");
   }
 
-  public static String getVersionToCompare(final String version) {
-    List<String> strList = Stream.of(version.split("\\.")).limit(3).toList();
-    StringBuilder sb = new StringBuilder();
-    for (String s : strList) {
-      try {
-        if (Integer.parseInt(s) < 10) {
-          sb.append("0").append(s);
-        } else {
-          sb.append(s);
-        }
-      } catch (NumberFormatException ignored) {
-        // ignore exception
-      }
-    }
-    return sb.toString();
-  }
-
-  public static boolean isRequiresUpdate(final String currentVersion, final String latestVersion) {
-    if (isEmpty(currentVersion) || isEmpty(latestVersion)) {
-      return false;
-    }
-    return getVersionToCompare(latestVersion).compareTo(getVersionToCompare(currentVersion)) > 0;
-  }
-
   public static boolean checkDependenciesUpdate(final UpdateType updateType) {
     return updateType == UpdateType.ALL
         || updateType == UpdateType.NPM_DEPENDENCIES
@@ -106,25 +80,6 @@ public class CommonUtils {
     }
   }
 
-  public static int compareVersions(String version1, String version2) {
-    String[] v1Parts = version1.split("\\.");
-    String[] v2Parts = version2.split("\\.");
-
-    int length =
-        Math.max(v1Parts.length, v2Parts.length); // Compare based on the longest version string
-    for (int i = 0; i < length; i++) {
-      int v1Part = i < v1Parts.length ? Integer.parseInt(v1Parts[i]) : 0;
-      int v2Part = i < v2Parts.length ? Integer.parseInt(v2Parts[i]) : 0;
-
-      if (v1Part < v2Part) {
-        return -1; // version1 is smaller
-      } else if (v1Part > v2Part) {
-        return 1; // version1 is greater
-      }
-    }
-    return 0; // Both versions are equal
-  }
-
   public static int parseIntSafe(final String input) {
     try {
       return Integer.parseInt(input);
@@ -147,6 +102,11 @@ public class CommonUtils {
     PYTHON_DEPENDENCIES
   }
 
+  public enum MavenResolver {
+    SEARCH,
+    METADATA
+  }
+
   public enum CacheType {
     ALL,
     APP_INIT_DATA,
@@ -156,6 +116,37 @@ public class CommonUtils {
     NPMSKIPS_MAP
   }
 
+  // UNKNOWN: checks could not be read, eg: gh error, or none reported, so not merged
+  public enum PrCheckStatus {
+    READY,
+    PENDING,
+    FAILED,
+    NO_PR,
+    UNKNOWN
+  }
+
+  public enum RunStage {
+    UPDATE,
+    CONTINUE,
+    PR_CREATE_RETRY
+  }
+
+  // in order, a repository only moves forward in a run
+  public enum RepoStage {
+    UPDATED,
+    PR_CREATE_ERROR,
+    PR_CREATED,
+    PR_MERGED
+  }
+
+  // durations of each phase are recorded for each repository, see RepoScheduleService
+  public enum RepoPhase {
+    REWRITE,
+    SCRIPT,
+    PR_CHECKS,
+    PR_MERGE
+  }
+
   public enum LogLevelChange {
     INFO,
     DEBUG
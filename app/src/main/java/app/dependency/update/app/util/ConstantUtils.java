@@ -15,16 +15,33 @@ public class ConstantUtils {
   public static final String ENV_MAILJET_PUBLIC_KEY = "mj_public";
   public static final String ENV_MAILJET_PRIVATE_KEY = "mj_private";
   public static final String ENV_MAILJET_EMAIL_ADDRESS = "mj_email";
+  public static final String ENV_REWRITE_CONCURRENCY = "rewrite_concurrency";
+  public static final String ENV_PROCESS_CONCURRENCY = "process_concurrency";
+  public static final String ENV_MERGE_WATCH_MINUTES = "merge_watch_minutes";
+  public static final String ENV_UPDATE_PIPELINE = "update_pipeline";
+  public static final String ENV_REFRESH_CONCURRENCY = "refresh_concurrency";
+  public static final String ENV_REFRESH_RATE_PER_SECOND = "refresh_rate_per_second";
+  public static final String ENV_REFRESH_DEADLINE_SECONDS = "refresh_deadline_seconds";
+  public static final String ENV_CATALOG_TTL_MINUTES = "catalog_ttl_minutes";
+  public static final String ENV_HTTP_CACHE_FRESHNESS_MINUTES = "http_cache_freshness_minutes";
+  public static final String ENV_MAVEN_RESOLVER = "maven_resolver";
+  public static final String ENV_MAVEN_REPOSITORIES = "maven_repositories";
+  public static final String ENV_LATEST_VERSIONS_TIMEOUT_SECONDS =
+      "latest_versions_timeout_seconds";
+  public static final String ENV_SCHEDULE_FAIRNESS_CAP = "schedule_fairness_cap";
 
   // others
   public static final String PATH_DELIMITER = "/";
   public static final String GRADLE_WRAPPER_REGEX = "(?<=\\-)(.*?)(?=\\-)";
-  public static final String GRADLE_BUILD_BLOCK_END_REGEX = "([a-z]+\\s\\{)";
   public static final String GRADLE_BUILD_DEPENDENCIES_REGEX = "(?<=\\%s)(.*?)(?=\\%s)";
   public static final String GRADLE_BUILD_DEFINITION_REGEX = "\\w+\\s+\\w+";
   public static final String GRADLE_JAVA_VERSION_REGEX_1 = "JavaVersion.VERSION_(\\d+)";
   public static final String GRADLE_JAVA_VERSION_REGEX_2 = "JavaLanguageVersion.of\\((\\d+)\\)";
   public static final String PYTHON_PYPROJECT_TOML_BUILDTOOLS_REGEX = "'(.*?)'";
+  public static final String PACKAGE_JSON_DEPENDENCIES_BLOCK_REGEX =
+      "^\\s*\"(dependencies|devDependencies|optionalDependencies)\"\\s*:\\s*\\{\\s*$";
+  public static final String PACKAGE_JSON_DEPENDENCY_REGEX =
+      "^\\s*\"([^\"]+)\"\\s*:\\s*\"[\\^~]?(\\d+(\\.\\d+)*(-[0-9A-Za-z.\\-]+)?)\"\\s*,?\\s*$";
   public static final String COMMAND_PATH = PATH_DELIMITER + "bin" + PATH_DELIMITER + "bash";
   public static final String COMMAND_WINDOWS = "cmd.exe";
   public static final String SCRIPTS_DIRECTORY = "scripts";
@@ -44,7 +61,50 @@ public class ConstantUtils {
   public static final String MONGODB_COLLECTION_NPMSKIPS = "npm_skips";
   public static final String MONGODB_COLLECTION_PROCESS_SUMMARIES = "process_summaries";
   public static final String MONGODB_COLLECTION_LATEST_VERSIONS = "latest_versions";
+  public static final String APP_LOCAL_DIRECTORY = ".app_dependency_update";
+  public static final String CATALOG_SNAPSHOT_FILE_NAME = "catalog.snapshot";
+  public static final String HTTP_CACHE_DIRECTORY = "http_cache";
+  public static final String REPO_FINGERPRINTS_FILE_NAME = "repo_fingerprints.json";
+  public static final String RUN_JOURNAL_FILE_NAME = "run_journal.json";
+  public static final String BRANCH_MAIN = "main";
   public static final String BRANCH_UPDATE_DEPENDENCIES = "update_dependencies_%s";
+  public static final String BRANCH_UPDATE_DEPENDENCIES_PREFIX = "update_dependencies";
+  public static final int PROCESS_CONCURRENCY_DEFAULT = 4;
+  public static final int MERGE_WATCH_MINUTES_DEFAULT = 30;
+  public static final int PR_CREATE_RETRY_MINUTES = 60;
+  public static final int RUN_JOURNAL_MAX_AGE_HOURS = 24;
+  public static final long MERGE_WATCH_POLL_INITIAL_SECONDS = 15;
+  public static final long MERGE_WATCH_POLL_MAX_SECONDS = 120;
+  public static final long MERGE_WATCH_NO_CHECKS_GRACE_SECONDS = 120;
+  public static final int PIPELINE_STAGE_WORKERS = 4;
+  public static final int PIPELINE_AWAIT_WORKERS = 30;
+  public static final int PIPELINE_QUEUE_CAPACITY = 10;
+  public static final int REFRESH_CONCURRENCY_DEFAULT = 8;
+  public static final int REFRESH_RATE_PER_SECOND_DEFAULT = 10;
+  public static final int REFRESH_RATE_PER_SECOND_MAVEN = 5;
+  public static final int REFRESH_DEADLINE_SECONDS_DEFAULT = 300;
+  public static final int HTTP_REQUEST_TIMEOUT_SECONDS = 15;
+  public static final int HTTP_CACHE_FRESHNESS_MINUTES_DEFAULT = 60;
+  public static final int HTTP_RETRY_MAX_ATTEMPTS = 3;
+  public static final long HTTP_RETRY_BACKOFF_MILLIS = 500;
+  public static final long HTTP_RETRY_BACKOFF_MAX_MILLIS = 4000;
+  public static final long HTTP_HEDGE_DELAY_MILLIS = 3000;
+  public static final int CIRCUIT_BREAKER_FAILURE_THRESHOLD = 5;
+  public static final long CIRCUIT_BREAKER_OPEN_SECONDS = 60;
+  public static final int LATEST_VERSIONS_TIMEOUT_SECONDS_DEFAULT = 60;
+  public static final int PROCESS_OUTPUT_BUFFER_LINES = 500;
+  public static final int PROCESS_OUTPUT_MAX_LINE_LENGTH = 2000;
+  public static final int VERSION_CACHE_MAX_SIZE = 10000;
+  public static final int CATALOG_TTL_MINUTES_DEFAULT = 60;
+  public static final int WRITE_BEHIND_BATCH_SIZE = 100;
+  public static final long WRITE_BEHIND_FLUSH_INTERVAL_MILLIS = 30000;
+  public static final long REPO_FINGERPRINTS_FLUSH_INTERVAL_MILLIS = 30000;
+  public static final long PROCESS_SUMMARIES_TTL_DAYS = 45;
+  // scheduled update waits 30 minutes each time, so up to 2 hours for another run to end
+  public static final int SCHEDULER_RESCHEDULE_MAX = 4;
+  public static final int SCHEDULE_FAIRNESS_CAP_DEFAULT = 3;
+  public static final int SCHEDULE_HISTORY_PROCESS_SUMMARIES = 10;
+  public static final int SCHEDULE_MODULE_SIZE_FILES = 100;
 
   public static final String DOCKER_ALPINE = "alpine";
 
@@ -66,9 +126,18 @@ public class ConstantUtils {
   public static final String GRADLE_PLUGINS_ENDPOINT = "https://plugins.gradle.org/plugin/%s";
   public static final String MAVEN_SEARCH_ENDPOINT =
       "https://search.maven.org/solrsearch/select?core=gav&rows=5&wt=json&q=g:%s+AND+a:%s";
+  public static final String MAVEN_CENTRAL_REPOSITORY = "https://repo1.maven.org/maven2";
+  public static final String MAVEN_METADATA_ENDPOINT = "%s/%s/%s/maven-metadata.xml";
   public static final String PYPI_SEARCH_ENDPOINT = "https://pypi.org/pypi/%s/json";
+  public static final String NPM_REGISTRY_ENDPOINT = "https://registry.npmjs.org/%s/latest";
   public static final String GCP_RUNTIME_SUPPORT_ENDPOINT =
       "https://cloud.google.com/appengine/docs/standard/lifecycle/support-schedule";
   public static final String DOCKER_TAG_LOOKUP_ENDPOINT =
       "https://hub.docker.com/v2/repositories/library/%s/tags/%s/";
+
+  // upstream hosts
+  public static final String MAVEN_SEARCH_HOST = "search.maven.org";
+  public static final String GRADLE_PLUGINS_HOST = "plugins.gradle.org";
+  public static final String PYPI_SEARCH_HOST = "pypi.org";
+  public static final String NPM_REGISTRY_HOST = "registry.npmjs.org";
 }
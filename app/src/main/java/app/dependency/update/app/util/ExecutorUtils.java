@@ -0,0 +1,132 @@
+package app.dependency.update.app.util;
+
+import static app.dependency.update.app.util.CommonUtils.*;
+import static app.dependency.update.app.util.ConstantUtils.*;
+
+import app.dependency.update.app.exception.AppDependencyUpdateRuntimeException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/*
+ Shared executor for repository level work, every task runs in its own virtual thread
+ the number of tasks rewriting files and running scripts at the same time is limited by permits
+ a task works for the same run as the thread submitting it, see ProcessUtils
+*/
+@Slf4j
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class ExecutorUtils {
+
+  private static final ExecutorService executorService =
+      Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("repo-worker-", 0).factory());
+  private static final Semaphore rewritePermits =
+      new Semaphore(
+          getConcurrencyLimit(
+              ENV_REWRITE_CONCURRENCY, Runtime.getRuntime().availableProcessors()),
+          true);
+  private static final Semaphore processPermits =
+      new Semaphore(getConcurrencyLimit(ENV_PROCESS_CONCURRENCY, PROCESS_CONCURRENCY_DEFAULT), true);
+
+  private static int getConcurrencyLimit(final String keyName, final int defaultValue) {
+    int limit = parseIntSafe(getSystemEnvProperty(keyName, String.valueOf(defaultValue)));
+    return limit > 0 ? limit : defaultValue;
+  }
+
+  public static Future<?> submit(final String threadName, final Runnable runnable) {
+    final RunContext runContext = ProcessUtils.getRunContext();
+    return executorService.submit(
+        () -> {
+          Thread.currentThread().setName(threadName);
+          ProcessUtils.runWithRunContext(runContext, runnable);
+        });
+  }
+
+  public static <T> CompletableFuture<T> supplyAsync(
+      final String threadName, final Supplier<T> supplier) {
+    final RunContext runContext = ProcessUtils.getRunContext();
+    return CompletableFuture.supplyAsync(
+        () -> {
+          Thread.currentThread().setName(threadName);
+          return ProcessUtils.supplyWithRunContext(runContext, supplier);
+        },
+        executorService);
+  }
+
+  public static <T> T executeRewrite(final Supplier<T> supplier) {
+    return executeWithPermit(rewritePermits, supplier);
+  }
+
+  public static <T> T executeProcess(final Supplier<T> supplier) {
+    return executeWithPermit(processPermits, supplier);
+  }
+
+  private static <T> T executeWithPermit(final Semaphore permits, final Supplier<T> supplier) {
+    try {
+      permits.acquire();
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new AppDependencyUpdateRuntimeException("Interrupted Waiting for Permit", ex);
+    }
+
+    try {
+      return supplier.get();
+    } finally {
+      permits.release();
+    }
+  }
+
+  // suppressing sonarlint rule for interrupting thread
+  @SuppressWarnings("java:S2142")
+  public static void join(final Future<?> future) {
+    try {
+      future.get();
+    } catch (InterruptedException ex) {
+      log.error("Exception Join Thread", ex);
+    } catch (ExecutionException ex) {
+      log.error("Exception Execute Thread", ex.getCause());
+    }
+  }
+
+  public static void joinAll(final List<Future<?>> futures) {
+    futures.forEach(ExecutorUtils::join);
+  }
+
+  /**
+   * Waits for the tasks to complete, but not past the deadline
+   *
+   * @param futures tasks to wait for
+   * @param deadline tasks not completed by this time are cancelled
+   * @return number of tasks cancelled
+   */
+  // suppressing sonarlint rule for interrupting thread
+  @SuppressWarnings("java:S2142")
+  public static int joinAll(final List<Future<?>> futures, final Instant deadline) {
+    int cancelled = 0;
+    for (Future<?> future : futures) {
+      try {
+        long remainingMillis = Math.max(0, Duration.between(Instant.now(), deadline).toMillis());
+        future.get(remainingMillis, TimeUnit.MILLISECONDS);
+      } catch (TimeoutException ex) {
+        future.cancel(true);
+        cancelled++;
+      } catch (InterruptedException ex) {
+        log.error("Exception Join Thread", ex);
+      } catch (ExecutionException ex) {
+        log.error("Exception Execute Thread", ex.getCause());
+      }
+    }
+    return cancelled;
+  }
+}
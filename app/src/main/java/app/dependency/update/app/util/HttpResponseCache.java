@@ -0,0 +1,163 @@
+package app.dependency.update.app.util;
+
+import app.dependency.update.app.exception.AppDependencyUpdateRuntimeException;
+import app.dependency.update.app.model.HttpCachedResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.extern.slf4j.Slf4j;
+
+/*
+ Responses of GET requests kept on disk with their validators (etag and last-modified)
+ a response fetched within the freshness window is used without any request, an older one is
+ sent as If-None-Match / If-Modified-Since so that the upstream can answer 304 without a body
+ files are named by the sha-256 of the url, only the validators are kept in memory and a body
+ is read from its file each time it is used, so large responses, eg: node index, stay off the heap
+*/
+@Slf4j
+public class HttpResponseCache {
+
+  private final Path cacheDirectory;
+  private final Duration freshness;
+  private final ObjectMapper objectMapper;
+  // cached responses without body, by url
+  private final Map<String, Optional<HttpCachedResponse>> cachedValidators =
+      new ConcurrentHashMap<>();
+
+  public HttpResponseCache(
+      final Path cacheDirectory, final Duration freshness, final ObjectMapper objectMapper) {
+    this.cacheDirectory = cacheDirectory;
+    this.freshness = freshness;
+    this.objectMapper = objectMapper;
+  }
+
+  /**
+   * @param url request url
+   * @return validators of the cached response without its body, or null if there is none
+   */
+  public HttpCachedResponse get(final String url) {
+    return cachedValidators
+        .computeIfAbsent(url, key -> readCachedResponse(key).map(this::withoutBody))
+        .orElse(null);
+  }
+
+  /**
+   * @param cachedResponse validators returned by get
+   * @return cached body, or null if its file can no longer be read
+   */
+  public String getBody(final HttpCachedResponse cachedResponse) {
+    final Optional<HttpCachedResponse> fullResponse = readCachedResponse(cachedResponse.getUrl());
+    if (fullResponse.isEmpty()) {
+      cachedValidators.remove(cachedResponse.getUrl());
+      return null;
+    }
+    return fullResponse.get().getBody();
+  }
+
+  public boolean isFresh(final HttpCachedResponse cachedResponse) {
+    return cachedResponse.getFetchedAtMillis() + freshness.toMillis()
+        > System.currentTimeMillis();
+  }
+
+  public void put(
+      final String url, final String etag, final String lastModified, final String body) {
+    writeCachedResponse(
+        HttpCachedResponse.builder()
+            .url(url)
+            .etag(etag)
+            .lastModified(lastModified)
+            .fetchedAtMillis(System.currentTimeMillis())
+            .body(body)
+            .build());
+  }
+
+  /**
+   * Upstream answered 304, so the cached body is still current and fresh again from now
+   *
+   * @param cachedResponse validators that were sent
+   * @return cached body, or null if its file can no longer be read
+   */
+  public String revalidated(final HttpCachedResponse cachedResponse) {
+    final String body = getBody(cachedResponse);
+    if (body != null) {
+      writeCachedResponse(
+          HttpCachedResponse.builder()
+              .url(cachedResponse.getUrl())
+              .etag(cachedResponse.getEtag())
+              .lastModified(cachedResponse.getLastModified())
+              .fetchedAtMillis(System.currentTimeMillis())
+              .body(body)
+              .build());
+    }
+    return body;
+  }
+
+  private HttpCachedResponse withoutBody(final HttpCachedResponse cachedResponse) {
+    return HttpCachedResponse.builder()
+        .url(cachedResponse.getUrl())
+        .etag(cachedResponse.getEtag())
+        .lastModified(cachedResponse.getLastModified())
+        .fetchedAtMillis(cachedResponse.getFetchedAtMillis())
+        .build();
+  }
+
+  private Optional<HttpCachedResponse> readCachedResponse(final String url) {
+    Path cachedResponsePath = getCachedResponsePath(url);
+    if (!Files.isRegularFile(cachedResponsePath)) {
+      return Optional.empty();
+    }
+
+    try {
+      HttpCachedResponse cachedResponse =
+          objectMapper.readValue(cachedResponsePath.toFile(), HttpCachedResponse.class);
+      // hash collision is not expected, but do not return another url's body if it happens
+      return url.equals(cachedResponse.getUrl()) ? Optional.of(cachedResponse) : Optional.empty();
+    } catch (Exception ex) {
+      log.error("ERROR Read Http Cached Response: [ {} ] [ {} ]", url, cachedResponsePath, ex);
+      return Optional.empty();
+    }
+  }
+
+  private void writeCachedResponse(final HttpCachedResponse cachedResponse) {
+    Path cachedResponsePath = getCachedResponsePath(cachedResponse.getUrl());
+    try {
+      Files.createDirectories(cacheDirectory);
+      Path tempPath = Files.createTempFile(cacheDirectory, "response", ".tmp");
+      objectMapper.writeValue(tempPath.toFile(), cachedResponse);
+      Files.move(
+          tempPath,
+          cachedResponsePath,
+          StandardCopyOption.REPLACE_EXISTING,
+          StandardCopyOption.ATOMIC_MOVE);
+      cachedValidators.put(cachedResponse.getUrl(), Optional.of(withoutBody(cachedResponse)));
+    } catch (Exception ex) {
+      // body is not kept in memory, so it is fetched again next time
+      cachedValidators.remove(cachedResponse.getUrl());
+      log.error(
+          "ERROR Write Http Cached Response: [ {} ] [ {} ]",
+          cachedResponse.getUrl(),
+          cachedResponsePath,
+          ex);
+    }
+  }
+
+  private Path getCachedResponsePath(final String url) {
+    try {
+      byte[] hash =
+          MessageDigest.getInstance("SHA-256").digest(url.getBytes(StandardCharsets.UTF_8));
+      return cacheDirectory.resolve(HexFormat.of().formatHex(hash) + ".json");
+    } catch (NoSuchAlgorithmException ex) {
+      // every java platform is required to support sha-256
+      throw new AppDependencyUpdateRuntimeException("SHA-256 Not Available", ex);
+    }
+  }
+}
@@ -0,0 +1,81 @@
+package app.dependency.update.app.util;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/*
+ Reads versions from maven-metadata.xml of an artifact, eg:
+ <metadata><versioning><versions><version>1.0.0</version>...</versions></versioning></metadata>
+ the file lists every version published, read with a streaming parser so no document is built
+*/
+@Slf4j
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class MavenMetadataUtils {
+
+  private static final XMLInputFactory xmlInputFactory = createXmlInputFactory();
+
+  private static XMLInputFactory createXmlInputFactory() {
+    XMLInputFactory factory = XMLInputFactory.newFactory();
+    // metadata never needs a dtd, do not resolve anything outside the response
+    factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+    factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+    return factory;
+  }
+
+  /**
+   * @param metadata maven-metadata.xml content
+   * @return versions in the order listed, empty if none or metadata cannot be read
+   */
+  public static List<String> getVersions(final String metadata) {
+    if (metadata == null) {
+      return Collections.emptyList();
+    }
+
+    XMLStreamReader xmlStreamReader = null;
+    try {
+      xmlStreamReader = xmlInputFactory.createXMLStreamReader(new StringReader(metadata));
+      List<String> versions = new ArrayList<>();
+      boolean isInVersions = false;
+      while (xmlStreamReader.hasNext()) {
+        int event = xmlStreamReader.next();
+        if (event == XMLStreamConstants.START_ELEMENT) {
+          String name = xmlStreamReader.getLocalName();
+          if ("versions".equals(name)) {
+            isInVersions = true;
+          } else if (isInVersions && "version".equals(name)) {
+            versions.add(xmlStreamReader.getElementText().trim());
+          }
+        } else if (event == XMLStreamConstants.END_ELEMENT
+            && "versions".equals(xmlStreamReader.getLocalName())) {
+          // nothing else needed after the versions
+          break;
+        }
+      }
+      return versions;
+    } catch (XMLStreamException ex) {
+      log.error("ERROR Read Maven Metadata", ex);
+      return Collections.emptyList();
+    } finally {
+      closeQuietly(xmlStreamReader);
+    }
+  }
+
+  private static void closeQuietly(final XMLStreamReader xmlStreamReader) {
+    if (xmlStreamReader != null) {
+      try {
+        xmlStreamReader.close();
+      } catch (XMLStreamException ignored) {
+        // nothing to release for a string reader
+      }
+    }
+  }
+}
@@ -0,0 +1,81 @@
+package app.dependency.update.app.util;
+
+import static app.dependency.update.app.util.ConstantUtils.*;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.function.Consumer;
+
+/*
+ Keeps only the last lines of a process output, so memory used stays the same however much
+ output the process writes, lines that are too long are cut
+*/
+public class ProcessOutputBuffer {
+  private final int capacity;
+  private final Deque<String> lines;
+  private long droppedLines = 0;
+
+  public ProcessOutputBuffer(final int capacity) {
+    this.capacity = capacity;
+    this.lines = new ArrayDeque<>(capacity);
+  }
+
+  public synchronized void add(final String line) {
+    if (this.lines.size() == this.capacity) {
+      this.lines.pollFirst();
+      this.droppedLines++;
+    }
+    this.lines.addLast(line);
+  }
+
+  /**
+   * @return true if lines were not kept, then the first line of toString says how many
+   */
+  public synchronized boolean isTruncated() {
+    return this.droppedLines > 0;
+  }
+
+  @Override
+  public synchronized String toString() {
+    StringBuilder stringBuilder = new StringBuilder();
+    if (this.droppedLines > 0) {
+      stringBuilder.append("... [ ").append(this.droppedLines).append(" ] lines not kept ...\n");
+    }
+    for (String line : this.lines) {
+      stringBuilder.append(line).append("\n");
+    }
+    return stringBuilder.toString();
+  }
+
+  /**
+   * Reads the stream line by line until the end of the stream
+   *
+   * @param inputStream process output or error stream
+   * @param lineConsumer called for each line as soon as it is read
+   * @throws IOException when the stream cannot be read
+   */
+  public static void readLines(final InputStream inputStream, final Consumer<String> lineConsumer)
+      throws IOException {
+    try (BufferedReader reader =
+        new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
+      StringBuilder line = new StringBuilder();
+      int character;
+      while ((character = reader.read()) != -1) {
+        if (character == '\n') {
+          lineConsumer.accept(line.toString());
+          line.setLength(0);
+        } else if (character != '\r' && line.length() < PROCESS_OUTPUT_MAX_LINE_LENGTH) {
+          line.append((char) character);
+        }
+      }
+      if (!line.isEmpty()) {
+        lineConsumer.accept(line.toString());
+      }
+    }
+  }
+}
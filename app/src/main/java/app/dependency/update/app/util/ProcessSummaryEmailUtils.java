@@ -84,6 +84,10 @@ public class ProcessSummaryEmailUtils {
                   <td>Mongo NPM Skips Active</td>
                   <td>%d</td>
                 </tr>
+                <tr>
+                  <td>Mongo Coordinates Discovered</td>
+                  <td>%d</td>
+                </tr>
                 <tr>
                   <td>Total PR Created Count</td>
                   <td>%d</td>
@@ -104,6 +108,7 @@ public class ProcessSummaryEmailUtils {
                 processSummary.getMongoDependenciesToUpdate(),
                 processSummary.getMongoPackagesToUpdate(),
                 processSummary.getMongoNpmSkipsActive(),
+                processSummary.getMongoCoordinatesDiscovered(),
                 processSummary.getTotalPrCreatedCount(),
                 processSummary.getTotalPrCreateErrorsCount(),
                 processSummary.getTotalPrMergedCount()));
@@ -1,133 +1,298 @@
 package app.dependency.update.app.util;
 
+import static app.dependency.update.app.util.CommonUtils.*;
+
 import app.dependency.update.app.model.ProcessedRepository;
+import app.dependency.update.app.model.RunJournal;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
-import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
 
+/*
+ Processed repositories and summary of the run the current thread is working for
+ a thread not bound to any run, eg: http request, uses the default run context
+*/
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
 public class ProcessUtils {
 
-  private static final AtomicBoolean schedulerRescheduled = new AtomicBoolean(false);
-  private static final AtomicBoolean errorsOrExceptions = new AtomicBoolean(false);
-  private static final AtomicInteger mongoPluginsToUpdate = new AtomicInteger(0);
-  private static final AtomicInteger mongoDependenciesToUpdate = new AtomicInteger(0);
-  private static final AtomicInteger mongoPackagesToUpdate = new AtomicInteger(0);
-  private static final AtomicInteger mongoNpmSkipsActive = new AtomicInteger(0);
-  private static Set<String> repositoriesWithPrError = new HashSet<>();
-  private static ConcurrentMap<String, ProcessedRepository> processedRepositories =
-      new ConcurrentHashMap<>();
+  private static final RunContext defaultRunContext =
+      new RunContext("default", UpdateType.ALL, Set.of());
+  private static final ThreadLocal<RunContext> currentRunContext = new ThreadLocal<>();
+  private static final Map<String, RunContext> runContexts = new ConcurrentHashMap<>();
+  // errors logged by each thread, see CustomLogbackErrorAppender
+  private static final ThreadLocal<int[]> threadErrorsCount =
+      ThreadLocal.withInitial(() -> new int[1]);
+
+  public static RunContext getRunContext() {
+    RunContext runContext = currentRunContext.get();
+    return runContext == null ? defaultRunContext : runContext;
+  }
+
+  public static void addRunContext(final RunContext runContext) {
+    runContexts.put(runContext.getRunId(), runContext);
+  }
+
+  public static void removeRunContext(final RunContext runContext) {
+    runContexts.remove(runContext.getRunId());
+  }
+
+  public static void clearRunContexts() {
+    runContexts.clear();
+  }
 
-  public static void setSchedulerRescheduled(boolean value) {
-    schedulerRescheduled.set(value);
+  /**
+   * @return runs started and not yet completed
+   */
+  public static List<RunContext> getRunContexts() {
+    return List.copyOf(runContexts.values());
+  }
+
+  public static void runWithRunContext(final RunContext runContext, final Runnable runnable) {
+    supplyWithRunContext(
+        runContext,
+        () -> {
+          runnable.run();
+          return null;
+        });
+  }
+
+  public static <T> T supplyWithRunContext(
+      final RunContext runContext, final Supplier<T> supplier) {
+    final RunContext previousRunContext = currentRunContext.get();
+    currentRunContext.set(runContext);
+    try {
+      return supplier.get();
+    } finally {
+      if (previousRunContext == null) {
+        currentRunContext.remove();
+      } else {
+        currentRunContext.set(previousRunContext);
+      }
+    }
   }
 
   public static void setErrorsOrExceptions(boolean value) {
-    errorsOrExceptions.set(value);
+    getRunContext().getErrorsOrExceptions().set(value);
+  }
+
+  // an error logged by a thread not bound to any run, eg: http client callback, delayed executor,
+  // write behind flush, could be for any of the runs, so all runs not yet completed get it
+  public static void setErrorsOrExceptionsLogged() {
+    RunContext runContext = currentRunContext.get();
+    if (runContext == null) {
+      defaultRunContext.getErrorsOrExceptions().set(true);
+      runContexts.values().forEach(context -> context.getErrorsOrExceptions().set(true));
+    } else {
+      runContext.getErrorsOrExceptions().set(true);
+    }
+  }
+
+  public static void addThreadError() {
+    threadErrorsCount.get()[0]++;
+  }
+
+  /**
+   * @return number of errors logged by the current thread so far, compare before and after some
+   *     work to know if it logged any error
+   */
+  public static int getThreadErrorsCount() {
+    return threadErrorsCount.get()[0];
   }
 
   public static void setMongoPluginsToUpdate(int count) {
-    mongoPluginsToUpdate.set(count);
+    getRunContext().getMongoPluginsToUpdate().set(count);
   }
 
   public static void setMongoDependenciesToUpdate(int count) {
-    mongoDependenciesToUpdate.set(count);
+    getRunContext().getMongoDependenciesToUpdate().set(count);
   }
 
   public static void setMongoPackagesToUpdate(int count) {
-    mongoPackagesToUpdate.set(count);
+    getRunContext().getMongoPackagesToUpdate().set(count);
   }
 
   public static void setMongoNpmSkipsActive(int count) {
-    mongoNpmSkipsActive.set(count);
+    getRunContext().getMongoNpmSkipsActive().set(count);
   }
 
-  public static boolean getSchedulerRescheduled() {
-    return schedulerRescheduled.get();
+  public static void setMongoCoordinatesDiscovered(int count) {
+    getRunContext().getMongoCoordinatesDiscovered().set(count);
   }
 
   public static boolean getErrorsOrExceptions() {
-    return errorsOrExceptions.get();
+    return getRunContext().getErrorsOrExceptions().get();
   }
 
   public static int getMongoPluginsToUpdate() {
-    return mongoPluginsToUpdate.get();
+    return getRunContext().getMongoPluginsToUpdate().get();
   }
 
   public static int getMongoDependenciesToUpdate() {
-    return mongoDependenciesToUpdate.get();
+    return getRunContext().getMongoDependenciesToUpdate().get();
   }
 
   public static int getMongoPackagesToUpdate() {
-    return mongoPackagesToUpdate.get();
+    return getRunContext().getMongoPackagesToUpdate().get();
   }
 
   public static int getMongoNpmSkipsActive() {
-    return mongoNpmSkipsActive.get();
+    return getRunContext().getMongoNpmSkipsActive().get();
+  }
+
+  public static int getMongoCoordinatesDiscovered() {
+    return getRunContext().getMongoCoordinatesDiscovered().get();
   }
 
-  public static synchronized void addRepositoriesWithPrError(final String repoName) {
-    repositoriesWithPrError.add(repoName);
+  public static void addRepositoriesWithPrError(final String repoName) {
+    getRunContext().getRepositoriesWithPrError().add(repoName);
   }
 
-  public static synchronized void removeRepositoriesWithPrError(final String repoName) {
-    repositoriesWithPrError.remove(repoName);
+  public static void removeRepositoriesWithPrError(final String repoName) {
+    getRunContext().getRepositoriesWithPrError().remove(repoName);
   }
 
-  public static synchronized Set<String> getRepositoriesWithPrError() {
-    return repositoriesWithPrError;
+  public static Set<String> getRepositoriesWithPrError() {
+    return getRunContext().getRepositoriesWithPrError();
   }
 
-  public static synchronized void resetRepositoriesWithPrError() {
-    repositoriesWithPrError = new HashSet<>();
+  public static void resetRepositoriesWithPrError() {
+    getRunContext().getRepositoriesWithPrError().clear();
   }
 
   public static void addProcessedRepositories(
       String repoName, boolean isPrCreateAttempted, boolean isPrCreateError) {
-    processedRepositories.put(
-        repoName,
-        ProcessedRepository.builder()
-            .repoName(repoName)
-            .isPrCreated(isPrCreateAttempted && !isPrCreateError)
-            .isPrCreateError(isPrCreateError)
-            .build());
+    getRunContext()
+        .getProcessedRepositories()
+        .put(
+            repoName,
+            ProcessedRepository.builder()
+                .repoName(repoName)
+                .isPrCreated(isPrCreateAttempted && !isPrCreateError)
+                .isPrCreateError(isPrCreateError)
+                .build());
   }
 
   public static void updateProcessedRepositoriesToPrMerged(String repoName) {
-    processedRepositories.computeIfPresent(
-        repoName,
-        (key, processedRepository) -> {
-          processedRepository.setPrMerged(true);
-          return processedRepository;
-        });
+    getRunContext()
+        .getProcessedRepositories()
+        .computeIfPresent(
+            repoName,
+            (key, processedRepository) -> {
+              processedRepository.setPrMerged(true);
+              return processedRepository;
+            });
   }
 
   public static void updateProcessedRepositoriesRepoType(String repoName, String repoType) {
-    processedRepositories.computeIfPresent(
-        repoName,
-        (key, processedRepository) -> {
-          processedRepository.setRepoType(repoType);
-          return processedRepository;
-        });
+    getRunContext()
+        .getProcessedRepositories()
+        .computeIfPresent(
+            repoName,
+            (key, processedRepository) -> {
+              processedRepository.setRepoType(repoType);
+              return processedRepository;
+            });
   }
 
   public static ConcurrentMap<String, ProcessedRepository> getProcessedRepositoriesMap() {
-    return processedRepositories;
+    return getRunContext().getProcessedRepositories();
+  }
+
+  /**
+   * Executes a phase of work on a repository and adds its duration to the repository
+   *
+   * @param repoName repository name
+   * @param repoPhase phase executed
+   * @param supplier work of the phase
+   * @return result of the work
+   */
+  public static <T> T executeRepoPhase(
+      final String repoName, final RepoPhase repoPhase, final Supplier<T> supplier) {
+    final long startNanos = System.nanoTime();
+    try {
+      return supplier.get();
+    } finally {
+      addRepoPhaseDuration(
+          repoName, repoPhase, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+    }
+  }
+
+  public static void addRepoPhaseDuration(
+      final String repoName, final RepoPhase repoPhase, final long durationMillis) {
+    getRunContext()
+        .getRepoPhaseDurations()
+        .computeIfAbsent(repoName, key -> new ConcurrentHashMap<>())
+        .merge(repoPhase.name(), durationMillis, Long::sum);
+  }
+
+  /**
+   * @return durations by RepoPhase name, null if nothing recorded for the repository
+   */
+  public static Map<String, Long> getRepoPhaseDurations(final String repoName) {
+    Map<String, Long> repoPhaseDurations = getRunContext().getRepoPhaseDurations().get(repoName);
+    return repoPhaseDurations == null ? null : new TreeMap<>(repoPhaseDurations);
+  }
+
+  public static void copyProcessedRepositoriesAndSummary(final RunJournal runJournal) {
+    runJournal.setProcessedRepositories(new HashMap<>(getProcessedRepositoriesMap()));
+    runJournal.setRepositoriesWithPrError(new HashSet<>(getRepositoriesWithPrError()));
+    runJournal.setMongoPluginsToUpdate(getMongoPluginsToUpdate());
+    runJournal.setMongoDependenciesToUpdate(getMongoDependenciesToUpdate());
+    runJournal.setMongoPackagesToUpdate(getMongoPackagesToUpdate());
+    runJournal.setMongoNpmSkipsActive(getMongoNpmSkipsActive());
+    runJournal.setMongoCoordinatesDiscovered(getMongoCoordinatesDiscovered());
+    runJournal.setErrorsOrExceptions(getErrorsOrExceptions());
+    Map<String, Map<String, Long>> repoPhaseDurations = new HashMap<>();
+    getRunContext()
+        .getRepoPhaseDurations()
+        .forEach(
+            (repoName, durations) -> repoPhaseDurations.put(repoName, new HashMap<>(durations)));
+    runJournal.setRepoPhaseDurations(repoPhaseDurations);
+  }
+
+  public static void restoreProcessedRepositoriesAndSummary(final RunJournal runJournal) {
+    resetProcessedRepositoriesAndSummary();
+    if (runJournal.getProcessedRepositories() != null) {
+      getProcessedRepositoriesMap().putAll(runJournal.getProcessedRepositories());
+    }
+    if (runJournal.getRepositoriesWithPrError() != null) {
+      getRepositoriesWithPrError().addAll(runJournal.getRepositoriesWithPrError());
+    }
+    setMongoPluginsToUpdate(runJournal.getMongoPluginsToUpdate());
+    setMongoDependenciesToUpdate(runJournal.getMongoDependenciesToUpdate());
+    setMongoPackagesToUpdate(runJournal.getMongoPackagesToUpdate());
+    setMongoNpmSkipsActive(runJournal.getMongoNpmSkipsActive());
+    setMongoCoordinatesDiscovered(runJournal.getMongoCoordinatesDiscovered());
+    setErrorsOrExceptions(runJournal.isErrorsOrExceptions());
+    if (runJournal.getRepoPhaseDurations() != null) {
+      runJournal
+          .getRepoPhaseDurations()
+          .forEach(
+              (repoName, durations) ->
+                  getRunContext()
+                      .getRepoPhaseDurations()
+                      .put(repoName, new ConcurrentHashMap<>(durations)));
+    }
   }
 
   public static void resetProcessedRepositoriesAndSummary() {
-    processedRepositories = new ConcurrentHashMap<>();
+    getProcessedRepositoriesMap().clear();
+    getRunContext().getRepoPhaseDurations().clear();
     setMongoPluginsToUpdate(0);
     setMongoDependenciesToUpdate(0);
     setMongoPackagesToUpdate(0);
     setMongoNpmSkipsActive(0);
+    setMongoCoordinatesDiscovered(0);
     setErrorsOrExceptions(false);
-    setSchedulerRescheduled(false);
     resetRepositoriesWithPrError();
   }
 }
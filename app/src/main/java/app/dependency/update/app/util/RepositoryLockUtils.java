@@ -0,0 +1,70 @@
+package app.dependency.update.app.util;
+
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/*
+ Repositories locked by update runs, keyed by repo path
+ a run locks all its repositories when it starts or none at all, so runs on different
+ repositories can run at the same time and runs on the same repository never do
+ a lock is owned by the run, not by a thread, the run's work is done by many threads
+*/
+@Slf4j
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class RepositoryLockUtils {
+
+  private static final Map<Path, String> repositoryLocks = new HashMap<>();
+
+  /**
+   * @param runId run to lock the repositories for
+   * @param repoPaths repositories of the run
+   * @return true if all are locked, false and nothing is locked if any is locked by another run
+   */
+  public static synchronized boolean lockRepositories(
+      final String runId, final Collection<Path> repoPaths) {
+    for (Path repoPath : repoPaths) {
+      String lockedBy = repositoryLocks.get(repoPath);
+      if (lockedBy != null && !lockedBy.equals(runId)) {
+        log.info("Repository Locked: [ {} ] by [ {} ] for [ {} ]", repoPath, lockedBy, runId);
+        return false;
+      }
+    }
+    repoPaths.forEach(repoPath -> repositoryLocks.put(repoPath, runId));
+    log.info("Repositories Locked: [ {} ] [ {} ]", runId, repoPaths.size());
+    return true;
+  }
+
+  public static synchronized void unlockRepositories(
+      final String runId, final Collection<Path> repoPaths) {
+    repoPaths.forEach(repoPath -> repositoryLocks.remove(repoPath, runId));
+    log.info("Repositories Unlocked: [ {} ] [ {} ]", runId, repoPaths.size());
+  }
+
+  public static synchronized void unlockRepositories(final String runId) {
+    repositoryLocks.values().removeIf(runId::equals);
+    log.info("Repositories Unlocked: [ {} ]", runId);
+  }
+
+  public static synchronized void unlockAllRepositories() {
+    log.info("All Repositories Unlocked: [ {} ]", repositoryLocks.size());
+    repositoryLocks.clear();
+  }
+
+  public static synchronized boolean isAnyRepositoryLocked(final Collection<Path> repoPaths) {
+    return repoPaths.stream().anyMatch(repositoryLocks::containsKey);
+  }
+
+  public static synchronized Set<Path> getLockedRepositories(final String runId) {
+    return repositoryLocks.entrySet().stream()
+        .filter(entry -> entry.getValue().equals(runId))
+        .map(Map.Entry::getKey)
+        .collect(Collectors.toSet());
+  }
+}
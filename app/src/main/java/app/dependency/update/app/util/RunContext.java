@@ -0,0 +1,57 @@
+package app.dependency.update.app.util;
+
+import static app.dependency.update.app.util.CommonUtils.*;
+
+import app.dependency.update.app.model.ProcessedRepository;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.Getter;
+
+/*
+ State of one update run: processed repositories, repositories with pr create error, counters
+ shown in the process summary, phase durations of repositories and whether anything was logged
+ as error
+ every thread doing work for the run is bound to it, see ProcessUtils and ExecutorUtils
+*/
+@Getter
+public class RunContext {
+
+  private final String runId;
+  private final UpdateType updateType;
+  // repositories of the run, they are locked by the run until it no longer needs them
+  private final Set<Path> repoPaths;
+  private final AtomicBoolean errorsOrExceptions = new AtomicBoolean(false);
+  private final AtomicInteger mongoPluginsToUpdate = new AtomicInteger(0);
+  private final AtomicInteger mongoDependenciesToUpdate = new AtomicInteger(0);
+  private final AtomicInteger mongoPackagesToUpdate = new AtomicInteger(0);
+  private final AtomicInteger mongoNpmSkipsActive = new AtomicInteger(0);
+  private final AtomicInteger mongoCoordinatesDiscovered = new AtomicInteger(0);
+  private final Set<String> repositoriesWithPrError = ConcurrentHashMap.newKeySet();
+  private final ConcurrentMap<String, ProcessedRepository> processedRepositories =
+      new ConcurrentHashMap<>();
+  // by repository name, then by RepoPhase name
+  private final ConcurrentMap<String, Map<String, Long>> repoPhaseDurations =
+      new ConcurrentHashMap<>();
+  // expected duration per file of repositories not seen before, see RepoScheduleService
+  private final ConcurrentMap<Set<RepoPhase>, Double> durationsPerFile = new ConcurrentHashMap<>();
+  // latest versions of npm packages looked up during the run, see NpmRepoService
+  private final ConcurrentMap<String, CompletableFuture<String>> npmLatestVersions =
+      new ConcurrentHashMap<>();
+
+  public RunContext(final String runId, final UpdateType updateType, final Set<Path> repoPaths) {
+    this.runId = runId;
+    this.updateType = updateType;
+    this.repoPaths = Set.copyOf(repoPaths);
+  }
+
+  public RunContext(final UpdateType updateType, final Set<Path> repoPaths) {
+    this(String.format("%s_%s", updateType, LocalDateTime.now()), updateType, repoPaths);
+  }
+}
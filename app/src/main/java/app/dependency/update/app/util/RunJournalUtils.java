@@ -0,0 +1,231 @@
+package app.dependency.update.app.util;
+
+import static app.dependency.update.app.util.CommonUtils.*;
+import static app.dependency.update.app.util.ConstantUtils.*;
+
+import app.dependency.update.app.model.Repository;
+import app.dependency.update.app.model.RunJournal;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.HashSet;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/*
+ Durable record of the current dependencies update run, so that a restart does not lose the run
+ written at every stage change of the run and of each repository, with ProcessUtils as of then
+ at startup the run continues from the last checkpoint, updated repositories are not updated again
+ only one run is journaled at a time, calls from threads of any other run are ignored
+*/
+@Slf4j
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class RunJournalUtils {
+
+  private static final ObjectMapper objectMapper = new ObjectMapper();
+  private static RunJournal runJournal = null;
+
+  private static Path getRunJournalPath() {
+    String repoHome = getSystemEnvProperty(ENV_REPO_NAME);
+    return isEmpty(repoHome) ? null : Path.of(repoHome, APP_LOCAL_DIRECTORY, RUN_JOURNAL_FILE_NAME);
+  }
+
+  public static synchronized void startRun(
+      final UpdateType updateType,
+      final boolean isPipeline,
+      final boolean isProcessSummaryRequired) {
+    if (runJournal != null && isRunActive(runJournal.getRunId())) {
+      log.info("Run Journal In Use: [ {} ] [ {} ]", runJournal.getRunId(), updateType);
+      return;
+    }
+    final long currentTimeMillis = System.currentTimeMillis();
+    runJournal =
+        RunJournal.builder()
+            .runId(ProcessUtils.getRunContext().getRunId())
+            .branchName(String.format(BRANCH_UPDATE_DEPENDENCIES, LocalDate.now()))
+            .updateType(updateType)
+            .isPipeline(isPipeline)
+            .isProcessSummaryRequired(isProcessSummaryRequired)
+            .runStage(RunStage.UPDATE)
+            .repositories(new HashMap<>())
+            .startedAtMillis(currentTimeMillis)
+            .build();
+    log.info("Run Journal Started: [ {} ] [ {} ]", runJournal.getRunId(), updateType);
+    writeRunJournal();
+  }
+
+  private static boolean isRunActive(final String runId) {
+    return ProcessUtils.getRunContexts().stream()
+        .anyMatch(runContext -> runContext.getRunId().equals(runId));
+  }
+
+  // the run the current thread is working for is the one journaled
+  private static boolean isJournaledRun() {
+    return runJournal != null
+        && runJournal.getRunId().equals(ProcessUtils.getRunContext().getRunId());
+  }
+
+  /**
+   * @return branch of the current run, the run could have started on an earlier day
+   */
+  public static synchronized String getBranchName() {
+    return isJournaledRun()
+        ? runJournal.getBranchName()
+        : String.format(BRANCH_UPDATE_DEPENDENCIES, LocalDate.now());
+  }
+
+  public static synchronized void updateRunStage(
+      final RunStage runStage, final Instant prCreateRetryAt) {
+    if (!isJournaledRun()) {
+      return;
+    }
+    runJournal.setRunStage(runStage);
+    runJournal.setPrCreateRetryAtMillis(
+        prCreateRetryAt == null ? null : prCreateRetryAt.toEpochMilli());
+    log.info("Run Journal Stage: [ {} ] [ {} ]", runJournal.getRunId(), runStage);
+    writeRunJournal();
+  }
+
+  /**
+   * @param repoName repository name
+   * @param updateType type the repository was updated for, null for pull request stages
+   * @param repoStage stage reached, a repository does not move back to an earlier stage
+   */
+  public static synchronized void updateRepoStage(
+      final String repoName, final UpdateType updateType, final RepoStage repoStage) {
+    if (!isJournaledRun()) {
+      return;
+    }
+    RunJournal.RepoCheckpoint repoCheckpoint =
+        runJournal
+            .getRepositories()
+            .computeIfAbsent(
+                repoName,
+                key -> RunJournal.RepoCheckpoint.builder().updatedTypes(new HashSet<>()).build());
+    if (repoCheckpoint.getRepoStage() == null
+        || repoCheckpoint.getRepoStage().compareTo(repoStage) < 0) {
+      repoCheckpoint.setRepoStage(repoStage);
+    }
+    if (updateType != null) {
+      repoCheckpoint.getUpdatedTypes().add(updateType);
+    }
+    repoCheckpoint.setUpdatedAtMillis(System.currentTimeMillis());
+    log.debug("Run Journal Repo Stage: [ {} ] [ {} ] [ {} ]", repoName, updateType, repoStage);
+    writeRunJournal();
+  }
+
+  public static synchronized boolean isRepositoryUpdated(final Repository repository) {
+    if (!isJournaledRun()) {
+      return false;
+    }
+    RunJournal.RepoCheckpoint repoCheckpoint =
+        runJournal.getRepositories().get(repository.getRepoName());
+    return repoCheckpoint != null
+        && repoCheckpoint.getUpdatedTypes().contains(repository.getType());
+  }
+
+  public static synchronized void completeRun() {
+    if (!isJournaledRun()) {
+      return;
+    }
+    log.info("Run Journal Completed: [ {} ]", runJournal.getRunId());
+    runJournal = null;
+    deleteRunJournal();
+  }
+
+  public static synchronized void discardRun() {
+    log.info("Run Journal Discarded: [ {} ]", runJournal == null ? null : runJournal.getRunId());
+    runJournal = null;
+    deleteRunJournal();
+  }
+
+  /**
+   * Reads the journal of a run that did not complete, the run continues with the same run id
+   *
+   * @return journal of the run to continue, null if there is none or it is too old
+   */
+  public static synchronized RunJournal resumeRun() {
+    RunJournal previousRunJournal = readRunJournal();
+    if (previousRunJournal == null) {
+      return null;
+    }
+
+    Duration age =
+        Duration.ofMillis(System.currentTimeMillis() - previousRunJournal.getUpdatedAtMillis());
+    if (age.toHours() >= RUN_JOURNAL_MAX_AGE_HOURS) {
+      // next scheduled run does it all again anyway
+      log.info("Run Journal Too Old to Resume: [ {} ] [ {} ]", previousRunJournal.getRunId(), age);
+      deleteRunJournal();
+      return null;
+    }
+
+    runJournal = previousRunJournal;
+    return runJournal;
+  }
+
+  // restores ProcessUtils of the resumed run, called from a thread working for the run
+  public static synchronized void restoreProcessedRepositories() {
+    if (isJournaledRun()) {
+      ProcessUtils.restoreProcessedRepositoriesAndSummary(runJournal);
+    }
+  }
+
+  private static RunJournal readRunJournal() {
+    final Path runJournalPath = getRunJournalPath();
+    if (runJournalPath == null || !Files.isRegularFile(runJournalPath)) {
+      return null;
+    }
+    try {
+      RunJournal previousRunJournal =
+          objectMapper.readValue(runJournalPath.toFile(), RunJournal.class);
+      log.info(
+          "Run Journal Read: [ {} ] [ {} ] [ {} ]",
+          previousRunJournal.getRunId(),
+          previousRunJournal.getRunStage(),
+          previousRunJournal.getRepositories().size());
+      return previousRunJournal;
+    } catch (Exception ex) {
+      log.error("ERROR Read Run Journal: [ {} ]", runJournalPath, ex);
+      return null;
+    }
+  }
+
+  private static void writeRunJournal() {
+    final Path runJournalPath = getRunJournalPath();
+    if (runJournalPath == null) {
+      return;
+    }
+    ProcessUtils.copyProcessedRepositoriesAndSummary(runJournal);
+    runJournal.setUpdatedAtMillis(System.currentTimeMillis());
+    try {
+      Files.createDirectories(runJournalPath.getParent());
+      Path tempPath = runJournalPath.resolveSibling(runJournalPath.getFileName() + ".tmp");
+      objectMapper.writeValue(tempPath.toFile(), runJournal);
+      Files.move(
+          tempPath,
+          runJournalPath,
+          StandardCopyOption.REPLACE_EXISTING,
+          StandardCopyOption.ATOMIC_MOVE);
+    } catch (Exception ex) {
+      log.error("ERROR Write Run Journal: [ {} ]", runJournalPath, ex);
+    }
+  }
+
+  private static void deleteRunJournal() {
+    final Path runJournalPath = getRunJournalPath();
+    if (runJournalPath == null) {
+      return;
+    }
+    try {
+      Files.deleteIfExists(runJournalPath);
+    } catch (Exception ex) {
+      log.error("ERROR Delete Run Journal: [ {} ]", runJournalPath, ex);
+    }
+  }
+}
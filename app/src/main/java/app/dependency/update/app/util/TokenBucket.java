@@ -0,0 +1,78 @@
+package app.dependency.update.app.util;
+
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/*
+ Allows up to permitsPerSecond calls per second on average, with bursts up to the same number
+ callers that would go over the limit wait until a token is available
+*/
+public class TokenBucket {
+  private final double permitsPerSecond;
+  private double availableTokens;
+  private long lastRefillNanos;
+
+  public TokenBucket(final int permitsPerSecond) {
+    this.permitsPerSecond = permitsPerSecond;
+    this.availableTokens = permitsPerSecond;
+    this.lastRefillNanos = System.nanoTime();
+  }
+
+  /**
+   * Waits for a token, but not past the deadline
+   *
+   * @param deadline time after which waiting for a token is pointless
+   * @return true if the token was acquired, false if the deadline was reached or interrupted
+   */
+  public boolean acquire(final Instant deadline) {
+    while (true) {
+      long waitNanos = tryAcquire();
+      if (waitNanos == 0) {
+        return true;
+      }
+      if (Instant.now().plusNanos(waitNanos).isAfter(deadline)) {
+        return false;
+      }
+
+      try {
+        Thread.sleep(waitNanos / 1_000_000, (int) (waitNanos % 1_000_000));
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+        return false;
+      }
+    }
+  }
+
+  /**
+   * Waits for a token without holding a thread, eg: retries of non-blocking requests
+   *
+   * @return completes when the token is acquired
+   */
+  public CompletableFuture<Void> acquireAsync() {
+    long waitNanos = tryAcquire();
+    if (waitNanos == 0) {
+      return CompletableFuture.completedFuture(null);
+    }
+    return CompletableFuture.runAsync(
+            () -> {}, CompletableFuture.delayedExecutor(waitNanos, TimeUnit.NANOSECONDS))
+        .thenCompose(ignored -> acquireAsync());
+  }
+
+  // returns 0 when the token is taken, otherwise the nanos to wait for the next token
+  private synchronized long tryAcquire() {
+    long nowNanos = System.nanoTime();
+    this.availableTokens =
+        Math.min(
+            this.permitsPerSecond,
+            this.availableTokens
+                + (nowNanos - this.lastRefillNanos) * this.permitsPerSecond / 1_000_000_000d);
+    this.lastRefillNanos = nowNanos;
+
+    if (this.availableTokens >= 1) {
+      this.availableTokens -= 1;
+      return 0;
+    }
+    return (long) ((1 - this.availableTokens) * 1_000_000_000d / this.permitsPerSecond) + 1;
+  }
+}
@@ -0,0 +1,161 @@
+package app.dependency.update.app.util;
+
+import static app.dependency.update.app.util.CommonUtils.*;
+import static app.dependency.update.app.util.ConstantUtils.*;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/*
+ Looks up latest versions from an upstream host for many items at the same time
+ lookups to each host are started no faster than its rate, and no more than its concurrency are
+ in flight at the same time (see AsyncHttpConnector), so that the upstream does not block us
+ lookups are non-blocking, so the whole refresh needs only the calling thread and is bounded by
+ a deadline
+*/
+@Slf4j
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class UpstreamRefreshUtils {
+
+  private static final Map<String, TokenBucket> hostTokenBuckets = new ConcurrentHashMap<>();
+  private static final Map<String, Integer> hostStartOffsets = new ConcurrentHashMap<>();
+  private static final Set<String> RATE_LIMITED_HOSTS =
+      Set.of(MAVEN_SEARCH_HOST, GRADLE_PLUGINS_HOST, PYPI_SEARCH_HOST, NPM_REGISTRY_HOST);
+
+  /**
+   * @param upstreamHost host the refresh function calls, limits are applied per host
+   * @param items items to refresh
+   * @param refreshFunction starts the lookup, completes with the refreshed item, or null if
+   *     nothing to update
+   * @return refreshed items completed before the deadline, in no particular order
+   */
+  public static <T, R> List<R> refreshAll(
+      final String upstreamHost,
+      final List<T> items,
+      final Function<T, CompletableFuture<R>> refreshFunction) {
+    final Instant deadline = Instant.now().plusSeconds(getRefreshDeadlineSeconds());
+    final TokenBucket tokenBucket = getHostTokenBucket(upstreamHost);
+    final Queue<R> results = new ConcurrentLinkedQueue<>();
+    // starts where the previous refresh of the host stopped, so every item gets its turn
+    final int startOffset =
+        items.isEmpty() ? 0 : hostStartOffsets.getOrDefault(upstreamHost, 0) % items.size();
+
+    List<CompletableFuture<Void>> futures = new ArrayList<>(items.size());
+    for (int i = 0; i < items.size(); i++) {
+      if (!tokenBucket.acquire(deadline)) {
+        break;
+      }
+      final T item = items.get((startOffset + i) % items.size());
+      futures.add(
+          startRefresh(item, refreshFunction)
+              .thenAccept(
+                  result -> {
+                    if (result != null) {
+                      results.add(result);
+                    }
+                  }));
+    }
+
+    int notRefreshed = items.size() - futures.size();
+    // index of the first item not refreshed, next refresh starts from it
+    int stoppedAt = futures.size();
+    try {
+      long remainingMillis = Math.max(0, Duration.between(Instant.now(), deadline).toMillis());
+      CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]))
+          .get(remainingMillis, TimeUnit.MILLISECONDS);
+    } catch (TimeoutException ex) {
+      for (int i = 0; i < futures.size(); i++) {
+        if (futures.get(i).cancel(false)) {
+          notRefreshed++;
+          stoppedAt = Math.min(stoppedAt, i);
+        }
+      }
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    } catch (ExecutionException ex) {
+      // not expected, each refresh handles its own errors
+      log.error("Exception Upstream Refresh: [ {} ]", upstreamHost, ex.getCause());
+    }
+
+    if (notRefreshed > 0) {
+      hostStartOffsets.put(upstreamHost, startOffset + stoppedAt);
+      log.info(
+          "Upstream Refresh Deadline Reached: [ {} ] Not Refreshed: [ {} ] Next Start: [ {} ]",
+          upstreamHost,
+          notRefreshed,
+          startOffset + stoppedAt);
+    }
+    return new ArrayList<>(results);
+  }
+
+  private static <T, R> CompletableFuture<R> startRefresh(
+      final T item, final Function<T, CompletableFuture<R>> refreshFunction) {
+    try {
+      return refreshFunction
+          .apply(item)
+          .exceptionally(
+              ex -> {
+                log.error("Exception Upstream Refresh Item: [ {} ]", item, ex);
+                return null;
+              });
+    } catch (RuntimeException ex) {
+      log.error("Exception Upstream Refresh Item: [ {} ]", item, ex);
+      return CompletableFuture.completedFuture(null);
+    }
+  }
+
+  /**
+   * Token bucket shared by refreshes and the http client, so retries count against the same rate
+   *
+   * @param host upstream host
+   * @return token bucket of the host, null if requests to the host are not rate limited
+   */
+  public static TokenBucket findHostTokenBucket(final String host) {
+    return RATE_LIMITED_HOSTS.contains(host) ? getHostTokenBucket(host) : null;
+  }
+
+  private static TokenBucket getHostTokenBucket(final String upstreamHost) {
+    return hostTokenBuckets.computeIfAbsent(
+        upstreamHost, host -> new TokenBucket(getRefreshRatePerSecond(host)));
+  }
+
+  private static int getRefreshRatePerSecond(final String upstreamHost) {
+    // eg: refresh_rate_per_second_search_maven_org
+    int hostRate =
+        parseIntSafe(
+            getSystemEnvProperty(
+                ENV_REFRESH_RATE_PER_SECOND + "_" + upstreamHost.replace('.', '_')));
+    if (hostRate > 0) {
+      return hostRate;
+    }
+    // maven search is the strictest about request rates, the rate for all hosts does not apply
+    if (MAVEN_SEARCH_HOST.equals(upstreamHost)) {
+      return REFRESH_RATE_PER_SECOND_MAVEN;
+    }
+    return getLimit(ENV_REFRESH_RATE_PER_SECOND, REFRESH_RATE_PER_SECOND_DEFAULT);
+  }
+
+  private static int getRefreshDeadlineSeconds() {
+    return getLimit(ENV_REFRESH_DEADLINE_SECONDS, REFRESH_DEADLINE_SECONDS_DEFAULT);
+  }
+
+  private static int getLimit(final String keyName, final int defaultValue) {
+    int limit = parseIntSafe(getSystemEnvProperty(keyName, String.valueOf(defaultValue)));
+    return limit > 0 ? limit : defaultValue;
+  }
+}
@@ -5,7 +5,6 @@
 # echo "Process Id--$$"
 repo_loc="$1"
 branch_name="$2"
-npm_skips="$3"
 
 # Give access to current user
 current_user=$(whoami)
@@ -31,9 +30,8 @@ git checkout main 2>&1
 echo "Creating new branch"
 git checkout -b "$branch_name" 2>&1
 
-# Update dependencies
-echo "Running npm check update"
-ncu -u -x "$npm_skips" 2>&1
+# Update lock file, package.json dependencies are updated by the app
+echo "Running npm install"
 npm install --package-lock-only  2>&1
 
 # Commit and push